@@ -0,0 +1,100 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.repository.FsyncPolicy;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskWriteAheadLog;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+
+// Items created one request item at a time and as batches of growing size, against a store logging
+// with group commit, so each call waits for durability once. Scores are items per second.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchCreateBenchmark {
+
+    private static final int ITEMS = 1_000;
+
+    @Param({"1", "10", "100", "1000"})
+    public int batchSize;
+
+    private Path directory;
+    private TaskWriteAheadLog wal;
+    private TaskManagementServiceImpl service;
+    private long nextReference = 10_000L;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        directory = Files.createTempDirectory("jmh-batch-create");
+        wal = new TaskWriteAheadLog(directory, FsyncPolicy.PER_BATCH, 10, 0);
+        service = new TaskManagementServiceImpl(new InMemoryTaskRepository(Optional.of(wal)),
+                ITaskManagementMapper.INSTANCE, new ReferenceLockManager(1024));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        wal.close();
+        StoreState.delete(directory);
+    }
+
+    // every item gets a reference of its own, so the store grows but no reference collects cancelled tasks
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void create() {
+        for (int from = 0; from < ITEMS; from += batchSize) {
+            List<TaskCreateRequest.RequestItem> items = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                items.add(item(nextReference++, i));
+            }
+            TaskCreateRequest request = new TaskCreateRequest();
+            request.setPerformedBy(7);
+            request.setRequests(items);
+            if (batchSize == 1) {
+                service.createTasks(request);
+            } else {
+                service.createTasksBatch(request);
+            }
+        }
+    }
+
+    private static TaskCreateRequest.RequestItem item(long referenceId, long assigneeId) {
+        TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+        item.setReferenceId(referenceId);
+        item.setReferenceType(ReferenceType.ORDER);
+        item.setTask(Task.ARRANGE_PICKUP);
+        item.setAssigneeId(assigneeId);
+        item.setPriority(Priority.MEDIUM);
+        return item;
+    }
+}
@@ -0,0 +1,34 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Entry point of `gradle jmh`: takes the usual JMH command line and runs it once per thread count in
+// -Djmh.threads (comma separated), writing each run's results as JSON to results-<threads>t.json in -Djmh.results.
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Path results = Path.of(System.getProperty("jmh.results", "build/reports/jmh"));
+        Files.createDirectories(results);
+        for (String count : System.getProperty("jmh.threads", "1").split(",")) {
+            int threads = Integer.parseInt(count.trim());
+            Options options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(results.resolve("results-" + threads + "t.json").toString())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.CompactTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+
+// Auto-assignment's decision: the least loaded of every assignee, and of a candidate pool, with open tasks spread
+// uniformly over many assignees.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeastLoadedBenchmark {
+
+    private static final int TASKS = 200_000;
+
+    @Param({"50000"})
+    public int assignees;
+
+    @Param({"1000"})
+    public int poolSize;
+
+    private TaskRepository repository;
+    private List<Long> pool;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        repository = new CompactTaskRepository();
+        SplittableRandom random = new SplittableRandom(3);
+        List<TaskManagement> batch = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            TaskManagement task = new TaskManagement();
+            task.setAssigneeId((long) random.nextInt(assignees));
+            task.setPriority(Priority.values()[random.nextInt(3)]);
+            task.setStatus(TaskStatus.ASSIGNED);
+            batch.add(task);
+        }
+        repository.saveAll(batch);
+        pool = new ArrayList<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            pool.add((long) random.nextInt(assignees));
+        }
+    }
+
+    @Benchmark
+    public Optional<Long> everyAssignee() {
+        return repository.findLeastLoadedAssignee(List.of());
+    }
+
+    @Benchmark
+    public Optional<Long> candidatePool() {
+        return repository.findLeastLoadedAssignee(pool);
+    }
+}
@@ -0,0 +1,100 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskPage;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.CompactTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+import com.railse.hiring.workforcemgmt.service.impl.ParallelAssigneeQuery;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+import com.railse.hiring.workforcemgmt.service.impl.TaskQueryCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// A full page of a fetch-by-date over thousands of assignees, read on the calling thread and split across the
+// assignee-query pool. Deadlines fall on a few hundred distinct values, so the merge sees many ties.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ManyAssigneeFetchBenchmark {
+
+    private static final int TASKS_PER_ASSIGNEE = 10;
+    private static final int PAGE_SIZE = 1_000;
+
+    @Param({"2000"})
+    public int assignees;
+
+    @Param({"false", "true"})
+    public boolean split;
+
+    private ParallelAssigneeQuery assigneeQuery;
+    private TaskManagementServiceImpl service;
+    private TaskFetchByDateRequest request;
+
+    @Setup(Level.Trial)
+    public void start() {
+        CompactTaskRepository repository = new CompactTaskRepository();
+        List<Long> assigneeIds = LongStream.range(0, assignees).map(i -> 10_000 + i).boxed().toList();
+        SplittableRandom random = new SplittableRandom(42);
+        for (Long assigneeId : assigneeIds) {
+            for (int i = 0; i < TASKS_PER_ASSIGNEE; i++) {
+                TaskManagement task = new TaskManagement();
+                task.setReferenceId(assigneeId);
+                task.setReferenceType(ReferenceType.ORDER);
+                task.setTask(Task.CREATE_INVOICE);
+                task.setAssigneeId(assigneeId);
+                task.setPriority(Priority.MEDIUM);
+                task.setStatus(random.nextInt(10) == 0 ? TaskStatus.CANCELLED : TaskStatus.ASSIGNED);
+                task.setTaskDeadlineTime(1_000L + random.nextInt(300) * 100L);
+                repository.save(task);
+            }
+        }
+        assigneeQuery = split ? new ParallelAssigneeQuery(64, 4) : new ParallelAssigneeQuery(Integer.MAX_VALUE, 1);
+        service = new TaskManagementServiceImpl(repository, ITaskManagementMapper.INSTANCE, new ReferenceLockManager(64),
+                new TaskHistoryStore(), assigneeQuery, new TaskQueryCache(repository, 0), new SimpleMeterRegistry(),
+                100, PAGE_SIZE, 20);
+        request = new TaskFetchByDateRequest();
+        request.setAssigneeIds(assigneeIds);
+        request.setStartDate(0L);
+        request.setEndDate(100_000L);
+        request.setPageSize(PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        assigneeQuery.close();
+    }
+
+    @Benchmark
+    public TaskPage<Object> fetchPage() {
+        return service.fetchTasksByDate(request);
+    }
+}
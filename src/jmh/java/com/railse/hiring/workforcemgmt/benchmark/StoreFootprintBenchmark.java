@@ -0,0 +1,87 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.railse.hiring.workforcemgmt.repository.CompactTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.MappedTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+
+// Populates an empty store with the generated tasks. The score is the time to fill it; the heap the filled store
+// retains is printed per task after each iteration. Indexes are the same in every engine, so the difference is the
+// row storage itself (the mapped engine keeps its rows off the heap).
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StoreFootprintBenchmark {
+
+    @Param({"in-memory", "compact", "mapped"})
+    public String engine;
+
+    @Param({"200000"})
+    public int tasks;
+
+    private Path directory;
+    private TaskRepository repository;
+    private long baseline;
+
+    @Setup(Level.Iteration)
+    public void measureBaseline() {
+        baseline = usedHeap();
+    }
+
+    @Benchmark
+    public TaskRepository populate() throws IOException {
+        repository = switch (engine) {
+            case "in-memory" -> new InMemoryTaskRepository();
+            case "compact" -> new CompactTaskRepository();
+            case "mapped" -> new MappedTaskRepository(directory = Files.createTempDirectory("jmh-footprint"));
+            default -> throw new IllegalArgumentException("Unknown engine: " + engine);
+        };
+        new TaskDataGenerator(42, tasks, System.currentTimeMillis()).populate(repository);
+        return repository;
+    }
+
+    @TearDown(Level.Iteration)
+    public void measureRetained() throws IOException {
+        long retained = usedHeap() - baseline;
+        System.out.printf("%n%s: %d bytes of heap per task%n", engine, retained / tasks);
+        if (repository instanceof Closeable closeable) {
+            closeable.close();
+        }
+        repository = null;
+        if (directory != null) {
+            StoreState.delete(directory);
+            directory = null;
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,75 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.railse.hiring.workforcemgmt.repository.CompactTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.MappedTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+
+// One populated store per trial, shared by every benchmark thread. 10M tasks needs a larger heap than the
+// default fork gets: -PjmhArgs="-p tasks=10000000 -jvmArgsAppend -Xmx16g".
+@State(Scope.Benchmark)
+public class StoreState {
+
+    @Param({"in-memory", "compact", "mapped"})
+    public String engine;
+
+    @Param({"10000", "100000", "1000000"})
+    public int tasks;
+
+    TaskRepository repository;
+    TaskDataGenerator data;
+    long lowestId;
+    long highestId;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void populate() throws IOException {
+        repository = switch (engine) {
+            case "in-memory" -> new InMemoryTaskRepository();
+            case "compact" -> new CompactTaskRepository();
+            case "mapped" -> new MappedTaskRepository(directory = Files.createTempDirectory("jmh-mapped-store"));
+            default -> throw new IllegalArgumentException("Unknown engine: " + engine);
+        };
+        data = new TaskDataGenerator(42, tasks, System.currentTimeMillis());
+        long[] ids = data.populate(repository);
+        lowestId = ids[0];
+        highestId = ids[1];
+    }
+
+    long taskId(SplittableRandom random) {
+        return random.nextLong(lowestId, highestId + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws IOException {
+        if (repository instanceof Closeable closeable) {
+            closeable.close();
+        }
+        if (directory != null) {
+            delete(directory);
+        }
+    }
+
+    static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+
+// Deterministic task data shaped like production: most references are orders carrying one to three of the order
+// tasks, the rest are entities with a single task, and some references were reassigned before (a cancelled task
+// next to its replacement). Work is skewed across assignees by a Zipf distribution, so a few carry thousands of
+// tasks while most carry a handful, and deadlines spread over a month either side of now, on whole minutes so
+// that ties are common. Lookups sample references and assignees from the same distributions.
+final class TaskDataGenerator {
+
+    static final long DAY_MILLIS = 86_400_000L;
+    private static final long FIRST_REFERENCE = 1_000_000L;
+    private static final double ASSIGNEE_SKEW = 0.8;
+    private static final int SAVE_BATCH = 10_000;
+    private static final List<Task> ORDER_TASKS = Task.getTasksByReferenceType(ReferenceType.ORDER);
+
+    private final long seed;
+    private final int tasks;
+    private final long now;
+    // cumulative Zipf weights of assignee 1..n
+    private final double[] assigneeWeights;
+    private final List<ReferenceKey> references = new ArrayList<>();
+
+    TaskDataGenerator(long seed, int tasks, long now) {
+        this.seed = seed;
+        this.tasks = tasks;
+        this.now = now;
+        this.assigneeWeights = zipf(Math.max(10, tasks / 500), ASSIGNEE_SKEW);
+    }
+
+    // Saves `tasks` tasks in batches; returns the ids the store handed out, lowest and highest.
+    long[] populate(TaskRepository repository) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<TaskManagement> batch = new ArrayList<>(SAVE_BATCH + 4);
+        long lowest = Long.MAX_VALUE;
+        long highest = Long.MIN_VALUE;
+        int created = 0;
+        long nextReference = FIRST_REFERENCE;
+        while (created < tasks) {
+            ReferenceKey reference = new ReferenceKey(nextReference++,
+                    random.nextInt(5) == 0 ? ReferenceType.ENTITY : ReferenceType.ORDER);
+            references.add(reference);
+            for (TaskManagement task : tasksOf(reference, random)) {
+                if (created++ < tasks) {
+                    batch.add(task);
+                }
+            }
+            if (batch.size() >= SAVE_BATCH || created >= tasks) {
+                for (TaskManagement saved : repository.saveAll(batch)) {
+                    lowest = Math.min(lowest, saved.getId());
+                    highest = Math.max(highest, saved.getId());
+                }
+                batch.clear();
+            }
+        }
+        return new long[]{lowest, highest};
+    }
+
+    private List<TaskManagement> tasksOf(ReferenceKey reference, SplittableRandom random) {
+        List<Task> types = reference.referenceType() == ReferenceType.ORDER
+                ? ORDER_TASKS.subList(0, 1 + random.nextInt(ORDER_TASKS.size()))
+                : List.of(Task.ASSIGN_CUSTOMER_TO_SALES_PERSON);
+        List<TaskManagement> created = new ArrayList<>(types.size() + 1);
+        for (Task type : types) {
+            if (random.nextInt(10) == 0) {
+                TaskManagement replaced = task(reference, type, random);
+                replaced.setStatus(TaskStatus.CANCELLED);
+                created.add(replaced);
+            }
+            created.add(task(reference, type, random));
+        }
+        return created;
+    }
+
+    TaskManagement task(ReferenceKey reference, Task type, SplittableRandom random) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(reference.referenceId());
+        task.setReferenceType(reference.referenceType());
+        task.setTask(type);
+        task.setAssigneeId(assignee(random));
+        long deadline = now + (random.nextLong(60 * DAY_MILLIS) - 30 * DAY_MILLIS);
+        task.setTaskDeadlineTime(deadline - Math.floorMod(deadline, 60_000L));
+        task.setStatus(status(deadline < now, random.nextInt(100)));
+        int priority = random.nextInt(100);
+        task.setPriority(priority < 50 ? Priority.LOW : priority < 85 ? Priority.MEDIUM : Priority.HIGH);
+        task.setDescription("Generated task for reference " + reference.referenceId());
+        return task;
+    }
+
+    // overdue work is mostly done; upcoming work is mostly still open
+    private static TaskStatus status(boolean past, int roll) {
+        if (past) {
+            return roll < 70 ? TaskStatus.COMPLETED : roll < 80 ? TaskStatus.CANCELLED
+                    : roll < 90 ? TaskStatus.STARTED : TaskStatus.ASSIGNED;
+        }
+        return roll < 75 ? TaskStatus.ASSIGNED : roll < 95 ? TaskStatus.STARTED : TaskStatus.CANCELLED;
+    }
+
+    long assignee(SplittableRandom random) {
+        int index = Arrays.binarySearch(assigneeWeights, random.nextDouble());
+        return (index < 0 ? -index - 1 : index) + 1;
+    }
+
+    List<Long> assignees(SplittableRandom random, int count) {
+        List<Long> assignees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            assignees.add(assignee(random));
+        }
+        return assignees;
+    }
+
+    ReferenceKey reference(SplittableRandom random) {
+        return references.get(random.nextInt(references.size()));
+    }
+
+    long now() {
+        return now;
+    }
+
+    private static double[] zipf(int n, double skew) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            total += 1 / Math.pow(rank, skew);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,69 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskSummaryDto;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+
+// The generated MapStruct mapper, on its own: one task, and a full page of them.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TaskMappingBenchmark {
+
+    private static final int PAGE = 100;
+
+    private final ITaskManagementMapper mapper = ITaskManagementMapper.INSTANCE;
+    private List<TaskManagement> page;
+    private int next;
+
+    @Setup
+    public void generate() {
+        TaskDataGenerator data = new TaskDataGenerator(42, PAGE, System.currentTimeMillis());
+        SplittableRandom random = new SplittableRandom(42);
+        page = new ArrayList<>(PAGE);
+        for (int i = 0; i < PAGE; i++) {
+            TaskManagement task = data.task(new ReferenceKey(1_000L + i, ReferenceType.ORDER), Task.CREATE_INVOICE, random);
+            task.setId((long) i + 1);
+            task.setVersion(1L);
+            page.add(task);
+        }
+    }
+
+    @Benchmark
+    public TaskManagementDto modelToDto() {
+        return mapper.modelToDto(page.get(next++ % PAGE));
+    }
+
+    @Benchmark
+    public TaskSummaryDto modelToSummaryDto() {
+        return mapper.modelToSummaryDto(page.get(next++ % PAGE));
+    }
+
+    @Benchmark
+    public List<TaskManagementDto> modelListToDtoList() {
+        return mapper.modelListToDtoList(page);
+    }
+}
@@ -0,0 +1,77 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TaskRepositoryBenchmark {
+
+    private static final int ASSIGNEES_PER_QUERY = 3;
+
+    @State(Scope.Thread)
+    public static class Worker {
+        SplittableRandom random;
+        // unversioned copies, so saving one never conflicts with another thread's save of the same task
+        TaskManagement[] loaded;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void load(StoreState store) {
+            random = new SplittableRandom(Thread.currentThread().getId());
+            loaded = new TaskManagement[1024];
+            for (int i = 0; i < loaded.length; i++) {
+                TaskManagement task = store.repository.findById(store.taskId(random)).orElseThrow();
+                task.setVersion(null);
+                loaded[i] = task;
+            }
+        }
+    }
+
+    // Re-saves an existing task with a changed priority: the write path, index moves included, at a steady size.
+    @Benchmark
+    public TaskManagement save(StoreState store, Worker worker) {
+        TaskManagement task = worker.loaded[worker.next++ & (worker.loaded.length - 1)];
+        task.setPriority(task.getPriority() == Priority.HIGH ? Priority.LOW : Priority.HIGH);
+        task.setVersion(null);
+        return store.repository.save(task);
+    }
+
+    @Benchmark
+    public Optional<TaskManagement> findById(StoreState store, Worker worker) {
+        return store.repository.findById(store.taskId(worker.random));
+    }
+
+    @Benchmark
+    public List<TaskManagement> findByReferenceIdAndReferenceType(StoreState store, Worker worker) {
+        ReferenceKey reference = store.data.reference(worker.random);
+        return store.repository.findByReferenceIdAndReferenceType(reference.referenceId(), reference.referenceType());
+    }
+
+    // every task of a few assignees, busy ones drawn more often, as the skewed workload makes them
+    @Benchmark
+    public List<TaskManagement> findByAssigneeIdIn(StoreState store, Worker worker) {
+        return store.repository.findByAssigneeIdIn(store.data.assignees(worker.random, ASSIGNEES_PER_QUERY));
+    }
+}
@@ -0,0 +1,94 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskPage;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+import com.railse.hiring.workforcemgmt.service.impl.ParallelAssigneeQuery;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+import com.railse.hiring.workforcemgmt.service.impl.TaskQueryCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TaskServiceBenchmark {
+
+    // a team lead's view: the first page of a week of deadlines for a team
+    private static final int TEAM_SIZE = 20;
+    private static final int WINDOW_DAYS = 7;
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        TaskManagementServiceImpl service;
+        private ParallelAssigneeQuery assigneeQuery;
+
+        @Setup(Level.Trial)
+        public void start(StoreState store) {
+            assigneeQuery = new ParallelAssigneeQuery(256, 0);
+            // no query cache: the random windows would rarely hit it, and the query path is what is measured here
+            service = new TaskManagementServiceImpl(store.repository, ITaskManagementMapper.INSTANCE,
+                    new ReferenceLockManager(1024), new TaskHistoryStore(), assigneeQuery,
+                    new TaskQueryCache(store.repository, 0), new SimpleMeterRegistry(), 100, 1000, 20);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            assigneeQuery.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Worker {
+        SplittableRandom random;
+
+        @Setup(Level.Iteration)
+        public void seed() {
+            random = new SplittableRandom(Thread.currentThread().getId());
+        }
+    }
+
+    @Benchmark
+    public TaskPage<Object> fetchTasksByDate(StoreState store, Service service, Worker worker) {
+        TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+        long start = store.data.now() - worker.random.nextLong(30 * TaskDataGenerator.DAY_MILLIS);
+        request.setStartDate(start);
+        request.setEndDate(start + WINDOW_DAYS * TaskDataGenerator.DAY_MILLIS);
+        request.setAssigneeIds(store.data.assignees(worker.random, TEAM_SIZE));
+        return service.service.fetchTasksByDate(request);
+    }
+
+    // Cancels and re-creates a reference's open tasks for another assignee, so the store grows as it runs.
+    @Benchmark
+    public String assignByReference(StoreState store, Service service, Worker worker) {
+        ReferenceKey reference = store.data.reference(worker.random);
+        AssignByReferenceRequest request = new AssignByReferenceRequest();
+        request.setPerformedBy(1);
+        request.setReferenceId(reference.referenceId());
+        request.setReferenceType(reference.referenceType());
+        request.setAssigneeId(store.data.assignee(worker.random));
+        return service.service.assignByReference(request);
+    }
+}
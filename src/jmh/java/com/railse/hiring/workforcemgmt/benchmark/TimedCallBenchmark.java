@@ -0,0 +1,59 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import com.railse.hiring.workforcemgmt.config.MetricsConfig;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// The cost of the per-operation timer on a cheap repository call: findById of a seeded task, called directly and
+// through the timing proxy that MetricsConfig puts around the repository bean.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimedCallBenchmark {
+
+    @Param({"false", "true"})
+    public boolean timed;
+
+    private TaskRepository repository;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        repository = new InMemoryTaskRepository();
+        if (timed) {
+            DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+            beans.registerSingleton("meterRegistry", new SimpleMeterRegistry());
+            repository = (TaskRepository) MetricsConfig.timedOperations(beans.getBeanProvider(MeterRegistry.class))
+                    .postProcessAfterInitialization(repository, "taskRepository");
+        }
+    }
+
+    @Benchmark
+    public Optional<TaskManagement> findById() {
+        return repository.findById(1L + (next++ & 3));
+    }
+}
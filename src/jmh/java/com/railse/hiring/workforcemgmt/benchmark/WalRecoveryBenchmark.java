@@ -0,0 +1,83 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.repository.FsyncPolicy;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskWriteAheadLog;
+
+// Startup recovery of the in-memory store from a write-ahead log holding a snapshot with half of the tasks and a
+// log tail with the other half. Each invocation opens the log afresh and loads the snapshot and replays the tail.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WalRecoveryBenchmark {
+
+    @Param({"100000"})
+    public int tasks;
+
+    private Path directory;
+    private TaskWriteAheadLog recovering;
+
+    @Setup(Level.Trial)
+    public void writeLog() throws IOException {
+        directory = Files.createTempDirectory("jmh-wal-recovery");
+        TaskDataGenerator data = new TaskDataGenerator(42, tasks, System.currentTimeMillis());
+        SplittableRandom random = new SplittableRandom(42);
+        try (TaskWriteAheadLog wal = open()) {
+            InMemoryTaskRepository repository = new InMemoryTaskRepository(Optional.of(wal));
+            for (int i = 0; i < tasks; i++) {
+                repository.save(data.task(new ReferenceKey(1_000_000L + i, ReferenceType.ORDER), Task.CREATE_INVOICE, random));
+                if (i == tasks / 2) {
+                    repository.snapshot();
+                }
+            }
+            repository.close();
+        }
+    }
+
+    @Benchmark
+    public int recover() {
+        recovering = open();
+        return new InMemoryTaskRepository(Optional.of(recovering)).findAll().size();
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeLog() throws IOException {
+        recovering.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteLog() throws IOException {
+        StoreState.delete(directory);
+    }
+
+    private TaskWriteAheadLog open() {
+        return new TaskWriteAheadLog(directory, FsyncPolicy.INTERVAL, 10, 0);
+    }
+}
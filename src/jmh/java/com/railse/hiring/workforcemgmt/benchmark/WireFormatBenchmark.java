@@ -0,0 +1,109 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.response.Pagination;
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+
+// One default-size page of full tasks, each with a few history entries, encoded the way the controller sends it:
+// as JSON, CBOR or Smile, and gzipped as server.compression does for large responses. The encoded size of each
+// combination is printed once per trial.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+
+    private static final int PAGE = 100;
+    private static final int HISTORY_ENTRIES = 4;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectWriter writer;
+    private Response<List<TaskManagementDto>> page;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 17);
+
+    @Setup
+    public void setup() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        writer = builder.build().writer();
+
+        long now = System.currentTimeMillis();
+        TaskDataGenerator data = new TaskDataGenerator(42, PAGE, now);
+        SplittableRandom random = new SplittableRandom(42);
+        List<TaskManagementDto> tasks = new ArrayList<>(PAGE);
+        for (int i = 0; i < PAGE; i++) {
+            TaskManagement task = data.task(new ReferenceKey(1_000L + i, ReferenceType.ORDER), Task.CREATE_INVOICE, random);
+            task.setId((long) i + 1);
+            task.setVersion(1L);
+            TaskManagementDto dto = ITaskManagementMapper.INSTANCE.modelToDto(task);
+            List<TaskActivity> activities = new ArrayList<>();
+            List<TaskComment> comments = new ArrayList<>();
+            for (int j = 0; j < HISTORY_ENTRIES; j++) {
+                activities.add(new TaskActivity(task.getId(), ActivityAction.values()[j % ActivityAction.values().length],
+                        1 + j, null, now - j * 60_000L));
+                TaskComment comment = new TaskComment();
+                comment.setComment("Customer asked to reschedule, attempt " + (j + 1));
+                comment.setCreatedBy(1 + j);
+                comment.setTimestamp(now - j * 60_000L);
+                comments.add(comment);
+            }
+            dto.setActivities(activities);
+            dto.setComments(comments);
+            tasks.add(dto);
+        }
+        page = new Response<>(tasks, new Pagination(PAGE, "ZDoxNzAwMDAwMDAwMDAwOjEwMA", true));
+
+        System.out.printf("%n%s%s: %d bytes per page of %d tasks%n", format, gzip ? " + gzip" : "", encode(), PAGE);
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        buffer.reset();
+        OutputStream out = gzip ? new GZIPOutputStream(buffer, 8192) : buffer;
+        // closes the stream, which finishes the gzip trailer
+        writer.writeValue(out, page);
+        return buffer.size();
+    }
+}
@@ -3,9 +3,11 @@ package com.railse.hiring.workforcemgmt;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
+@EnableScheduling
 public class Application {
    public static void main(String[] args) {
        SpringApplication.run(Application.class, args);
@@ -0,0 +1,63 @@
+package com.railse.hiring.workforcemgmt.common.concurrent;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+
+// Striped locks keyed by (referenceId, referenceType). Read-modify-write sequences on the tasks of
+// one reference (cancel the open tasks, create the replacement) run under that reference's lock,
+// while other references map to other stripes and proceed in parallel. Two references can share
+// a stripe; that only costs parallelism, never correctness.
+@Component
+public class ReferenceLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public ReferenceLockManager(@Value("${workforcemgmt.reference-lock.stripes:1024}") int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public <T> T withLock(ReferenceKey reference, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeOf(reference)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Locks every stripe the references fall on, in stripe order so concurrent callers cannot deadlock.
+    public <T> T withLocks(Collection<ReferenceKey> references, Supplier<T> action) {
+        int[] order = references.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        int locked = 0;
+        try {
+            for (int stripe : order) {
+                stripes[stripe].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[order[i]].unlock();
+            }
+        }
+    }
+
+    private int stripeOf(ReferenceKey reference) {
+        int hash = reference.hashCode();
+        // spread the high bits, the same way HashMap does
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,147 @@
+package com.railse.hiring.workforcemgmt.common.concurrent;
+
+import java.util.Arrays;
+
+// Hierarchical timing wheel of (id, deadline) pairs, after Varghese and Lauck: LEVELS wheels of SLOTS
+// buckets, where a level-L bucket covers SLOTS^L ticks. An entry goes to the lowest level whose current
+// revolution contains its tick and moves one level down each time the ticks reach its bucket, so adding
+// is O(1) and every entry is moved at most LEVELS - 1 times before it fires, however many are pending.
+// Entries fire on the first tick at or after their deadline, never before it. There is no removal:
+// callers re-check an entry when it fires. Not thread-safe; the owner serialises all calls.
+public final class TimingWheel {
+
+    private static final int SLOT_BITS = 9;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Bucket[][] wheels = new Bucket[LEVELS][SLOTS];
+    // past the last level's horizon (SLOTS^LEVELS ticks); re-placed whenever the last level turns over
+    private final Bucket overflow = new Bucket();
+    // added with a deadline whose tick has already been processed
+    private final Bucket due = new Bucket();
+    // the next tick advance() processes; every earlier tick is done
+    private long nextTick;
+    private long size;
+
+    @FunctionalInterface
+    public interface DueHandler {
+        void due(long id, long deadline);
+    }
+
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.nextTick = Math.floorDiv(startMillis, tickMillis);
+        for (Bucket[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheel[slot] = new Bucket();
+            }
+        }
+    }
+
+    public void add(long id, long deadline) {
+        place(id, deadline, tickOf(deadline));
+        size++;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    // Processes every tick up to the one containing now, handing each entry that came due to the handler.
+    public void advance(long now, DueHandler handler) {
+        long last = Math.floorDiv(now, tickMillis);
+        drain(due, handler);
+        while (nextTick <= last) {
+            if (size == 0) {
+                // nothing to cascade or fire, so the empty ticks can be skipped outright
+                nextTick = last + 1;
+                return;
+            }
+            // buckets whose turn has come move down, placed relative to this tick, before its own bucket fires
+            long tick = nextTick;
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(wheels[level][(int) (tick >>> (SLOT_BITS * level)) & MASK]);
+                }
+            }
+            if ((tick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0) {
+                cascade(overflow);
+            }
+            nextTick = tick + 1;
+            drain(wheels[0][(int) tick & MASK], handler);
+        }
+    }
+
+    private void cascade(Bucket bucket) {
+        if (bucket.count == 0) {
+            return;
+        }
+        int count = bucket.count;
+        long[] entries = bucket.takeAll();
+        for (int i = 0; i < count; i += 2) {
+            place(entries[i], entries[i + 1], tickOf(entries[i + 1]));
+        }
+    }
+
+    private void drain(Bucket bucket, DueHandler handler) {
+        if (bucket.count == 0) {
+            return;
+        }
+        int count = bucket.count;
+        long[] entries = bucket.takeAll();
+        size -= count / 2;
+        for (int i = 0; i < count; i += 2) {
+            handler.due(entries[i], entries[i + 1]);
+        }
+    }
+
+    // The lowest level where the tick shares its revolution with nextTick; within that revolution the
+    // bucket index is unique and its turn (the tick with the level's low bits cleared) is still ahead.
+    private void place(long id, long deadline, long tick) {
+        if (tick < nextTick) {
+            due.add(id, deadline);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((tick >>> shift) == (nextTick >>> shift)) {
+                wheels[level][(int) (tick >>> (SLOT_BITS * level)) & MASK].add(id, deadline);
+                return;
+            }
+        }
+        overflow.add(id, deadline);
+    }
+
+    // the first tick boundary at or after the deadline
+    private long tickOf(long deadline) {
+        return -Math.floorDiv(-deadline, tickMillis);
+    }
+
+    // Growable array of (id, deadline) pairs; takeAll() hands the storage over and starts a fresh one.
+    private static final class Bucket {
+        private static final long[] EMPTY = new long[0];
+
+        long[] entries = EMPTY;
+        int count;
+
+        void add(long id, long deadline) {
+            if (count == entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(8, entries.length * 2));
+            }
+            entries[count++] = id;
+            entries[count++] = deadline;
+        }
+
+        long[] takeAll() {
+            long[] taken = entries;
+            entries = EMPTY;
+            count = 0;
+            return taken;
+        }
+    }
+}
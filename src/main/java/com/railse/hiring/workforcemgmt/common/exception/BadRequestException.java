@@ -0,0 +1,8 @@
+package com.railse.hiring.workforcemgmt.common.exception;
+
+
+public class BadRequestException extends RuntimeException {
+   public BadRequestException(String message) {
+       super(message);
+   }
+}
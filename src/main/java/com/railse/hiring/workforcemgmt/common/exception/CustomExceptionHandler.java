@@ -5,9 +5,11 @@ import com.railse.hiring.workforcemgmt.common.model.response.ResponseStatus;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -21,14 +23,27 @@ public class CustomExceptionHandler {
         return new ResponseEntity<>(new Response<>(null, null, status), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<Response<Object>> handleVersionConflictException(VersionConflictException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.CONFLICT.getCode(), ex.getMessage());
+        return new ResponseEntity<>(new Response<>(null, null, status), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<Response<Object>> handleBadRequestException(BadRequestException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.BAD_REQUEST.getCode(), ex.getMessage());
+        return new ResponseEntity<>(new Response<>(null, null, status), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Response<Object>> handleValidationException(MethodArgumentNotValidException ex) {
-        Map<String, String> validationErrors = new HashMap<>();
-        ex.getBindingResult().getFieldErrors().forEach(error ->
-            validationErrors.put(error.getField(), error.getDefaultMessage())
-        );
-        ResponseStatus status = new ResponseStatus(StatusCode.BAD_REQUEST.getCode(), "Validation failed");
-        return new ResponseEntity<>(new Response<>(validationErrors, null, status), HttpStatus.BAD_REQUEST);
+        return validationFailed(ex.getBindingResult());
+    }
+
+    // the reactive stack reports @Valid failures with its own exception type
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Response<Object>> handleReactiveValidationException(WebExchangeBindException ex) {
+        return validationFailed(ex.getBindingResult());
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
@@ -42,6 +57,15 @@ public class CustomExceptionHandler {
         return new ResponseEntity<>(new Response<>(validationErrors, null, status), HttpStatus.BAD_REQUEST);
     }
 
+    private static ResponseEntity<Response<Object>> validationFailed(BindingResult bindingResult) {
+        Map<String, String> validationErrors = new HashMap<>();
+        bindingResult.getFieldErrors().forEach(error ->
+            validationErrors.put(error.getField(), error.getDefaultMessage())
+        );
+        ResponseStatus status = new ResponseStatus(StatusCode.BAD_REQUEST.getCode(), "Validation failed");
+        return new ResponseEntity<>(new Response<>(validationErrors, null, status), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Response<Object>> handleAllExceptions(Exception ex) {
         ResponseStatus status = new ResponseStatus(
@@ -0,0 +1,10 @@
+package com.railse.hiring.workforcemgmt.common.exception;
+
+
+// Thrown when a conditional save finds the task at a different version than the caller read.
+public class VersionConflictException extends RuntimeException {
+   public VersionConflictException(Long taskId, Long expectedVersion, Long actualVersion) {
+       super("Task " + taskId + " was modified concurrently: expected version " + expectedVersion
+               + " but found " + actualVersion);
+   }
+}
@@ -0,0 +1,41 @@
+package com.railse.hiring.workforcemgmt.common.model.response;
+
+
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+
+// Position of the last item of a page. Deadline-ordered results resume after (deadline, id), id-ordered ones
+// after id; both are stable while tasks are added or changed because they name a position, not an offset.
+// Clients only see the encoded form and must treat it as opaque.
+public record PageCursor(Long deadline, long id) {
+
+
+   public static PageCursor afterId(long id) {
+       return new PageCursor(null, id);
+   }
+
+
+   public String encode() {
+       String position = deadline == null ? "i:" + id : "d:" + deadline + ":" + id;
+       return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.US_ASCII));
+   }
+
+
+   public static PageCursor decode(String cursor) {
+       try {
+           String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+           if (parts.length == 2 && parts[0].equals("i")) {
+               return afterId(Long.parseLong(parts[1]));
+           }
+           if (parts.length == 3 && parts[0].equals("d")) {
+               return new PageCursor(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+           }
+       } catch (IllegalArgumentException e) {
+           // falls through to the error below; NumberFormatException is an IllegalArgumentException too
+       }
+       throw new BadRequestException("Invalid cursor: " + cursor);
+   }
+}
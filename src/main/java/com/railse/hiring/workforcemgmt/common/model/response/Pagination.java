@@ -3,11 +3,18 @@ package com.railse.hiring.workforcemgmt.common.model.response;
 
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 
+// Cursor pagination: pass next_cursor back as the cursor of the next request; it is null on the last page.
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public class Pagination {
-   // Not implemented for this assignment
+   private Integer pageSize;
+   private String nextCursor;
+   private Boolean hasMore;
 }
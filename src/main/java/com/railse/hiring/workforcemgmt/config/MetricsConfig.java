@@ -0,0 +1,60 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Metrics served by Actuator (/actuator/metrics, /actuator/prometheus): a timer per repository and service
+// operation, and gauges for the store, its indexes and the history. The cancellation and reassignment counters
+// are kept by the service itself.
+@Configuration
+public class MetricsConfig {
+
+    // static, so that the post-processor exists before the beans it wraps; the registry is only fetched on use
+    @Bean
+    public static BeanPostProcessor timedOperations(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof TaskRepository repository) {
+                    return TimedProxy.wrap(repository, TaskRepository.class, "workforcemgmt.repository.calls", meterRegistry.getObject());
+                }
+                if (bean instanceof TaskManagementService service) {
+                    return TimedProxy.wrap(service, TaskManagementService.class, "workforcemgmt.service.calls", meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Read when the registry is scraped. The store and index sizes are counters; the hot history entries are
+    // summed over every task's log, which is the one gauge whose cost grows with the data.
+    @Bean
+    public MeterBinder taskStoreMetrics(TaskRepository taskRepository, TaskHistoryStore historyStore) {
+        return registry -> {
+            Gauge.builder("workforcemgmt.tasks.stored", taskRepository, TaskRepository::count).register(registry);
+            for (String index : taskRepository.indexSizes().keySet()) {
+                Gauge.builder("workforcemgmt.index.size", taskRepository, repository -> repository.indexSizes().get(index))
+                        .tag("index", index)
+                        .register(registry);
+            }
+            Gauge.builder("workforcemgmt.history.hot.entries", historyStore, TaskHistoryStore::hotActivities)
+                    .tag("kind", "activity").register(registry);
+            Gauge.builder("workforcemgmt.history.hot.entries", historyStore, TaskHistoryStore::hotComments)
+                    .tag("kind", "comment").register(registry);
+            Gauge.builder("workforcemgmt.history.tasks", historyStore, TaskHistoryStore::activityLogs)
+                    .tag("kind", "activity").register(registry);
+            Gauge.builder("workforcemgmt.history.tasks", historyStore, TaskHistoryStore::commentLogs)
+                    .tag("kind", "comment").register(registry);
+        };
+    }
+}
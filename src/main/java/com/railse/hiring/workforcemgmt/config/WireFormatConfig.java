@@ -0,0 +1,35 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+// CBOR (application/cbor) and Smile (application/x-jackson-smile) next to JSON, for request and response bodies,
+// chosen by Content-Type and Accept. They are built from Boot's Jackson settings, so a binary body carries the
+// same snake_case fields as the JSON one. They go after the JSON converter, so a client that accepts anything still
+// gets JSON.
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder;
+
+    public WireFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder) {
+        this.mapperBuilder = mapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // the builder bean is a prototype, so each format starts from a fresh copy of the settings
+        converters.add(new MappingJackson2CborHttpMessageConverter(mapperBuilder.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(mapperBuilder.getObject().factory(new SmileFactory()).build()));
+    }
+}
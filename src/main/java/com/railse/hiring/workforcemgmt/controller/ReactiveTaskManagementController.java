@@ -0,0 +1,127 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.*;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.service.ReactiveTaskManagementService;
+
+import jakarta.validation.Valid;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+
+// The task API on WebFlux, under the "reactive" profile: same paths and bodies as TaskManagementController,
+// except that the list endpoints stream every matching task - as a JSON array, or one task per line with
+// Accept: application/x-ndjson - instead of returning a page in a Response envelope.
+@RestController
+@Profile("reactive")
+@RequestMapping("/task-mgmt")
+public class ReactiveTaskManagementController {
+
+
+   private final ReactiveTaskManagementService taskManagementService;
+
+
+   public ReactiveTaskManagementController(ReactiveTaskManagementService taskManagementService) {
+       this.taskManagementService = taskManagementService;
+   }
+
+
+   @GetMapping("/{id}")
+   public Mono<Response<TaskManagementDto>> getTaskById(@PathVariable Long id) {
+       return taskManagementService.findTaskById(id).map(Response::new);
+   }
+
+
+   @GetMapping("/{id}/activities")
+   public Mono<Response<List<TaskActivity>>> getTaskActivities(@PathVariable Long id,
+                                                               @RequestParam(required = false) Long from,
+                                                               @RequestParam(required = false) Long to,
+                                                               @RequestParam(name = "action", required = false) Set<ActivityAction> actions,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(name = "page_size", required = false) Integer pageSize) {
+       return taskManagementService.fetchActivities(id, from, to, actions, cursor, pageSize)
+               .map(page -> new Response<>(page.getEntries(), page.getPagination()));
+   }
+
+
+   @GetMapping("/{id}/comments")
+   public Mono<Response<List<TaskComment>>> getTaskComments(@PathVariable Long id,
+                                                            @RequestParam(required = false) Long from,
+                                                            @RequestParam(required = false) Long to,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(name = "page_size", required = false) Integer pageSize) {
+       return taskManagementService.fetchComments(id, from, to, cursor, pageSize)
+               .map(page -> new Response<>(page.getEntries(), page.getPagination()));
+   }
+
+
+   @PostMapping("/create")
+   public Mono<Response<List<TaskManagementDto>>> createTasks(@Valid @RequestBody TaskCreateRequest request) {
+       return taskManagementService.createTasks(request).map(Response::new);
+   }
+
+
+   @PostMapping("/update")
+   public Mono<Response<List<TaskManagementDto>>> updateTasks(@Valid @RequestBody UpdateTaskRequest request) {
+       return taskManagementService.updateTasks(request).map(Response::new);
+   }
+
+
+   @PostMapping("/assign-by-ref")
+   public Mono<Response<String>> assignByReference(@Valid @RequestBody AssignByReferenceRequest request) {
+       return taskManagementService.assignByReference(request).map(Response::new);
+   }
+
+
+   @PostMapping(value = "/fetch-by-date/v2", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+   public Flux<Object> fetchByDate(@RequestBody TaskFetchByDateRequest request) {
+       return taskManagementService.fetchTasksByDate(request);
+   }
+
+
+   @PostMapping(value = "/smart-fetch-by-date/", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+   public Flux<Object> smartFetchByDate(@RequestBody TaskFetchByDateRequest request) {
+       return taskManagementService.smartFetchTasksByDate(request);
+   }
+
+
+   @PatchMapping("/tasks/{id}/priority")
+   public Mono<Response<String>> updateTaskPriority(@PathVariable Long id, @Valid @RequestBody UpdatePriorityRequest request) {
+       return taskManagementService.updateTaskPriority(id, request).map(Response::new);
+   }
+
+
+   @GetMapping(value = "/tasks/priority/{priority}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+   public Flux<Object> getTasksByPriority(@PathVariable Priority priority,
+                                          @RequestParam(required = false) String projection,
+                                          @RequestParam(required = false) List<String> fields) {
+       return taskManagementService.fetchTasksByPriority(priority, TaskProjection.of(projection, fields));
+   }
+
+
+   @GetMapping("/workload")
+   public Mono<Response<List<AssigneeWorkloadDto>>> getWorkload(@RequestParam(name = "assignee_ids") List<Long> assigneeIds,
+                                                                @RequestParam(name = "status", required = false) Set<TaskStatus> statuses) {
+       return taskManagementService.fetchWorkload(assigneeIds, statuses).map(Response::new);
+   }
+
+
+   @PostMapping("/tasks/{id}/comments")
+   public Mono<Response<String>> addComment(@PathVariable Long id, @Valid @RequestBody AddCommentRequest request) {
+       return taskManagementService.addComment(id, request).map(Response::new);
+   }
+}
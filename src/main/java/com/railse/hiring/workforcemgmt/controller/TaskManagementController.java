@@ -1,38 +1,98 @@
 package com.railse.hiring.workforcemgmt.controller;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
 import com.railse.hiring.workforcemgmt.common.model.response.Response;
 import com.railse.hiring.workforcemgmt.dto.*;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.service.TaskChangeFeed;
+import com.railse.hiring.workforcemgmt.service.TaskImportService;
 import com.railse.hiring.workforcemgmt.service.TaskManagementService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 
+// the servlet stack; the "reactive" profile serves the same API from ReactiveTaskManagementController instead
 @RestController
+@Profile("!reactive")
 @RequestMapping("/task-mgmt")
 public class TaskManagementController {
 
 
    private final TaskManagementService taskManagementService;
+   private final TaskImportService taskImportService;
+   private final TaskChangeFeed taskChangeFeed;
+   private final ObjectMapper objectMapper;
 
 
-   public TaskManagementController(TaskManagementService taskManagementService) {
+   public TaskManagementController(TaskManagementService taskManagementService, TaskImportService taskImportService,
+                                   TaskChangeFeed taskChangeFeed, ObjectMapper objectMapper) {
        this.taskManagementService = taskManagementService;
+       this.taskImportService = taskImportService;
+       this.taskChangeFeed = taskChangeFeed;
+       this.objectMapper = objectMapper;
    }
 
 
+   // Conditional GETs: the response carries an ETag, and a request whose If-None-Match still matches gets a 304
+   // without the task being mapped or serialized. The tag is taken before the body, so it is never newer than it.
    @GetMapping("/{id}")
-   public Response<TaskManagementDto> getTaskById(@PathVariable Long id) {
+   public Response<TaskManagementDto> getTaskById(@PathVariable Long id, WebRequest webRequest) {
+       if (webRequest.checkNotModified(taskManagementService.taskTag(id))) {
+           return null;
+       }
        return new Response<>(taskManagementService.findTaskById(id));
    }
 
 
+   // full history of one task, paged; GET /{id} only carries the most recent entries
+   @GetMapping("/{id}/activities")
+   public Response<List<TaskActivity>> getTaskActivities(@PathVariable Long id,
+                                                         @RequestParam(required = false) Long from,
+                                                         @RequestParam(required = false) Long to,
+                                                         @RequestParam(name = "action", required = false) Set<ActivityAction> actions,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(name = "page_size", required = false) Integer pageSize) {
+       HistoryPage<TaskActivity> page = taskManagementService.fetchActivities(id, from, to, actions, cursor, pageSize);
+       return new Response<>(page.getEntries(), page.getPagination());
+   }
+
+
+   @GetMapping("/{id}/comments")
+   public Response<List<TaskComment>> getTaskComments(@PathVariable Long id,
+                                                      @RequestParam(required = false) Long from,
+                                                      @RequestParam(required = false) Long to,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(name = "page_size", required = false) Integer pageSize) {
+       HistoryPage<TaskComment> page = taskManagementService.fetchComments(id, from, to, cursor, pageSize);
+       return new Response<>(page.getEntries(), page.getPagination());
+   }
+
+
    @PostMapping("/create")
    public Response<List<TaskManagementDto>> createTasks(@Valid @RequestBody TaskCreateRequest request) {
        return new Response<>(taskManagementService.createTasks(request));
@@ -45,20 +105,57 @@ public class TaskManagementController {
    }
 
 
+   // per-item results: a failing item is reported in its own status instead of failing the whole request
+   @PostMapping("/create/batch")
+   public Response<List<BatchItemResult<TaskManagementDto>>> createTasksBatch(@Valid @RequestBody TaskCreateRequest request) {
+       return new Response<>(taskManagementService.createTasksBatch(request));
+   }
+
+
+   @PostMapping("/update/batch")
+   public Response<List<BatchItemResult<TaskManagementDto>>> updateTasksBatch(@Valid @RequestBody UpdateTaskRequest request) {
+       return new Response<>(taskManagementService.updateTasksBatch(request));
+   }
+
+
+   // NDJSON in and out: the body is read and the results are written while the import runs
+   @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+   public void importTasks(@RequestParam("performed_by") Integer performedBy,
+                           @RequestParam(name = "summary_only", defaultValue = "false") boolean summaryOnly,
+                           InputStream body, HttpServletResponse response) throws IOException {
+       response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+       taskImportService.importTasks(performedBy, body, response.getOutputStream(), summaryOnly);
+   }
+
+
    @PostMapping("/assign-by-ref")
    public Response<String> assignByReference(@Valid @RequestBody AssignByReferenceRequest request) {
        return new Response<>(taskManagementService.assignByReference(request));
    }
 
 
+   // The fetch endpoints return one page at a time; with ?stream=true they instead write every matching task
+   // as an NDJSON line while the query runs, starting after the cursor if one is given.
    @PostMapping("/fetch-by-date/v2")
-   public Response<List<TaskManagementDto>> fetchByDate(@RequestBody TaskFetchByDateRequest request) {
-       return new Response<>(taskManagementService.fetchTasksByDate(request));
+   public Response<List<Object>> fetchByDate(@RequestBody TaskFetchByDateRequest request) {
+       TaskPage<Object> page = taskManagementService.fetchTasksByDate(request);
+       return new Response<>(page.getTasks(), page.getPagination());
+   }
+
+   @PostMapping(value = "/fetch-by-date/v2", params = "stream=true")
+   public void streamByDate(@RequestBody TaskFetchByDateRequest request, HttpServletResponse response) throws IOException {
+       writeNdjson(taskManagementService.streamTasksByDate(request), response);
    }
 
    @PostMapping("/smart-fetch-by-date/")
-   public Response<List<TaskManagementDto>> smartFetchByDate(@RequestBody TaskFetchByDateRequest request) {
-       return new Response<>(taskManagementService.smartFetchTasksByDate(request));
+   public Response<List<Object>> smartFetchByDate(@RequestBody TaskFetchByDateRequest request) {
+       TaskPage<Object> page = taskManagementService.smartFetchTasksByDate(request);
+       return new Response<>(page.getTasks(), page.getPagination());
+   }
+
+   @PostMapping(value = "/smart-fetch-by-date/", params = "stream=true")
+   public void streamSmartByDate(@RequestBody TaskFetchByDateRequest request, HttpServletResponse response) throws IOException {
+       writeNdjson(taskManagementService.streamSmartTasksByDate(request), response);
    }
 
    @PatchMapping("/tasks/{id}/priority")
@@ -67,14 +164,66 @@ public class TaskManagementController {
     }
 
     @GetMapping("/tasks/priority/{priority}")
-    public Response<List<TaskManagementDto>> getTasksByPriority(@PathVariable Priority priority) {
-        List<TaskManagementDto> tasks = taskManagementService.fetchTasksByPriority(priority);
-        return new Response<>(tasks);
+    public Response<List<Object>> getTasksByPriority(@PathVariable Priority priority,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(name = "page_size", required = false) Integer pageSize,
+                                                     @RequestParam(required = false) String projection,
+                                                     @RequestParam(required = false) List<String> fields,
+                                                     WebRequest webRequest) {
+        TaskProjection view = TaskProjection.of(projection, fields);
+        if (webRequest.checkNotModified(taskManagementService.tasksByPriorityTag(priority, cursor, pageSize, view))) {
+            return null;
+        }
+        TaskPage<Object> page = taskManagementService.fetchTasksByPriority(priority, cursor, pageSize, view);
+        return new Response<>(page.getTasks(), page.getPagination());
+    }
+
+    @GetMapping(value = "/tasks/priority/{priority}", params = "stream=true")
+    public void streamTasksByPriority(@PathVariable Priority priority, @RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) String projection,
+                                      @RequestParam(required = false) List<String> fields,
+                                      HttpServletResponse response) throws IOException {
+        writeNdjson(taskManagementService.streamTasksByPriority(priority, cursor, TaskProjection.of(projection, fields)), response);
     }
     
+    // e.g. /workload?assignee_ids=1,2&status=ASSIGNED; answered from counters, without loading any task
+    @GetMapping("/workload")
+    public Response<List<AssigneeWorkloadDto>> getWorkload(@RequestParam(name = "assignee_ids") List<Long> assigneeIds,
+                                                           @RequestParam(name = "status", required = false) Set<TaskStatus> statuses) {
+        return new Response<>(taskManagementService.fetchWorkload(assigneeIds, statuses));
+    }
+
+    // Server-Sent Events of task saves, e.g. /changes?assignee_ids=1,2&priority=HIGH. A reconnecting client resumes
+    // after the Last-Event-ID header (or `after`, an event id too); a "reset" event means it missed events, or the
+    // id is from before a restart, and it should refetch.
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(name = "assignee_ids", required = false) Set<Long> assigneeIds,
+                                    @RequestParam(name = "reference_id", required = false) Long referenceId,
+                                    @RequestParam(name = "reference_type", required = false) ReferenceType referenceType,
+                                    @RequestParam(name = "priority", required = false) Set<Priority> priorities,
+                                    @RequestParam(required = false) String after,
+                                    @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        ReferenceKey reference = referenceId == null ? null : new ReferenceKey(referenceId, referenceType);
+        return taskChangeFeed.subscribe(new TaskChangeFilter(assigneeIds, reference, priorities),
+                lastEventId != null ? lastEventId : after);
+    }
+
     @PostMapping("/tasks/{id}/comments")
     public Response<String> addComment(@PathVariable Long id, @Valid @RequestBody AddCommentRequest request) {
         return new Response<>(taskManagementService.addComment(id, request));
     }
 
+    private void writeNdjson(Stream<?> values, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            Iterator<?> iterator = values.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
 }
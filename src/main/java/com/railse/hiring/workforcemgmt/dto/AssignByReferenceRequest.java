@@ -9,6 +9,8 @@ import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.Getter;
 
+import java.util.List;
+
 
 @Data
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
@@ -19,4 +21,8 @@ public class AssignByReferenceRequest {
    private Long referenceId;
    private ReferenceType referenceType;
    private Long assigneeId;
+   // with auto_assign the least loaded of candidate_assignee_ids (or of every known assignee when
+   // there are none) is chosen, and assignee_id is ignored
+   private boolean autoAssign;
+   private List<Long> candidateAssigneeIds;
 }
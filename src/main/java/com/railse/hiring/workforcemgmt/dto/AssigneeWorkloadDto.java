@@ -0,0 +1,25 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+import java.util.Map;
+
+
+// Task counts of one assignee per status and priority, limited to the requested statuses.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class AssigneeWorkloadDto {
+   private Long assigneeId;
+   private Map<TaskStatus, Map<Priority, Long>> counts;
+   private Long total;
+}
@@ -0,0 +1,32 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.common.exception.StatusCode;
+import com.railse.hiring.workforcemgmt.common.model.response.ResponseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+// Outcome of one item of a batch request; index is the item's position in the request.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class BatchItemResult<T> {
+   private Integer index;
+   private ResponseStatus status;
+   private T data;
+
+
+   public static <T> BatchItemResult<T> succeeded(int index, T data) {
+       return new BatchItemResult<>(index, new ResponseStatus(StatusCode.SUCCESS.getCode(), StatusCode.SUCCESS.getMessage()), data);
+   }
+
+
+   public static <T> BatchItemResult<T> failed(int index, StatusCode code, String message) {
+       return new BatchItemResult<>(index, new ResponseStatus(code.getCode(), message), null);
+   }
+}
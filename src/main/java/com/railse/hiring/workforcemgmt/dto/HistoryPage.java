@@ -0,0 +1,20 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+
+import com.railse.hiring.workforcemgmt.common.model.response.Pagination;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+import java.util.List;
+
+
+// One page of a task's activities or comments, oldest first.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryPage<T> {
+   private List<T> entries;
+   private Pagination pagination;
+}
@@ -0,0 +1,34 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+// One saved task on the change feed. seq orders all events of this process and is the part of the SSE event id
+// after the epoch ("<epoch>-<seq>"); the previous assignee and priority let a filtered view drop a task that
+// moved out of it.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskChangeEvent {
+   private long seq;
+   private Long taskId;
+   private Long version;
+   private boolean created;
+   private Long referenceId;
+   private ReferenceType referenceType;
+   private Long assigneeId;
+   private Long previousAssigneeId;
+   private TaskStatus status;
+   private Priority priority;
+   private Priority previousPriority;
+   private Long taskDeadlineTime;
+}
@@ -0,0 +1,33 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+
+import java.util.Objects;
+import java.util.Set;
+
+
+// Narrows a change-feed subscription; a null or empty part matches everything. An event matches on the task's
+// new or its previous assignee and priority, so subscribers also hear about tasks leaving their view.
+public record TaskChangeFilter(Set<Long> assigneeIds, ReferenceKey reference, Set<Priority> priorities) {
+
+   public static final TaskChangeFilter ALL = new TaskChangeFilter(null, null, null);
+
+   public boolean matches(TaskChangeEvent event) {
+       if (!matchesEither(assigneeIds, event.getAssigneeId(), event.getPreviousAssigneeId())) {
+           return false;
+       }
+       // a reference without a type matches the id under any type
+       if (reference != null && (!Objects.equals(reference.referenceId(), event.getReferenceId())
+               || (reference.referenceType() != null && reference.referenceType() != event.getReferenceType()))) {
+           return false;
+       }
+       return matchesEither(priorities, event.getPriority(), event.getPreviousPriority());
+   }
+
+   private static <T> boolean matchesEither(Set<T> accepted, T current, T previous) {
+       return accepted == null || accepted.isEmpty()
+               || (current != null && accepted.contains(current)) || (previous != null && accepted.contains(previous));
+   }
+}
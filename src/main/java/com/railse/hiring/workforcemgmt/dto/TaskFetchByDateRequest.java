@@ -15,4 +15,10 @@ public class TaskFetchByDateRequest {
    private Long startDate;
    private Long endDate;
    private List<Long> assigneeIds;
+   // cursor pagination: next_cursor of the previous page, and the page size (capped by the server)
+   private String cursor;
+   private Integer pageSize;
+   // full (default) or summary; a non-empty fields list selects exactly those fields instead
+   private String projection;
+   private List<String> fields;
 }
@@ -28,4 +28,5 @@ public class TaskManagementDto {
    private Priority priority;
    private List<TaskActivity> activities;
    private List<TaskComment> comments;
+   private Long version;
 }
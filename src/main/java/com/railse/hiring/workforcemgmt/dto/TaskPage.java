@@ -0,0 +1,19 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+
+import com.railse.hiring.workforcemgmt.common.model.response.Pagination;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+import java.util.List;
+
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPage<T> {
+   private List<T> tasks;
+   private Pagination pagination;
+}
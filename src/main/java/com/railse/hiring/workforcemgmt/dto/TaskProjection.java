@@ -0,0 +1,90 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+
+// Shape of each task in a list response: FULL is TaskManagementDto including the recent history, SUMMARY is
+// TaskSummaryDto, and FIELDS a map holding only the requested snake_case fields.
+@Getter
+public final class TaskProjection {
+
+   public enum Mode { FULL, SUMMARY, FIELDS }
+
+   public static final TaskProjection FULL = new TaskProjection(Mode.FULL, Set.of());
+   public static final TaskProjection SUMMARY = new TaskProjection(Mode.SUMMARY, Set.of());
+
+   private static final Map<String, Function<TaskManagement, Object>> FIELDS = new LinkedHashMap<>();
+
+   static {
+       FIELDS.put("id", TaskManagement::getId);
+       FIELDS.put("reference_id", TaskManagement::getReferenceId);
+       FIELDS.put("reference_type", TaskManagement::getReferenceType);
+       FIELDS.put("task", TaskManagement::getTask);
+       FIELDS.put("description", TaskManagement::getDescription);
+       FIELDS.put("status", TaskManagement::getStatus);
+       FIELDS.put("assignee_id", TaskManagement::getAssigneeId);
+       FIELDS.put("task_deadline_time", TaskManagement::getTaskDeadlineTime);
+       FIELDS.put("priority", TaskManagement::getPriority);
+       FIELDS.put("version", TaskManagement::getVersion);
+   }
+
+   // not part of the task record, filled in by the caller from the history store
+   private static final Set<String> HISTORY_FIELDS = Set.of("activities", "comments");
+
+   private final Mode mode;
+   private final Set<String> fields;
+
+   private TaskProjection(Mode mode, Set<String> fields) {
+       this.mode = mode;
+       this.fields = fields;
+   }
+
+   // A field list wins over the projection name; neither means FULL, which is what the endpoints always returned.
+   public static TaskProjection of(String projection, List<String> fields) {
+       if (fields != null && !fields.isEmpty()) {
+           Set<String> selected = new LinkedHashSet<>();
+           for (String field : fields) {
+               String name = field.trim();
+               if (!FIELDS.containsKey(name) && !HISTORY_FIELDS.contains(name)) {
+                   throw new BadRequestException("Unknown field: " + name + ", expected one of " + FIELDS.keySet()
+                           + " or " + HISTORY_FIELDS);
+               }
+               selected.add(name);
+           }
+           return new TaskProjection(Mode.FIELDS, selected);
+       }
+       if (projection == null) {
+           return FULL;
+       }
+       return switch (projection.toLowerCase(Locale.ROOT)) {
+           case "full" -> FULL;
+           case "summary" -> SUMMARY;
+           default -> throw new BadRequestException("Unknown projection: " + projection + ", expected full or summary");
+       };
+   }
+
+   // whether the projected task carries its recent activities or comments
+   public boolean includesHistory() {
+       return mode == Mode.FULL || fields.stream().anyMatch(HISTORY_FIELDS::contains);
+   }
+
+   public Map<String, Object> select(TaskManagement task, Function<String, Object> history) {
+       Map<String, Object> values = new LinkedHashMap<>();
+       for (String field : fields) {
+           values.put(field, HISTORY_FIELDS.contains(field) ? history.apply(field) : FIELDS.get(field).apply(task));
+       }
+       return values;
+   }
+}
@@ -0,0 +1,27 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.Data;
+
+
+// TaskManagementDto without the activity and comment history, for list responses.
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskSummaryDto {
+   private Long id;
+   private Long referenceId;
+   private ReferenceType referenceType;
+   private Task task;
+   private String description;
+   private TaskStatus status;
+   private Long assigneeId;
+   private Long taskDeadlineTime;
+   private Priority priority;
+   private Long version;
+}
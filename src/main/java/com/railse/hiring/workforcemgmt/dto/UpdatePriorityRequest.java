@@ -12,4 +12,6 @@ public class UpdatePriorityRequest {
     @NotNull(message = "performedBy is required")
     private @Getter Integer performedBy;
     private @Getter Priority priority;
+    // optional: only apply the update if the task is still at this version
+    private Long expectedVersion;
 }
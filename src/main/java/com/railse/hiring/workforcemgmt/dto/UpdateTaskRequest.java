@@ -28,5 +28,7 @@ public class UpdateTaskRequest {
        private Long taskId;
        private TaskStatus taskStatus;
        private String description;
+       // optional: only apply the update if the task is still at this version
+       private Long expectedVersion;
    }
 }
@@ -2,8 +2,10 @@ package com.railse.hiring.workforcemgmt.mapper;
 
 
 import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskSummaryDto;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.factory.Mappers;
 
@@ -16,6 +18,9 @@ public interface ITaskManagementMapper {
    ITaskManagementMapper INSTANCE = Mappers.getMapper(ITaskManagementMapper.class);
 
 
+   // the history is not part of the model; the service fills in the recent entries
+   @Mapping(target = "activities", ignore = true)
+   @Mapping(target = "comments", ignore = true)
    TaskManagementDto modelToDto(TaskManagement model);
 
 
@@ -23,4 +28,7 @@ public interface ITaskManagementMapper {
 
 
    List<TaskManagementDto> modelListToDtoList(List<TaskManagement> models);
+
+
+   TaskSummaryDto modelToSummaryDto(TaskManagement model);
 }
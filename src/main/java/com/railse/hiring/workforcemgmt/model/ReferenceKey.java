@@ -0,0 +1,11 @@
+package com.railse.hiring.workforcemgmt.model;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+
+// Identifies the business object (order, entity, enquiry) a group of tasks belongs to.
+public record ReferenceKey(Long referenceId, ReferenceType referenceType) {
+
+    public static ReferenceKey of(TaskManagement task) {
+        return new ReferenceKey(task.getReferenceId(), task.getReferenceType());
+    }
+}
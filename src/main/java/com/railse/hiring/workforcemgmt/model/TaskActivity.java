@@ -1,13 +1,35 @@
 package com.railse.hiring.workforcemgmt.model;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
+
 import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
-@Data
-@NoArgsConstructor
+// A structured event: who did what to which task, and when. The readable description is only built when
+// the activity is serialized, so recording one costs a single small object.
+@Getter
+@ToString
+@EqualsAndHashCode
 @AllArgsConstructor
-public class TaskActivity {
-    private String description;
-    private Long timestamp;
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonPropertyOrder({"task_id", "action", "performed_by", "argument", "timestamp", "description"})
+public final class TaskActivity {
+    private final long taskId;
+    private final ActivityAction action;
+    private final Integer performedBy;
+    private final String argument; // e.g. the new priority, null for most actions
+    private final long timestamp;
+
+    public static TaskActivity of(long taskId, ActivityAction action, Integer performedBy) {
+        return new TaskActivity(taskId, action, performedBy, null, System.currentTimeMillis());
+    }
+
+    public String getDescription() {
+        return action.describe(performedBy, taskId, argument);
+    }
 }
@@ -1,9 +1,6 @@
 package com.railse.hiring.workforcemgmt.model;
 
 
-import java.util.ArrayList;
-import java.util.List;
-
 import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.Task;
@@ -22,6 +19,5 @@ public class TaskManagement {
    private Long assigneeId; // Simplified from Entity for this assignment
    private Long taskDeadlineTime;
    private Priority priority;
-   private List<TaskActivity> activities = new ArrayList<>();
-   private List<TaskComment> comments = new ArrayList<>();
+   private Long version; // bumped by the repository on every save, used for optimistic concurrency
 }
@@ -0,0 +1,85 @@
+package com.railse.hiring.workforcemgmt.model.enums;
+
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+// What a TaskActivity records. The template is only filled in when an activity is rendered:
+// %1$s is the actor, %2$s the task id and %3$s the action's argument. An action whose argument can be
+// missing has a second template, without %3$s, used when it is.
+@Getter
+public enum ActivityAction {
+   CREATED("%1$s create Task with ID: %2$s"),
+   CANCELLED_FOR_NEW_TASK("%1$s cancelled Task with ID: %2$s for new task creation"),
+   CANCELLED_FOR_REASSIGNMENT("%1$s cancelled Task with ID: %2$s Due to new assignment"),
+   ASSIGNED("%1$s assigned Task with ID: %2$s"),
+   UPDATED("%1$s updated Task with ID: %2$s"),
+   PRIORITY_CHANGED("Task priority updated to %3$s by %1$s"),
+   COMMENT_ADDED("Comment added by %1$s"),
+   // without an argument the task has no priority to report
+   ESCALATED("Task with ID: %2$s missed its deadline, priority now %3$s", "Task with ID: %2$s missed its deadline");
+
+
+   private final String template;
+   private final String templateWithoutArgument;
+   // The templates split once at their placeholders. Descriptions are built on every serialization of an
+   // activity, where String.format showed up.
+   @Getter(AccessLevel.NONE)
+   private final Parts parts;
+   @Getter(AccessLevel.NONE)
+   private final Parts partsWithoutArgument;
+
+
+   ActivityAction(String template) {
+       this(template, template);
+   }
+
+   ActivityAction(String template, String templateWithoutArgument) {
+       this.template = template;
+       this.templateWithoutArgument = templateWithoutArgument;
+       this.parts = Parts.of(template);
+       this.partsWithoutArgument = templateWithoutArgument.equals(template) ? parts : Parts.of(templateWithoutArgument);
+   }
+
+
+   // the template with its placeholders filled in, as String.format would
+   public String describe(Integer actor, long taskId, String argument) {
+       return (argument == null ? partsWithoutArgument : parts).describe(template.length() + 24, actor, taskId, argument);
+   }
+
+
+   // argument numbers, and the text before each one and after the last
+   private record Parts(int[] arguments, String[] texts) {
+
+       static Parts of(String template) {
+           List<Integer> arguments = new ArrayList<>();
+           List<String> texts = new ArrayList<>();
+           int from = 0;
+           for (int at = template.indexOf('%'); at >= 0; at = template.indexOf('%', from)) {
+               texts.add(template.substring(from, at));
+               arguments.add(template.charAt(at + 1) - '0');
+               // "%n$s"
+               from = at + 4;
+           }
+           texts.add(template.substring(from));
+           return new Parts(arguments.stream().mapToInt(Integer::intValue).toArray(), texts.toArray(String[]::new));
+       }
+
+       String describe(int capacity, Integer actor, long taskId, String argument) {
+           StringBuilder description = new StringBuilder(capacity);
+           for (int i = 0; i < arguments.length; i++) {
+               description.append(texts[i]);
+               switch (arguments[i]) {
+                   case 1 -> description.append(actor);
+                   case 2 -> description.append(taskId);
+                   default -> description.append(argument);
+               }
+           }
+           return description.append(texts[arguments.length]).toString();
+       }
+   }
+}
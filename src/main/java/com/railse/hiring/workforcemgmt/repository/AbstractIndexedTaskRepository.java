@@ -0,0 +1,177 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Query side shared by the storage engines: every finder resolves ids through TaskIndexes and
+// loads the rows from the concrete store. Subclasses own the primary storage and must call
+// saved() from save(), serialised per task id; state replayed at startup goes to indexes.update()
+// directly, since it is not a change anybody needs to hear about.
+@Slf4j
+abstract class AbstractIndexedTaskRepository implements TaskRepository {
+
+    protected final TaskIndexes indexes = new TaskIndexes();
+    private final List<TaskChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Returns the current state of the task, or null if there is no task with this id.
+    protected abstract TaskManagement load(long id);
+
+    // A save went through: moves the index entries and tells the listeners, in version order per task.
+    protected void saved(long id, long version, TaskIndexKeys previous, TaskIndexKeys current) {
+        indexes.update(id, previous, current);
+        if (listeners.isEmpty()) {
+            return;
+        }
+        TaskChange change = new TaskChange(id, version, previous, current);
+        for (TaskChangeListener listener : listeners) {
+            try {
+                listener.onChange(change);
+            } catch (RuntimeException e) {
+                // the task is already stored, so a failing listener must not turn the save into an error
+                log.error("Task change listener failed for task {}", id, e);
+            }
+        }
+    }
+
+    @Override
+    public void addChangeListener(TaskChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public long count() {
+        return indexes.taskCount();
+    }
+
+    @Override
+    public Map<String, Long> indexSizes() {
+        return indexes.sizes();
+    }
+
+    @Override
+    public void forEachActiveDeadline(DeadlineConsumer consumer) {
+        indexes.forEachActiveDeadline(consumer);
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        ReferenceKey reference = new ReferenceKey(referenceId, referenceType);
+        return resolve(indexes.idsByReference(reference), task -> ReferenceKey.of(task).equals(reference));
+    }
+
+    @Override
+    public Map<ReferenceKey, List<TaskManagement>> findByReferences(Collection<ReferenceKey> references) {
+        Map<ReferenceKey, List<TaskManagement>> tasks = new LinkedHashMap<>();
+        for (ReferenceKey reference : references) {
+            tasks.put(reference, resolve(indexes.idsByReference(reference), task -> ReferenceKey.of(task).equals(reference)));
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        List<TaskManagement> tasks = new ArrayList<>();
+        for (Long assigneeId : new LinkedHashSet<>(assigneeIds)) {
+            tasks.addAll(resolve(indexes.idsByAssignee(assigneeId), task -> assigneeId.equals(task.getAssigneeId())));
+        }
+        return tasks;
+    }
+
+    @Override
+    public Map<TaskStatus, Map<Priority, Long>> countByAssigneeId(Long assigneeId) {
+        return indexes.workload(assigneeId);
+    }
+
+    @Override
+    public Optional<Long> findLeastLoadedAssignee(Collection<Long> candidates) {
+        return indexes.leastLoadedAssignee(candidates);
+    }
+
+    @Override
+    public List<TaskManagement> findByPriority(Priority priority) {
+        return resolve(indexes.idsByPriority(priority), task -> task.getPriority() == priority);
+    }
+
+    @Override
+    public List<TaskManagement> findByStatus(TaskStatus status) {
+        return resolve(indexes.idsByStatus(status), task -> task.getStatus() == status);
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdInAndDeadlineBetween(List<Long> assigneeIds, Long start, Long end) {
+        return findByDeadline(assigneeIds, start, end, false);
+    }
+
+    @Override
+    public List<TaskManagement> findActiveByAssigneeIdInAndDeadlineUpTo(List<Long> assigneeIds, Long end) {
+        return findByDeadline(assigneeIds, null, end, true);
+    }
+
+    private List<TaskManagement> findByDeadline(List<Long> assigneeIds, Long start, Long end, boolean activeOnly) {
+        return streamByAssigneeIdInAndDeadlineBetween(assigneeIds, start, end, activeOnly, null, null).toList();
+    }
+
+    @Override
+    public Stream<TaskManagement> streamByAssigneeIdInAndDeadlineBetween(List<Long> assigneeIds, Long start, Long end,
+                                                                        boolean activeOnly, Long afterDeadline, Long afterId) {
+        long from = start == null ? Long.MIN_VALUE : start;
+        long to = end == null ? Long.MAX_VALUE : end;
+        DeadlineEntry after = afterDeadline == null ? null : new DeadlineEntry(afterDeadline, afterId == null ? Long.MAX_VALUE : afterId);
+        Set<Long> assignees = new LinkedHashSet<>(assigneeIds);
+        List<Iterator<DeadlineEntry>> ranges = new ArrayList<>(assignees.size());
+        for (Long assigneeId : assignees) {
+            ranges.add(indexes.deadlineRange(assigneeId, from, to, activeOnly, after).iterator());
+        }
+
+        return lazily(new DeadlineMergeIterator(ranges))
+                .map(entry -> load(entry.id()))
+                .filter(task -> task != null && assignees.contains(task.getAssigneeId())
+                        && task.getTaskDeadlineTime() != null
+                        && task.getTaskDeadlineTime() >= from && task.getTaskDeadlineTime() <= to
+                        && (!activeOnly || task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED));
+    }
+
+    @Override
+    public Stream<TaskManagement> streamByPriority(Priority priority, Long afterId) {
+        return lazily(indexes.idsByPriority(priority, afterId).iterator())
+                .map(this::load)
+                .filter(task -> task != null && task.getPriority() == priority);
+    }
+
+    private static <T> Stream<T> lazily(Iterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // An index entry can briefly run ahead of a concurrent save, so every hit is re-checked against the stored task.
+    private List<TaskManagement> resolve(Set<Long> ids, Predicate<TaskManagement> stillMatches) {
+        List<TaskManagement> tasks = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TaskManagement task = load(id);
+            if (task != null && stillMatches.test(task)) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,97 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Open-task weight of every assignee that has held a task, kept in a skip list ordered by (weight,
+// assignee id) so the least loaded assignee overall is its first entry. Only ASSIGNED and STARTED
+// tasks count, a HIGH task weighing more than a LOW one. Changes for one assignee are applied inside
+// that assignee's compute(), adding the new entry before removing the old one, so a concurrent reader
+// can see an assignee at either weight but never misses it.
+final class AssigneeLoadIndex {
+
+    private record Entry(long weight, long assigneeId) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry other) {
+            int byWeight = Long.compare(weight, other.weight);
+            return byWeight != 0 ? byWeight : Long.compare(assigneeId, other.assigneeId);
+        }
+    }
+
+    private final Map<Long, Long> weights = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> byWeight = new ConcurrentSkipListSet<>();
+
+    void update(TaskIndexKeys previous, TaskIndexKeys current) {
+        long before = weight(previous);
+        long after = weight(current);
+        Long fromAssignee = before == 0 ? null : previous.assigneeId();
+        Long toAssignee = after == 0 ? null : current.assigneeId();
+        if (fromAssignee != null && fromAssignee.equals(toAssignee)) {
+            adjust(fromAssignee, after - before);
+            return;
+        }
+        if (fromAssignee != null) {
+            adjust(fromAssignee, -before);
+        }
+        if (toAssignee != null) {
+            adjust(toAssignee, after);
+        } else if (current != null && current.assigneeId() != null) {
+            // assignees holding only closed tasks still belong to the pool, at weight 0
+            adjust(current.assigneeId(), 0);
+        }
+    }
+
+    long weightOf(Long assigneeId) {
+        return weights.getOrDefault(assigneeId, 0L);
+    }
+
+    // Least loaded of the candidates, ties going to the lowest id; with no candidates, of every known assignee.
+    Optional<Long> leastLoaded(Collection<Long> candidates) {
+        if (candidates == null || candidates.isEmpty()) {
+            return byWeight.isEmpty() ? Optional.empty() : Optional.of(byWeight.first().assigneeId());
+        }
+        Long best = null;
+        long bestWeight = Long.MAX_VALUE;
+        for (Long candidate : candidates) {
+            if (candidate == null) {
+                continue;
+            }
+            long weight = weightOf(candidate);
+            if (weight < bestWeight || (weight == bestWeight && candidate < best)) {
+                best = candidate;
+                bestWeight = weight;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private void adjust(long assigneeId, long delta) {
+        weights.compute(assigneeId, (id, weight) -> {
+            long current = weight == null ? 0 : weight;
+            long next = current + delta;
+            if (weight == null || next != current) {
+                byWeight.add(new Entry(next, id));
+                if (weight != null) {
+                    byWeight.remove(new Entry(current, id));
+                }
+            }
+            return next;
+        });
+    }
+
+    static long weight(TaskIndexKeys keys) {
+        if (keys == null || keys.assigneeId() == null || !keys.active()) {
+            return 0;
+        }
+        return keys.priority() == null ? 1 : switch (keys.priority()) {
+            case LOW -> 1;
+            case MEDIUM -> 2;
+            case HIGH -> 3;
+        };
+    }
+}
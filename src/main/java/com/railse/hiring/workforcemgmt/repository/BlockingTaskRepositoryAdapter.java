@@ -0,0 +1,63 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+// ReactiveTaskRepository over whichever storage engine is configured. None of them is non-blocking (the mapped
+// store reads files, the in-memory one can wait for its write-ahead log), so every call is moved off the event
+// loop onto Reactor's bounded elastic pool.
+@Repository
+@Profile("reactive")
+public class BlockingTaskRepositoryAdapter implements ReactiveTaskRepository {
+
+    private final TaskRepository taskRepository;
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+
+    public BlockingTaskRepositoryAdapter(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public Mono<TaskManagement> findById(Long id) {
+        return Mono.fromCallable(() -> taskRepository.findById(id).orElse(null)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<TaskManagement> save(TaskManagement task) {
+        return Mono.fromCallable(() -> taskRepository.save(task)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<TaskManagement> update(Long id, Consumer<TaskManagement> mutation) {
+        return Mono.fromCallable(() -> taskRepository.update(id, mutation)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<TaskManagement> streamByAssigneeIdInAndDeadlineBetween(List<Long> assigneeIds, Long start, Long end, boolean activeOnly) {
+        return Flux.fromStream(() -> taskRepository.streamByAssigneeIdInAndDeadlineBetween(assigneeIds, start, end, activeOnly, null, null))
+                .subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<TaskManagement> streamByPriority(Priority priority) {
+        return Flux.fromStream(() -> taskRepository.streamByPriority(priority, null)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Map<TaskStatus, Map<Priority, Long>>> countByAssigneeId(Long assigneeId) {
+        return Mono.fromCallable(() -> taskRepository.countByAssigneeId(assigneeId)).subscribeOn(scheduler);
+    }
+}
@@ -0,0 +1,74 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.EnumSet;
+
+// Primitive encodings shared by the column and file stores: enums as a stable one-byte code (0 meaning null)
+// and nullable longs with Long.MIN_VALUE as the null sentinel.
+final class ColumnEncoding {
+
+    static final long NULL_LONG = Long.MIN_VALUE;
+    static final byte NULL_ENUM = 0;
+
+    // Codes are written to tasks.dat and the write-ahead log, so they are fixed here rather than taken from the
+    // declaration order: append new constants to the end of a list and never reorder or reuse one.
+    static final EnumCodes<ReferenceType> REFERENCE_TYPES = new EnumCodes<>(ReferenceType.class,
+            ReferenceType.ENTITY, ReferenceType.ORDER, ReferenceType.ENQUIRY);
+    static final EnumCodes<Task> TASKS = new EnumCodes<>(Task.class,
+            Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, Task.CREATE_INVOICE, Task.ARRANGE_PICKUP, Task.COLLECT_PAYMENT);
+    static final EnumCodes<TaskStatus> STATUSES = new EnumCodes<>(TaskStatus.class,
+            TaskStatus.ASSIGNED, TaskStatus.STARTED, TaskStatus.COMPLETED, TaskStatus.CANCELLED);
+    static final EnumCodes<Priority> PRIORITIES = new EnumCodes<>(Priority.class,
+            Priority.LOW, Priority.MEDIUM, Priority.HIGH);
+
+    private ColumnEncoding() {
+    }
+
+    static long encodeLong(Long value) {
+        return value == null ? NULL_LONG : value;
+    }
+
+    static Long decodeLong(long value) {
+        return value == NULL_LONG ? null : value;
+    }
+
+    static final class EnumCodes<E extends Enum<E>> {
+
+        private final E[] byCode;
+        private final byte[] byOrdinal;
+
+        @SafeVarargs
+        EnumCodes(Class<E> type, E... byCode) {
+            E[] constants = type.getEnumConstants();
+            if (byCode.length != constants.length || !EnumSet.of(byCode[0], byCode).containsAll(EnumSet.allOf(type))) {
+                throw new IllegalStateException("Every " + type.getSimpleName() + " constant needs a stored code");
+            }
+            if (byCode.length > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many " + type.getSimpleName() + " constants for a one-byte code");
+            }
+            this.byCode = byCode.clone();
+            this.byOrdinal = new byte[constants.length];
+            for (int i = 0; i < byCode.length; i++) {
+                byOrdinal[byCode[i].ordinal()] = (byte) (i + 1);
+            }
+        }
+
+        byte encode(E value) {
+            return value == null ? NULL_ENUM : byOrdinal[value.ordinal()];
+        }
+
+        E decode(byte code) {
+            if (code == NULL_ENUM) {
+                return null;
+            }
+            if (code < 0 || code > byCode.length) {
+                throw new IllegalStateException("Unknown stored code " + code);
+            }
+            return byCode[code - 1];
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.railse.hiring.workforcemgmt.common.exception.VersionConflictException;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import static com.railse.hiring.workforcemgmt.repository.ColumnEncoding.*;
+
+// Column-oriented task store for large task counts. Rows are handed out densely in the order tasks are first
+// saved, and an open-addressing table maps each id to its row, so a sparse or very large id costs one table slot
+// rather than every row up to it. Scalar fields live in primitive arrays (enums as one byte each, nulls as
+// sentinels) split into fixed-size segments so growing never copies existing rows. TaskManagement objects are
+// only built when a task is read, which means callers get a detached copy and must save() to persist changes.
+@Repository
+@ConditionalOnProperty(name = "workforcemgmt.repository.type", havingValue = "compact")
+public class CompactTaskRepository extends AbstractIndexedTaskRepository {
+
+    private static final int SEGMENT_BITS = 16;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static final int LOCK_STRIPES = 64;
+
+    private final AtomicLong idCounter = new AtomicLong(0);
+    private final StampedLock[] locks = new StampedLock[LOCK_STRIPES];
+    // guards row allocation: the row count, growing the segments and inserting into the row table
+    private final ReentrantLock growLock = new ReentrantLock();
+    private volatile Segment[] segments = new Segment[0];
+    private volatile RowTable rowTable = new RowTable(1 << 10);
+    private volatile int rowCount;
+
+    public CompactTaskRepository() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new StampedLock();
+        }
+        TaskSeeder.seed(this);
+    }
+
+    private static final class Segment {
+        final long[] id = new long[SEGMENT_SIZE];
+        final boolean[] present = new boolean[SEGMENT_SIZE];
+        final long[] referenceId = new long[SEGMENT_SIZE];
+        final long[] assigneeId = new long[SEGMENT_SIZE];
+        final long[] deadline = new long[SEGMENT_SIZE];
+        final long[] version = new long[SEGMENT_SIZE];
+        final byte[] referenceType = new byte[SEGMENT_SIZE];
+        final byte[] task = new byte[SEGMENT_SIZE];
+        final byte[] status = new byte[SEGMENT_SIZE];
+        final byte[] priority = new byte[SEGMENT_SIZE];
+        final String[] description = new String[SEGMENT_SIZE];
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(load(id));
+    }
+
+    @Override
+    public long nextId() {
+        return idCounter.incrementAndGet();
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        if (task.getId() == null) {
+            task.setId(idCounter.incrementAndGet());
+        } else if (task.getId() <= 0) {
+            throw new IllegalArgumentException("Task ids must be positive: " + task.getId());
+        } else {
+            idCounter.accumulateAndGet(task.getId(), Math::max);
+        }
+        long id = task.getId();
+        StampedLock lock = lockFor(id);
+        long stamp = lock.writeLock();
+        try {
+            int row = rowTable.get(id);
+            if (row < 0) {
+                row = allocateRow(id);
+            }
+            Segment segment = segments[row >>> SEGMENT_BITS];
+            int slot = row & SEGMENT_MASK;
+            boolean present = segment.present[slot];
+            long currentVersion = present ? segment.version[slot] : 0;
+            if (task.getVersion() != null && present && task.getVersion() != currentVersion) {
+                throw new VersionConflictException(id, task.getVersion(), currentVersion);
+            }
+            TaskIndexKeys previous = present ? read(segment, slot, id, false).keys() : null;
+            write(segment, slot, task);
+            segment.version[slot] = currentVersion + 1;
+            saved(id, currentVersion + 1, previous, TaskIndexKeys.of(task));
+            task.setVersion(currentVersion + 1);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return task;
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        int rows = rowCount;
+        Segment[] current = segments;
+        List<TaskManagement> tasks = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            TaskManagement task = load(current[row >>> SEGMENT_BITS].id[row & SEGMENT_MASK]);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    protected TaskManagement load(long id) {
+        // optimistic read first; only fall back to the read lock if a writer got in between
+        StampedLock lock = lockFor(id);
+        long stamp = lock.tryOptimisticRead();
+        Row snapshot = read(id);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                snapshot = read(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return snapshot == null ? null : snapshot.toTask();
+    }
+
+    private Row read(long id) {
+        int row = rowTable.get(id);
+        if (row < 0) {
+            return null;
+        }
+        return read(segments[row >>> SEGMENT_BITS], row & SEGMENT_MASK, id, true);
+    }
+
+    // Raw copy of one row; the view is only assembled after the read has been validated.
+    private record Row(long id, long version, long referenceId, long assigneeId, long deadline, byte referenceType, byte task,
+                       byte status, byte priority, String description) {
+
+        TaskManagement toTask() {
+            TaskManagement view = new TaskManagement();
+            view.setId(id);
+            view.setVersion(version);
+            view.setReferenceId(decodeLong(referenceId));
+            view.setReferenceType(REFERENCE_TYPES.decode(referenceType));
+            view.setTask(TASKS.decode(task));
+            view.setDescription(description);
+            view.setStatus(STATUSES.decode(status));
+            view.setAssigneeId(decodeLong(assigneeId));
+            view.setTaskDeadlineTime(decodeLong(deadline));
+            view.setPriority(PRIORITIES.decode(priority));
+            return view;
+        }
+
+        TaskIndexKeys keys() {
+            return new TaskIndexKeys(new ReferenceKey(decodeLong(referenceId), REFERENCE_TYPES.decode(referenceType)),
+                    decodeLong(assigneeId), PRIORITIES.decode(priority), STATUSES.decode(status), decodeLong(deadline));
+        }
+    }
+
+    private static Row read(Segment segment, int slot, long id, boolean checkPresent) {
+        if (checkPresent && !segment.present[slot]) {
+            return null;
+        }
+        return new Row(id, segment.version[slot], segment.referenceId[slot], segment.assigneeId[slot], segment.deadline[slot],
+                segment.referenceType[slot], segment.task[slot], segment.status[slot], segment.priority[slot],
+                segment.description[slot]);
+    }
+
+    private static void write(Segment segment, int slot, TaskManagement task) {
+        segment.referenceId[slot] = encodeLong(task.getReferenceId());
+        segment.assigneeId[slot] = encodeLong(task.getAssigneeId());
+        segment.deadline[slot] = encodeLong(task.getTaskDeadlineTime());
+        segment.referenceType[slot] = REFERENCE_TYPES.encode(task.getReferenceType());
+        segment.task[slot] = TASKS.encode(task.getTask());
+        segment.status[slot] = STATUSES.encode(task.getStatus());
+        segment.priority[slot] = PRIORITIES.encode(task.getPriority());
+        segment.description[slot] = task.getDescription();
+        segment.present[slot] = true;
+    }
+
+    // Called with the id's write lock held. The row is filled in before the table publishes it, so a reader that
+    // finds the id also finds its segment.
+    private int allocateRow(long id) {
+        growLock.lock();
+        try {
+            int row = rowCount;
+            int segmentIndex = row >>> SEGMENT_BITS;
+            Segment[] current = segments;
+            if (segmentIndex == current.length) {
+                Segment[] grown = Arrays.copyOf(current, segmentIndex + 1);
+                grown[segmentIndex] = new Segment();
+                segments = grown;
+                current = grown;
+            }
+            current[segmentIndex].id[row & SEGMENT_MASK] = id;
+            RowTable table = rowTable;
+            if (table.isFull()) {
+                table = table.grow();
+            }
+            table.put(id, row);
+            rowTable = table;
+            rowCount = row + 1;
+            return row;
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    // Open-addressing map from task id to row, with linear probing. Entries are never removed, and a row is
+    // stored before its id, which readers load through the atomic array, so a lock-free reader never finds an
+    // id without its row. Growing builds a new table; the old one is left untouched for readers still on it.
+    private static final class RowTable {
+        private final AtomicLongArray ids;
+        private final int[] rows;
+        private final int mask;
+        private int size;
+
+        RowTable(int capacity) {
+            ids = new AtomicLongArray(capacity);
+            rows = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        int get(long id) {
+            for (int i = slot(id); ; i = (i + 1) & mask) {
+                long key = ids.get(i);
+                if (key == id) {
+                    return rows[i];
+                }
+                if (key == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long id, int row) {
+            int i = slot(id);
+            while (ids.get(i) != 0) {
+                i = (i + 1) & mask;
+            }
+            rows[i] = row;
+            ids.set(i, id);
+            size++;
+        }
+
+        // kept at most half full, so probes stay short
+        boolean isFull() {
+            return (size + 1) * 2 > rows.length;
+        }
+
+        RowTable grow() {
+            RowTable grown = new RowTable(rows.length * 2);
+            for (int i = 0; i < rows.length; i++) {
+                long id = ids.get(i);
+                if (id != 0) {
+                    grown.put(id, rows[i]);
+                }
+            }
+            return grown;
+        }
+
+        private int slot(long id) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+
+    private StampedLock lockFor(long id) {
+        return locks[(int) (id & (LOCK_STRIPES - 1))];
+    }
+}
@@ -0,0 +1,19 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+// Position of a task in a deadline-ordered index; the id breaks ties between equal deadlines.
+record DeadlineEntry(long deadline, long id) implements Comparable<DeadlineEntry> {
+
+    static DeadlineEntry lowest(long deadline) {
+        return new DeadlineEntry(deadline, Long.MIN_VALUE);
+    }
+
+    static DeadlineEntry highest(long deadline) {
+        return new DeadlineEntry(deadline, Long.MAX_VALUE);
+    }
+
+    @Override
+    public int compareTo(DeadlineEntry other) {
+        int byDeadline = Long.compare(deadline, other.deadline);
+        return byDeadline != 0 ? byDeadline : Long.compare(id, other.id);
+    }
+}
@@ -0,0 +1,43 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+// Merges several deadline-ordered iterators into one deadline-ordered sequence, one entry at a time,
+// so a multi-assignee scan never has to collect and sort all matching entries up front.
+final class DeadlineMergeIterator implements Iterator<DeadlineEntry> {
+
+    private record Head(DeadlineEntry entry, Iterator<DeadlineEntry> source) {
+    }
+
+    private final PriorityQueue<Head> heads = new PriorityQueue<>((a, b) -> a.entry().compareTo(b.entry()));
+
+    DeadlineMergeIterator(List<? extends Iterator<DeadlineEntry>> sources) {
+        for (Iterator<DeadlineEntry> source : sources) {
+            advance(source);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public DeadlineEntry next() {
+        Head head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        advance(head.source());
+        return head.entry();
+    }
+
+    private void advance(Iterator<DeadlineEntry> source) {
+        if (source.hasNext()) {
+            heads.add(new Head(source.next(), source));
+        }
+    }
+}
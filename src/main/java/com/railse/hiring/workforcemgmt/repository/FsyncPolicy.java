@@ -0,0 +1,11 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+// When the write-ahead log forces appended records to disk, trading durability for throughput.
+public enum FsyncPolicy {
+    // every record is forced on its own before its save returns
+    PER_WRITE,
+    // records are group-committed: one force per batch, saves wait for the batch that holds them
+    PER_BATCH,
+    // saves return once queued and the log is forced on a timer; a crash can lose the last interval
+    INTERVAL
+}
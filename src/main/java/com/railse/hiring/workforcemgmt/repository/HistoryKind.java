@@ -0,0 +1,130 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
+
+import static com.railse.hiring.workforcemgmt.repository.TaskRecordCodec.*;
+
+// What the history store needs to know about one kind of entry: its timestamp and its binary form
+// for archived chunks and the history journal.
+final class HistoryKind<T> {
+
+    // the archive can outlive the process, so actions are stored by name rather than by ordinal
+    static final HistoryKind<TaskActivity> ACTIVITY = new HistoryKind<>(1,
+            TaskActivity::getTimestamp,
+            (out, activity) -> {
+                out.writeLong(activity.getTaskId());
+                out.writeUTF(activity.getAction().name());
+                out.writeBoolean(activity.getPerformedBy() != null);
+                if (activity.getPerformedBy() != null) {
+                    out.writeInt(activity.getPerformedBy());
+                }
+                writeString(out, activity.getArgument());
+                out.writeLong(activity.getTimestamp());
+            },
+            in -> {
+                long taskId = in.readLong();
+                ActivityAction action = ActivityAction.valueOf(in.readUTF());
+                Integer performedBy = in.readBoolean() ? in.readInt() : null;
+                return new TaskActivity(taskId, action, performedBy, readString(in), in.readLong());
+            });
+
+    static final HistoryKind<TaskComment> COMMENT = new HistoryKind<>(2,
+            comment -> timestampOf(comment.getTimestamp()),
+            (out, comment) -> {
+                writeString(out, comment.getComment());
+                out.writeBoolean(comment.getCreatedBy() != null);
+                if (comment.getCreatedBy() != null) {
+                    out.writeInt(comment.getCreatedBy());
+                }
+                writeNullableLong(out, comment.getTimestamp());
+            },
+            in -> {
+                TaskComment comment = new TaskComment();
+                comment.setComment(readString(in));
+                comment.setCreatedBy(in.readBoolean() ? in.readInt() : null);
+                comment.setTimestamp(readNullableLong(in));
+                return comment;
+            });
+
+    interface EntryWriter<T> {
+        void write(DataOutput out, T entry) throws IOException;
+    }
+
+    interface EntryReader<T> {
+        T read(DataInput in) throws IOException;
+    }
+
+    private final int code;
+    private final ToLongFunction<T> timestamp;
+    private final EntryWriter<T> writer;
+    private final EntryReader<T> reader;
+
+    private HistoryKind(int code, ToLongFunction<T> timestamp, EntryWriter<T> writer, EntryReader<T> reader) {
+        this.code = code;
+        this.timestamp = timestamp;
+        this.writer = writer;
+        this.reader = reader;
+    }
+
+    // the kind's tag in the archive files
+    int code() {
+        return code;
+    }
+
+    static HistoryKind<?> of(int code) {
+        return switch (code) {
+            case 1 -> ACTIVITY;
+            case 2 -> COMMENT;
+            default -> throw new IllegalArgumentException("Unknown history kind: " + code);
+        };
+    }
+
+    long timestamp(T entry) {
+        return timestamp.applyAsLong(entry);
+    }
+
+    byte[] encode(List<T> entries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * entries.size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(entries.size());
+            for (T entry : entries) {
+                writer.write(out, entry);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    List<T> decode(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int count = in.readInt();
+            List<T> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(reader.read(in));
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // entries without a timestamp sort before everything else in time-range reads
+    private static long timestampOf(Long value) {
+        return value == null ? Long.MIN_VALUE : value;
+    }
+}
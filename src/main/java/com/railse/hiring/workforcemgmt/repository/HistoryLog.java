@@ -0,0 +1,309 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+// The history of one task: an append-only sequence of fixed-size chunks. The newest chunks stay on the
+// heap; once a sealed chunk falls outside the retention limits it is written to the archive (or dropped
+// when there is none) and only its descriptor is kept. Entries are numbered by position, starting at 0.
+// With a durable archive every append is also journaled, so the hot chunks can be rebuilt after a restart.
+final class HistoryLog<T> {
+
+    // slots of a log's first chunk, doubled as it fills up to the chunk size
+    private static final int FIRST_CHUNK_CAPACITY = 4;
+    private static final VarHandle LOCK;
+
+    static {
+        try {
+            LOCK = MethodHandles.lookup().findVarHandle(HistoryLog.class, "lock", ReentrantLock.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long taskId;
+    private final HistoryKind<T> kind;
+    // both created on first use rather than with the log; a log restored from the archive has no hot chunks
+    private volatile ReentrantLock lock;
+    private ArrayDeque<HotChunk> hot;
+    private final List<ArchivedChunk> archived = new ArrayList<>();
+    private long size;
+    private long hotEntries;
+
+    HistoryLog(long taskId, HistoryKind<T> kind) {
+        this.taskId = taskId;
+        this.kind = kind;
+    }
+
+    void append(T entry, RetentionPolicy policy) {
+        ReentrantLock lock = lock();
+        lock.lock();
+        try {
+            // journaled before it is visible, so a failed write leaves the log as it was
+            if (policy.archive() != null) {
+                policy.archive().journal(taskId, kind, size, entry);
+            }
+            add(entry, policy);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Recovery: an archived chunk read back from the archive file. Chunks arrive in file order, so each one
+    // continues the log; anything else is a leftover of a crash and is skipped.
+    void restore(TaskHistoryArchive.Chunk chunk) {
+        ReentrantLock lock = lock();
+        lock.lock();
+        try {
+            if (chunk.firstPosition() == size && hot == null) {
+                archived.add(new ArchivedChunk(chunk.firstPosition(), chunk.count(), chunk.minTimestamp(),
+                        chunk.maxTimestamp(), chunk.offset(), chunk.length()));
+                size += chunk.count();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Recovery: a journaled entry. Entries the archive file already holds are skipped.
+    void restore(long position, T entry, RetentionPolicy policy) {
+        ReentrantLock lock = lock();
+        lock.lock();
+        try {
+            if (position == size) {
+                add(entry, policy);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Journal compaction: re-journals the entries still on the heap, the only ones the archive file lacks.
+    void journalHotEntries(TaskHistoryArchive archive) {
+        ReentrantLock lock = lock();
+        lock.lock();
+        try {
+            if (hot == null) {
+                return;
+            }
+            for (HotChunk chunk : hot) {
+                for (int i = 0; i < chunk.count; i++) {
+                    archive.journal(taskId, kind, chunk.firstPosition + i, chunk.get(i));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(T entry, RetentionPolicy policy) {
+        long timestamp = kind.timestamp(entry);
+        if (hot == null) {
+            hot = new ArrayDeque<>(2);
+        }
+        HotChunk tail = hot.peekLast();
+        if (tail == null || tail.count == policy.chunkSize()) {
+            // only a log's first chunk starts small; a later one is opened once the one before it filled up
+            tail = new HotChunk(size, policy.chunkSize(), hot.isEmpty() ? FIRST_CHUNK_CAPACITY : policy.chunkSize());
+            hot.addLast(tail);
+        }
+        tail.add(entry, timestamp);
+        size++;
+        hotEntries++;
+        retain(policy, System.currentTimeMillis());
+    }
+
+    void retain(RetentionPolicy policy, long now) {
+        ReentrantLock lock = lock();
+        lock.lock();
+        try {
+            // the open tail chunk always stays, so appends never touch the archive
+            while (hot != null && hot.size() > 1 && policy.evicts(hot.peekFirst().maxTimestamp, hotEntries, now)) {
+                HotChunk oldest = hot.removeFirst();
+                hotEntries -= oldest.count;
+                if (policy.archive() != null) {
+                    byte[] bytes = kind.encode(oldest.entries());
+                    long offset = policy.archive().write(taskId, kind, oldest.firstPosition, oldest.count,
+                            oldest.minTimestamp, oldest.maxTimestamp, bytes);
+                    archived.add(new ArchivedChunk(oldest.firstPosition, oldest.count, oldest.minTimestamp,
+                            oldest.maxTimestamp, offset, bytes.length));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // entries ever appended, archived or dropped ones included
+    long size() {
+        ReentrantLock lock = lock();
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long hotEntries() {
+        ReentrantLock lock = lock();
+        lock.lock();
+        try {
+            return hotEntries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Entries with a position after afterPosition, a timestamp in [from, to] and accepted by filter, oldest
+    // first. Archived chunks are only read when they can hold a match, and outside the lock.
+    TaskHistoryPage<T> page(long from, long to, Predicate<T> filter, long afterPosition, int limit, TaskHistoryArchive archive) {
+        List<Segment> segments = snapshot();
+        List<T> entries = new ArrayList<>();
+        long lastPosition = -1;
+        for (Segment segment : segments) {
+            if (segment.lastPosition() <= afterPosition || segment.maxTimestamp < from || segment.minTimestamp > to) {
+                continue;
+            }
+            List<T> chunk = segment.entries(kind, archive);
+            for (int i = 0; i < chunk.size(); i++) {
+                long position = segment.firstPosition + i;
+                long timestamp = kind.timestamp(chunk.get(i));
+                if (position <= afterPosition || timestamp < from || timestamp > to || !filter.test(chunk.get(i))) {
+                    continue;
+                }
+                if (entries.size() == limit) {
+                    return new TaskHistoryPage<>(entries, lastPosition, true);
+                }
+                entries.add(chunk.get(i));
+                lastPosition = position;
+            }
+        }
+        return new TaskHistoryPage<>(entries, entries.isEmpty() ? null : lastPosition, false);
+    }
+
+    // The newest limit entries still on the heap, oldest first.
+    List<T> recent(int limit) {
+        List<T> entries = new ArrayList<>(limit);
+        ReentrantLock lock = lock();
+        lock.lock();
+        try {
+            if (hot == null) {
+                return entries;
+            }
+            Iterator<HotChunk> chunks = hot.descendingIterator();
+            while (entries.size() < limit && chunks.hasNext()) {
+                HotChunk chunk = chunks.next();
+                for (int i = chunk.count - 1; i >= 0 && entries.size() < limit; i--) {
+                    entries.add(chunk.get(i));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    private List<Segment> snapshot() {
+        ReentrantLock lock = lock();
+        lock.lock();
+        try {
+            List<Segment> segments = new ArrayList<>(archived.size() + (hot == null ? 0 : hot.size()));
+            for (ArchivedChunk chunk : archived) {
+                segments.add(new Segment(chunk.firstPosition, chunk.count, chunk.minTimestamp, chunk.maxTimestamp, null, chunk));
+            }
+            for (HotChunk chunk : hot == null ? List.<HotChunk>of() : hot) {
+                // later appends only fill slots past count, so the copied prefix stays valid
+                segments.add(new Segment(chunk.firstPosition, chunk.count, chunk.minTimestamp, chunk.maxTimestamp,
+                        Arrays.copyOf(chunk.slots, chunk.count), null));
+            }
+            return segments;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lock() {
+        ReentrantLock current = lock;
+        if (current == null) {
+            ReentrantLock created = new ReentrantLock();
+            current = (ReentrantLock) LOCK.compareAndExchange(this, null, created);
+            if (current == null) {
+                current = created;
+            }
+        }
+        return current;
+    }
+
+    record RetentionPolicy(int chunkSize, long maxHotEntries, long maxHotAgeMillis, TaskHistoryArchive archive) {
+
+        boolean evicts(long newestTimestampOfOldest, long hotEntries, long now) {
+            return hotEntries > maxHotEntries
+                    || (maxHotAgeMillis > 0 && newestTimestampOfOldest < now - maxHotAgeMillis);
+        }
+    }
+
+    private final class HotChunk {
+        final long firstPosition;
+        final int capacity;
+        Object[] slots;
+        int count;
+        long minTimestamp = Long.MAX_VALUE;
+        long maxTimestamp = Long.MIN_VALUE;
+
+        HotChunk(long firstPosition, int capacity, int initialCapacity) {
+            this.firstPosition = firstPosition;
+            this.capacity = capacity;
+            this.slots = new Object[Math.min(capacity, initialCapacity)];
+        }
+
+        void add(T entry, long timestamp) {
+            if (count == slots.length) {
+                slots = Arrays.copyOf(slots, Math.min(capacity, slots.length * 2));
+            }
+            slots[count++] = entry;
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int index) {
+            return (T) slots[index];
+        }
+
+        List<T> entries() {
+            List<T> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(get(i));
+            }
+            return entries;
+        }
+    }
+
+    private record ArchivedChunk(long firstPosition, int count, long minTimestamp, long maxTimestamp, long offset, int length) {
+    }
+
+    private record Segment(long firstPosition, int count, long minTimestamp, long maxTimestamp, Object[] slots, ArchivedChunk archived) {
+
+        long lastPosition() {
+            return firstPosition + count - 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> List<T> entries(HistoryKind<T> kind, TaskHistoryArchive archive) {
+            if (slots != null) {
+                return (List<T>) Arrays.asList(slots);
+            }
+            return kind.decode(archive.read(archived.offset(), archived.length()));
+        }
+    }
+}
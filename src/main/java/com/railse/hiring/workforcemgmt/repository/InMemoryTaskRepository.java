@@ -1,118 +1,294 @@
 package com.railse.hiring.workforcemgmt.repository;
 
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
-import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
-import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.common.exception.VersionConflictException;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
-import com.railse.hiring.workforcemgmt.model.enums.Priority;
-import com.railse.hiring.workforcemgmt.model.enums.Task;
-import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
 
+import lombok.extern.slf4j.Slf4j;
 
+
+@Slf4j
 @Repository
-public class InMemoryTaskRepository implements TaskRepository {
+@ConditionalOnProperty(name = "workforcemgmt.repository.type", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryTaskRepository extends AbstractIndexedTaskRepository implements Closeable {
+
+
+   private static final int LOCK_STRIPES = 64;
 
 
+   // Values are immutable, versioned snapshots: a save swaps in a new snapshot under the task's stripe lock and
+   // readers copy whatever snapshot is current without locking, so they never see a half-applied update.
+   // Saves of one id are serialised by a ReentrantLock stripe rather than ConcurrentHashMap.compute, whose bin
+   // monitor would pin a virtual thread to its carrier for as long as the save blocks (log append, listeners).
    private final Map<Long, TaskManagement> taskStore = new ConcurrentHashMap<>();
+   private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
    private final AtomicLong idCounter = new AtomicLong(0);
 
 
+   // optional durability: every save is logged before it is acknowledged, see TaskWriteAheadLog
+   private final TaskWriteAheadLog writeAheadLog;
+   // saves hold the read side; a snapshot takes the write side just long enough to pick its sequence
+   private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+   private final ScheduledExecutorService snapshotScheduler;
+
+
    public InMemoryTaskRepository() {
-       // Seed data
-       createSeedTask(101L, ReferenceType.ORDER, Task.CREATE_INVOICE, 1L, TaskStatus.ASSIGNED, Priority.HIGH);
-       createSeedTask(101L, ReferenceType.ORDER, Task.ARRANGE_PICKUP, 1L, TaskStatus.COMPLETED, Priority.HIGH);
-       createSeedTask(102L, ReferenceType.ORDER, Task.CREATE_INVOICE, 2L, TaskStatus.ASSIGNED, Priority.MEDIUM);
-       createSeedTask(201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 2L, TaskStatus.ASSIGNED, Priority.LOW);
-       createSeedTask(201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 3L, TaskStatus.ASSIGNED, Priority.LOW); // Duplicate for Bug #1
-       createSeedTask(103L, ReferenceType.ORDER, Task.COLLECT_PAYMENT, 1L, TaskStatus.CANCELLED, Priority.MEDIUM); // For Bug #2
-   }
-
-
-   private void createSeedTask(Long refId, ReferenceType refType, Task task, Long assigneeId, TaskStatus status, Priority priority) {
-        long newId = idCounter.incrementAndGet();    
-
-        List<TaskActivity> activities = new java.util.ArrayList<>();
-        activities.add(new TaskActivity("0 create Task with ID: " + newId, System.currentTimeMillis()));
-
-        // Cancel older tasks of same referenceId + referenceType + taskType
-        taskStore.values().stream()
-            .filter(t -> t.getReferenceId().equals(refId)
-                    && t.getReferenceType() == refType
-                    && t.getTask() == task
-                    && t.getStatus() != TaskStatus.COMPLETED
-                    && t.getStatus() != TaskStatus.CANCELLED)
-            .forEach(t -> {
-                t.setStatus(TaskStatus.CANCELLED);
-                t.getActivities().add(new TaskActivity("0 cancelled Task with ID: " + t.getId() + " for new task creation", System.currentTimeMillis()));
-            });
-
-        // Create new task
-        TaskManagement newTask = new TaskManagement();
-        newTask.setId(newId);
-        newTask.setReferenceId(refId);
-        newTask.setReferenceType(refType);
-        newTask.setTask(task);
-        newTask.setAssigneeId(assigneeId);
-        newTask.setActivities(activities);
-        newTask.setStatus(status);
-        newTask.setPriority(priority);
-        newTask.setDescription("This is a seed task.");
-        newTask.setTaskDeadlineTime(System.currentTimeMillis() + 86400000); // 1 day from now
-        taskStore.put(newId, newTask);
-    }
+       this(Optional.empty());
+   }
+
+
+   @Autowired
+   public InMemoryTaskRepository(Optional<TaskWriteAheadLog> writeAheadLog) {
+       for (int i = 0; i < LOCK_STRIPES; i++) {
+           locks[i] = new ReentrantLock();
+       }
+       this.writeAheadLog = writeAheadLog.orElse(null);
+       if (this.writeAheadLog != null) {
+           this.writeAheadLog.recover(this::restore);
+           log.info("Recovered {} tasks from the write-ahead log", taskStore.size());
+       }
+       this.snapshotScheduler = startSnapshots();
+       if (taskStore.isEmpty()) {
+           // Seed data
+           TaskSeeder.seed(this);
+       }
+   }
 
 
    @Override
    public Optional<TaskManagement> findById(Long id) {
-       return Optional.ofNullable(taskStore.get(id));
+       return Optional.ofNullable(load(id));
    }
 
 
    @Override
    public TaskManagement save(TaskManagement task) {
+       saveAll(List.of(task));
+       return task;
+   }
+
+
+   // With the log enabled a batch holds the snapshot lock once and waits for durability once, after its
+   // last record, so a bulk save costs a single group commit instead of one per task.
+   @Override
+   public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+       if (writeAheadLog == null) {
+           for (TaskManagement task : tasks) {
+               long id = assignId(task);
+               // the stripe lock makes the version check, the swap and the index move one step for a given id
+               TaskManagement saved = withLock(id, () -> {
+                   TaskManagement existing = taskStore.get(id);
+                   return publish(id, existing, replace(id, existing, task));
+               });
+               task.setVersion(saved.getVersion());
+           }
+           return tasks;
+       }
+
+       long[] sequence = new long[1];
+       try {
+           snapshotLock.readLock().lock();
+           try {
+               for (TaskManagement task : tasks) {
+                   long id = assignId(task);
+                   // logged inside the stripe lock so the log order of a task matches the order its saves were applied
+                   TaskManagement saved = withLock(id, () -> {
+                       TaskManagement existing = taskStore.get(id);
+                       TaskManagement next = replace(id, existing, task);
+                       sequence[0] = writeAheadLog.append(next);
+                       return publish(id, existing, next);
+                   });
+                   task.setVersion(saved.getVersion());
+               }
+           } finally {
+               snapshotLock.readLock().unlock();
+           }
+       } finally {
+           // whatever was applied before a failure must still be durable when the caller sees the outcome
+           if (sequence[0] > 0) {
+               writeAheadLog.awaitDurable(sequence[0]);
+           }
+       }
+       return tasks;
+   }
+
+
+   @Override
+   public long nextId() {
+       return idCounter.incrementAndGet();
+   }
+
+
+   private long assignId(TaskManagement task) {
        if (task.getId() == null) {
            task.setId(idCounter.incrementAndGet());
        }
-       taskStore.put(task.getId(), task);
+       return task.getId();
+   }
+
+
+   // Compare-and-set of one entry: throws if the caller's copy is stale, otherwise builds the next snapshot.
+   private static TaskManagement replace(long id, TaskManagement existing, TaskManagement task) {
+       long currentVersion = existing == null ? 0 : existing.getVersion();
+       if (task.getVersion() != null && existing != null && task.getVersion() != currentVersion) {
+           throw new VersionConflictException(id, task.getVersion(), currentVersion);
+       }
+       return freeze(task, currentVersion + 1);
+   }
+
+
+   // Makes the snapshot readable before the indexes and listeners hear of it, so a listener reading the task
+   // back sees this save; called under the stripe lock, after the log append when there is one.
+   private TaskManagement publish(long id, TaskManagement existing, TaskManagement next) {
+       store(id, next);
+       saved(id, next.getVersion(), existing == null ? null : TaskIndexKeys.of(existing), TaskIndexKeys.of(next));
+       return next;
+   }
+
+
+   // Replays a recovered task state without logging it again.
+   private void restore(TaskManagement task) {
+       long id = task.getId();
+       idCounter.accumulateAndGet(id, Math::max);
+       withLock(id, () -> {
+           TaskManagement existing = taskStore.get(id);
+           TaskManagement next = freeze(task, task.getVersion() == null ? 1 : task.getVersion());
+           indexes.update(id, existing == null ? null : TaskIndexKeys.of(existing), TaskIndexKeys.of(next));
+           return store(id, next);
+       });
+   }
+
+
+   private <T> T withLock(long id, Supplier<T> action) {
+       ReentrantLock lock = locks[(int) (id & (LOCK_STRIPES - 1))];
+       lock.lock();
+       try {
+           return action.get();
+       } finally {
+           lock.unlock();
+       }
+   }
+
+
+   private TaskManagement store(long id, TaskManagement snapshot) {
+       taskStore.put(id, snapshot);
+       return snapshot;
+   }
+
+
+   private static TaskManagement freeze(TaskManagement task, long version) {
+       TaskManagement snapshot = copy(task);
+       snapshot.setVersion(version);
+       return snapshot;
+   }
+
+
+   // Mutable copy handed to callers, so changes never reach the snapshot.
+   private static TaskManagement thaw(TaskManagement snapshot) {
+       TaskManagement task = copy(snapshot);
+       task.setVersion(snapshot.getVersion());
        return task;
    }
 
 
-   @Override
-   public List<TaskManagement> findAll() {
-       return List.copyOf(taskStore.values());
+   private static TaskManagement copy(TaskManagement source) {
+       TaskManagement copy = new TaskManagement();
+       copy.setId(source.getId());
+       copy.setReferenceId(source.getReferenceId());
+       copy.setReferenceType(source.getReferenceType());
+       copy.setTask(source.getTask());
+       copy.setDescription(source.getDescription());
+       copy.setStatus(source.getStatus());
+       copy.setAssigneeId(source.getAssigneeId());
+       copy.setTaskDeadlineTime(source.getTaskDeadlineTime());
+       copy.setPriority(source.getPriority());
+       return copy;
+   }
+
+
+   // Writes a compacted snapshot so recovery only replays the log written after it.
+   public void snapshot() throws IOException {
+       if (writeAheadLog == null) {
+           return;
+       }
+       long sequence;
+       snapshotLock.writeLock().lock();
+       try {
+           // no save is in flight here, so every record up to this sequence is already in the map
+           sequence = writeAheadLog.lastSequence();
+           writeAheadLog.rollSegment();
+       } finally {
+           snapshotLock.writeLock().unlock();
+       }
+       long started = System.currentTimeMillis();
+       writeAheadLog.writeSnapshot(taskStore.values(), sequence);
+       log.info("Snapshot of {} tasks at sequence {} written in {} ms", taskStore.size(), sequence,
+               System.currentTimeMillis() - started);
+   }
+
+
+   private ScheduledExecutorService startSnapshots() {
+       if (writeAheadLog == null || writeAheadLog.getSnapshotIntervalMillis() <= 0) {
+           return null;
+       }
+       ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+           Thread thread = new Thread(runnable, "task-snapshot");
+           thread.setDaemon(true);
+           return thread;
+       });
+       long interval = writeAheadLog.getSnapshotIntervalMillis();
+       scheduler.scheduleWithFixedDelay(() -> {
+           try {
+               snapshot();
+           } catch (Exception e) {
+               log.error("Task snapshot failed", e);
+           }
+       }, interval, interval, TimeUnit.MILLISECONDS);
+       return scheduler;
    }
 
 
    @Override
-   public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
-       return taskStore.values().stream()
-               .filter(task -> task.getReferenceId().equals(referenceId) && task.getReferenceType().equals(referenceType))
-               .collect(Collectors.toList());
+   public void close() {
+       if (snapshotScheduler != null) {
+           snapshotScheduler.shutdownNow();
+       }
    }
 
 
    @Override
-   public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
-       return taskStore.values().stream()
-               .filter(task -> assigneeIds.contains(task.getAssigneeId()))
-               .collect(Collectors.toList());
+   public List<TaskManagement> findAll() {
+       List<TaskManagement> tasks = new ArrayList<>(taskStore.size());
+       for (TaskManagement snapshot : taskStore.values()) {
+           tasks.add(thaw(snapshot));
+       }
+       return tasks;
    }
 
+
    @Override
-    public List<TaskManagement> findByPriority(Priority priority) {
-        return taskStore.values().stream()
-            .filter(task -> task.getPriority() == priority)
-            .collect(Collectors.toList());
-    }
+   protected TaskManagement load(long id) {
+       TaskManagement snapshot = taskStore.get(id);
+       return snapshot == null ? null : thaw(snapshot);
+   }
 
 }
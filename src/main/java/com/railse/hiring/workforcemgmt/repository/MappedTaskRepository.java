@@ -0,0 +1,380 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.railse.hiring.workforcemgmt.common.exception.VersionConflictException;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import static com.railse.hiring.workforcemgmt.repository.ColumnEncoding.*;
+
+// File-backed task store. Each task is a fixed 64 byte record in tasks.dat, addressed by id and
+// accessed through memory-mapped regions, so the scalar fields live outside the Java heap. The
+// description lives in a slot of tasks.var that the record points at; activity and comment
+// history live in TaskHistoryStore. On startup the existing files are mapped and only the
+// fixed records are scanned to rebuild the indexes - nothing is replayed.
+//
+// A rewrite reuses the task's slot in place when the new details fit. Otherwise a slot at least twice
+// as large is appended and the old one is left behind, so a task's abandoned slots never add up to
+// more than its live one and tasks.var stays within a small factor of the live details.
+@Repository
+@ConditionalOnProperty(name = "workforcemgmt.repository.type", havingValue = "mapped")
+public class MappedTaskRepository extends AbstractIndexedTaskRepository implements Closeable {
+
+    private static final int MAGIC = 0x54534b32; // "TSK2", TSK1 files also carried the task history
+    private static final int RECORD_SIZE = 64;
+    private static final int HEADER_SIZE = RECORD_SIZE;
+    private static final long REGION_SIZE = (long) RECORD_SIZE << 20; // 1M records per mapping
+    private static final int LOCK_STRIPES = 64;
+    private static final int SLOT_ALIGNMENT = 32;
+
+    // record layout
+    private static final int PRESENT = 0;
+    private static final int REFERENCE_TYPE = 1;
+    private static final int TASK = 2;
+    private static final int STATUS = 3;
+    private static final int PRIORITY = 4;
+    private static final int REFERENCE_ID = 8;
+    private static final int ASSIGNEE_ID = 16;
+    private static final int DEADLINE = 24;
+    private static final int DETAILS_OFFSET = 32;
+    private static final int DETAILS_CAPACITY = 40;
+    private static final int VERSION = 48;
+
+    // header layout
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_MAX_ID = 8;
+
+    private final FileChannel recordChannel;
+    private final FileChannel detailsChannel;
+    private final AtomicLong detailsEnd;
+    private final AtomicLong idCounter = new AtomicLong(0);
+    private final StampedLock[] locks = new StampedLock[LOCK_STRIPES];
+    // held while a new region is mapped (file I/O), so not a monitor: that would pin a virtual thread's carrier
+    private final ReentrantLock growLock = new ReentrantLock();
+    private volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+
+    public MappedTaskRepository(@Value("${workforcemgmt.repository.mapped.directory:data}") Path directory) throws IOException {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new StampedLock();
+        }
+        Files.createDirectories(directory);
+        recordChannel = FileChannel.open(directory.resolve("tasks.dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        detailsChannel = FileChannel.open(directory.resolve("tasks.var"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        detailsEnd = new AtomicLong(detailsChannel.size());
+
+        boolean fresh = recordChannel.size() == 0;
+        ByteBuffer header = region(0);
+        if (fresh) {
+            header.putInt(HEADER_MAGIC, MAGIC);
+            header.putLong(HEADER_MAX_ID, 0);
+        } else if (header.getInt(HEADER_MAGIC) != MAGIC) {
+            throw new IllegalStateException("Not a task store: " + directory.resolve("tasks.dat"));
+        }
+        idCounter.set(header.getLong(HEADER_MAX_ID));
+        rebuildIndexes();
+        if (fresh) {
+            TaskSeeder.seed(this);
+        }
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(load(id));
+    }
+
+    @Override
+    public long nextId() {
+        return idCounter.incrementAndGet();
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        if (task.getId() == null) {
+            task.setId(idCounter.incrementAndGet());
+        } else if (task.getId() <= 0) {
+            throw new IllegalArgumentException("Task ids must be positive: " + task.getId());
+        } else {
+            idCounter.accumulateAndGet(task.getId(), Math::max);
+        }
+        long id = task.getId();
+        long offset = recordOffset(id);
+        ByteBuffer region = region(offset);
+        int position = (int) (offset % REGION_SIZE);
+        byte[] details = encodeDetails(task);
+
+        StampedLock lock = lockFor(id);
+        long stamp = lock.writeLock();
+        try {
+            boolean present = region.get(position + PRESENT) == 1;
+            long currentVersion = present ? region.getLong(position + VERSION) : 0;
+            if (task.getVersion() != null && present && task.getVersion() != currentVersion) {
+                throw new VersionConflictException(id, task.getVersion(), currentVersion);
+            }
+            TaskIndexKeys previous = present ? readKeys(region, position) : null;
+            // the details are written before the record so it never points at unwritten bytes
+            long detailsOffset = present ? region.getLong(position + DETAILS_OFFSET) : 0;
+            int capacity = present ? region.getInt(position + DETAILS_CAPACITY) : 0;
+            if (details.length <= capacity) {
+                writeDetails(details, detailsOffset);
+            } else {
+                capacity = Math.max(roundUp(details.length), 2 * capacity);
+                detailsOffset = appendSlot(details, capacity);
+            }
+            region.put(position + REFERENCE_TYPE, REFERENCE_TYPES.encode(task.getReferenceType()));
+            region.put(position + TASK, TASKS.encode(task.getTask()));
+            region.put(position + STATUS, STATUSES.encode(task.getStatus()));
+            region.put(position + PRIORITY, PRIORITIES.encode(task.getPriority()));
+            region.putLong(position + REFERENCE_ID, encodeLong(task.getReferenceId()));
+            region.putLong(position + ASSIGNEE_ID, encodeLong(task.getAssigneeId()));
+            region.putLong(position + DEADLINE, encodeLong(task.getTaskDeadlineTime()));
+            region.putLong(position + DETAILS_OFFSET, detailsOffset);
+            region.putInt(position + DETAILS_CAPACITY, capacity);
+            region.putLong(position + VERSION, currentVersion + 1);
+            region.put(position + PRESENT, (byte) 1);
+            saved(id, currentVersion + 1, previous, TaskIndexKeys.of(task));
+            task.setVersion(currentVersion + 1);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        updateMaxId(id);
+        return task;
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        long maxId = idCounter.get();
+        List<TaskManagement> tasks = new ArrayList<>();
+        for (long id = 1; id <= maxId; id++) {
+            TaskManagement task = load(id);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    protected TaskManagement load(long id) {
+        if (id <= 0 || id > idCounter.get()) {
+            return null;
+        }
+        long offset = recordOffset(id);
+        MappedByteBuffer[] current = regions;
+        int regionIndex = (int) (offset / REGION_SIZE);
+        if (regionIndex >= current.length) {
+            return null;
+        }
+        ByteBuffer region = current[regionIndex];
+        int position = (int) (offset % REGION_SIZE);
+
+        // details are rewritten in place, so the slot is read under the same stamp as the record;
+        // nothing read optimistically is decoded or sized from until the stamp has been validated
+        StampedLock lock = lockFor(id);
+        long stamp = lock.tryOptimisticRead();
+        Record record = readRecord(region, position, id);
+        byte[] details = null;
+        if (lock.validate(stamp) && record != null) {
+            details = readSlot(id, record.detailsOffset(), record.detailsCapacity());
+        }
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                record = readRecord(region, position, id);
+                details = record == null ? null : readSlot(id, record.detailsOffset(), record.detailsCapacity());
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (record == null) {
+            return null;
+        }
+        decodeDetails(record.task(), details);
+        return record.task();
+    }
+
+    // Flushes the mapped records and the details segment to disk.
+    public void flush() throws IOException {
+        for (MappedByteBuffer region : regions) {
+            region.force();
+        }
+        detailsChannel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        recordChannel.close();
+        detailsChannel.close();
+    }
+
+    private void rebuildIndexes() {
+        long maxId = idCounter.get();
+        for (long id = 1; id <= maxId; id++) {
+            long offset = recordOffset(id);
+            ByteBuffer region = region(offset);
+            int position = (int) (offset % REGION_SIZE);
+            if (region.get(position + PRESENT) == 1) {
+                indexes.update(id, null, readKeys(region, position));
+            }
+        }
+    }
+
+    private record Record(TaskManagement task, long detailsOffset, int detailsCapacity) {
+    }
+
+    private static Record readRecord(ByteBuffer region, int position, long id) {
+        if (region.get(position + PRESENT) != 1) {
+            return null;
+        }
+        TaskManagement task = new TaskManagement();
+        task.setId(id);
+        task.setReferenceType(REFERENCE_TYPES.decode(region.get(position + REFERENCE_TYPE)));
+        task.setTask(TASKS.decode(region.get(position + TASK)));
+        task.setStatus(STATUSES.decode(region.get(position + STATUS)));
+        task.setPriority(PRIORITIES.decode(region.get(position + PRIORITY)));
+        task.setReferenceId(decodeLong(region.getLong(position + REFERENCE_ID)));
+        task.setAssigneeId(decodeLong(region.getLong(position + ASSIGNEE_ID)));
+        task.setTaskDeadlineTime(decodeLong(region.getLong(position + DEADLINE)));
+        task.setVersion(region.getLong(position + VERSION));
+        return new Record(task, region.getLong(position + DETAILS_OFFSET), region.getInt(position + DETAILS_CAPACITY));
+    }
+
+    private static TaskIndexKeys readKeys(ByteBuffer region, int position) {
+        return new TaskIndexKeys(
+                new ReferenceKey(decodeLong(region.getLong(position + REFERENCE_ID)),
+                        REFERENCE_TYPES.decode(region.get(position + REFERENCE_TYPE))),
+                decodeLong(region.getLong(position + ASSIGNEE_ID)),
+                PRIORITIES.decode(region.get(position + PRIORITY)),
+                STATUSES.decode(region.get(position + STATUS)),
+                decodeLong(region.getLong(position + DEADLINE)));
+    }
+
+    private static byte[] encodeDetails(TaskManagement task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            TaskRecordCodec.writeDetails(out, task);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int roundUp(int length) {
+        return (length + SLOT_ALIGNMENT - 1) / SLOT_ALIGNMENT * SLOT_ALIGNMENT;
+    }
+
+    // Appends a zero-padded slot, so the whole slot can be read back even at the end of the file.
+    private long appendSlot(byte[] details, int capacity) {
+        long offset = detailsEnd.getAndAdd(capacity);
+        writeDetails(Arrays.copyOf(details, capacity), offset);
+        return offset;
+    }
+
+    private void writeDetails(byte[] details, long offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(details);
+        try {
+            while (buffer.hasRemaining()) {
+                detailsChannel.write(buffer, offset + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write task details", e);
+        }
+    }
+
+    // The slot may be longer than the details in it; the encoding is length-prefixed, so the rest is ignored.
+    private byte[] readSlot(long id, long offset, int capacity) {
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        try {
+            while (buffer.hasRemaining()) {
+                if (detailsChannel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Task details truncated for task " + id);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.array();
+    }
+
+    private static void decodeDetails(TaskManagement task, byte[] details) {
+        try {
+            TaskRecordCodec.readDetails(new DataInputStream(new ByteArrayInputStream(details)), task);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void updateMaxId(long id) {
+        ByteBuffer header = regions[0];
+        growLock.lock();
+        try {
+            if (header.getLong(HEADER_MAX_ID) < id) {
+                header.putLong(HEADER_MAX_ID, id);
+            }
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    private static long recordOffset(long id) {
+        return HEADER_SIZE + (id - 1) * RECORD_SIZE;
+    }
+
+    // Returns the mapped region holding the given file offset, mapping new regions as the file grows.
+    private ByteBuffer region(long offset) {
+        int regionIndex = (int) (offset / REGION_SIZE);
+        MappedByteBuffer[] current = regions;
+        if (regionIndex < current.length) {
+            return current[regionIndex];
+        }
+        growLock.lock();
+        try {
+            current = regions;
+            if (regionIndex >= current.length) {
+                MappedByteBuffer[] grown = Arrays.copyOf(current, regionIndex + 1);
+                try {
+                    for (int i = current.length; i < grown.length; i++) {
+                        grown[i] = recordChannel.map(FileChannel.MapMode.READ_WRITE, i * REGION_SIZE, REGION_SIZE);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not map task store region " + regionIndex, e);
+                }
+                regions = grown;
+                current = grown;
+            }
+            return current[regionIndex];
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    private StampedLock lockFor(long id) {
+        return locks[(int) (id & (LOCK_STRIPES - 1))];
+    }
+}
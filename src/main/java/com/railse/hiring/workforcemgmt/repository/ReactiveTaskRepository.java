@@ -0,0 +1,26 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+
+// Reactive counterpart of TaskRepository for the "reactive" profile, with the same semantics per method.
+// The streams are lazy: a task is loaded when it is requested downstream, and cancelling stops the index scan.
+public interface ReactiveTaskRepository {
+   // empty when there is no task with this id
+   Mono<TaskManagement> findById(Long id);
+   Mono<TaskManagement> save(TaskManagement task);
+   Mono<TaskManagement> update(Long id, Consumer<TaskManagement> mutation);
+   Flux<TaskManagement> streamByAssigneeIdInAndDeadlineBetween(List<Long> assigneeIds, Long start, Long end, boolean activeOnly);
+   Flux<TaskManagement> streamByPriority(Priority priority);
+   Mono<Map<TaskStatus, Map<Priority, Long>>> countByAssigneeId(Long assigneeId);
+}
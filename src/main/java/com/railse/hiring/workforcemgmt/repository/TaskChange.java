@@ -0,0 +1,14 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.Objects;
+
+// One successful save as seen by a TaskChangeListener: the indexed fields before (null for a new task) and after.
+public record TaskChange(long taskId, long version, TaskIndexKeys previous, TaskIndexKeys current) {
+
+    // whether the save moved the deadline or took the task into or out of ASSIGNED/STARTED
+    public boolean deadlineOrActivityChanged() {
+        return previous == null
+                || !Objects.equals(previous.deadline(), current.deadline())
+                || previous.active() != current.active();
+    }
+}
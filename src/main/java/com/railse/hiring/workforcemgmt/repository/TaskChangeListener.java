@@ -0,0 +1,6 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+@FunctionalInterface
+public interface TaskChangeListener {
+    void onChange(TaskChange change);
+}
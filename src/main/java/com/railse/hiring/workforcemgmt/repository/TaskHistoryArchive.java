@@ -0,0 +1,316 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Cold tier of the task history: chunks evicted from the heap are appended to history.dat and read back by
+// offset, so retention never drops history.
+//
+// When the task store itself survives restarts (the write-ahead log is enabled, or the store is mapped) the
+// archive is durable too: every history entry is also appended to history.log, and on startup the history
+// store is rebuilt from the chunks in history.dat and the journaled entries after them. The journal is
+// compacted to the entries still on the heap once it has doubled. Files are forced at compaction and on
+// close, so a crash of the process loses nothing but a power failure can lose the newest entries.
+// Otherwise the tasks start over on every run and so does their history: the chunks go to a scratch file
+// that is deleted on close, and nothing is journaled.
+//
+// Both files are [magic] followed by [length][header][payload][crc32] frames, the crc covering header and
+// payload. A chunk header is (task id, kind, first position, count, min timestamp, max timestamp), a journal
+// header (task id, kind, position). Reading stops at the first torn or corrupt frame, which is cut off.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "workforcemgmt.history.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskHistoryArchive implements Closeable {
+
+    private static final int CHUNKS_MAGIC = 0x48535443; // "HSTC"
+    private static final int JOURNAL_MAGIC = 0x4853544a; // "HSTJ"
+    private static final int CHUNK_HEADER = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+    private static final int JOURNAL_HEADER = Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int FRAME_OVERHEAD = 2 * Integer.BYTES;
+    // a chunk of a few thousand large comments; anything longer is a corrupt length
+    private static final int MAX_FRAME = 64 << 20;
+    private static final long MIN_COMPACTION_BYTES = 64L << 20;
+
+    record Chunk(long taskId, HistoryKind<?> kind, long firstPosition, int count, long minTimestamp,
+                 long maxTimestamp, long offset, int length) {
+    }
+
+    @FunctionalInterface
+    interface JournalConsumer {
+        void accept(long taskId, HistoryKind<?> kind, long position, byte[] entry);
+    }
+
+    private final Path directory;
+    private final boolean durable;
+    private final FileChannel chunks;
+    private final AtomicLong chunksEnd = new AtomicLong(Integer.BYTES);
+    // appends hold the read lock, compaction swaps the journal under the write lock
+    private final ReentrantReadWriteLock journalLock = new ReentrantReadWriteLock();
+    private FileChannel journal;
+    private final AtomicLong journalEnd = new AtomicLong(Integer.BYTES);
+    private long compactedSize;
+
+    public TaskHistoryArchive(@Value("${workforcemgmt.history.archive.directory:data/history}") Path directory,
+                              @Value("#{${workforcemgmt.wal.enabled:false} or '${workforcemgmt.repository.type:in-memory}' == 'mapped'}")
+                              boolean durable) throws IOException {
+        this.directory = directory;
+        this.durable = durable;
+        Files.createDirectories(directory);
+        if (durable) {
+            chunks = openFile(directory.resolve("history.dat"), CHUNKS_MAGIC, chunksEnd);
+            journal = openFile(directory.resolve("history.log"), JOURNAL_MAGIC, journalEnd);
+        } else {
+            chunks = FileChannel.open(Files.createTempFile(directory, "history-", ".dat"), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            writeFully(chunks, magic(CHUNKS_MAGIC), 0);
+        }
+    }
+
+    // Replays the archived chunks, then the journaled entries, each in file order.
+    void recover(Consumer<Chunk> chunkConsumer, JournalConsumer entryConsumer) throws IOException {
+        if (!durable) {
+            return;
+        }
+        long chunksRead = scan(directory.resolve("history.dat"), chunks, chunksEnd, CHUNK_HEADER, (frame, offset) -> {
+            ByteBuffer header = ByteBuffer.wrap(frame);
+            chunkConsumer.accept(new Chunk(header.getLong(), HistoryKind.of(header.getInt()), header.getLong(),
+                    header.getInt(), header.getLong(), header.getLong(), offset + Integer.BYTES + CHUNK_HEADER,
+                    frame.length - CHUNK_HEADER));
+        });
+        long entriesRead = scan(directory.resolve("history.log"), journal, journalEnd, JOURNAL_HEADER, (frame, offset) -> {
+            ByteBuffer header = ByteBuffer.wrap(frame);
+            long taskId = header.getLong();
+            HistoryKind<?> kind = HistoryKind.of(header.getInt());
+            long position = header.getLong();
+            byte[] entry = new byte[frame.length - JOURNAL_HEADER];
+            header.get(entry);
+            entryConsumer.accept(taskId, kind, position, entry);
+        });
+        compactedSize = journalEnd.get();
+        log.info("Recovered {} archived history chunks and {} journaled history entries", chunksRead, entriesRead);
+    }
+
+    // Runs an append to the history with the journal held open; a no-op wrapper when nothing is journaled.
+    void appending(Runnable append) {
+        if (!durable) {
+            append.run();
+            return;
+        }
+        journalLock.readLock().lock();
+        try {
+            append.run();
+        } finally {
+            journalLock.readLock().unlock();
+        }
+    }
+
+    <T> void journal(long taskId, HistoryKind<T> kind, long position, T entry) {
+        if (!durable) {
+            return;
+        }
+        byte[] payload = kind.encode(List.of(entry));
+        ByteBuffer frame = frame(JOURNAL_HEADER, payload);
+        frame.position(Integer.BYTES);
+        frame.putLong(taskId).putInt(kind.code()).putLong(position);
+        seal(frame);
+        append(journal, journalEnd, frame, "Could not journal task history");
+    }
+
+    // Appends an evicted chunk and returns the offset of its payload.
+    <T> long write(long taskId, HistoryKind<T> kind, long firstPosition, int count, long minTimestamp,
+                   long maxTimestamp, byte[] chunk) {
+        ByteBuffer frame = frame(CHUNK_HEADER, chunk);
+        frame.position(Integer.BYTES);
+        frame.putLong(taskId).putInt(kind.code()).putLong(firstPosition).putInt(count).putLong(minTimestamp)
+                .putLong(maxTimestamp);
+        seal(frame);
+        return append(chunks, chunksEnd, frame, "Could not archive task history") + Integer.BYTES + CHUNK_HEADER;
+    }
+
+    byte[] read(long offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (chunks.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Archived history truncated at offset " + offset);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.array();
+    }
+
+    boolean journalNeedsCompaction() {
+        return durable && journalEnd.get() > Math.max(MIN_COMPACTION_BYTES, 2 * compactedSize);
+    }
+
+    // Replaces the journal with the entries contents() journals. The archived chunks are forced first, since
+    // the new journal no longer holds the entries they cover.
+    void compactJournal(Runnable contents) throws IOException {
+        journalLock.writeLock().lock();
+        try {
+            chunks.force(false);
+            Path file = directory.resolve("history.log");
+            Path compacted = directory.resolve("history.log.compacting");
+            FileChannel previous = journal;
+            long previousEnd = journalEnd.get();
+            journal = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            journalEnd.set(Integer.BYTES);
+            try {
+                writeFully(journal, magic(JOURNAL_MAGIC), 0);
+                contents.run();
+                journal.force(false);
+            } catch (IOException | RuntimeException e) {
+                journal.close();
+                journal = previous;
+                journalEnd.set(previousEnd);
+                throw e;
+            }
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            previous.close();
+            compactedSize = journalEnd.get();
+            log.info("Compacted the task history journal from {} to {} bytes", previousEnd, compactedSize);
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        journalLock.writeLock().lock();
+        try {
+            if (durable) {
+                chunks.force(false);
+                journal.force(false);
+                journal.close();
+            }
+            chunks.close();
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface FrameConsumer {
+        void accept(byte[] frame, long offset);
+    }
+
+    private static FileChannel openFile(Path file, int magic, AtomicLong end) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            writeFully(channel, magic(magic), 0);
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(header, 0);
+            if (header.position() < Integer.BYTES || header.getInt(0) != magic) {
+                channel.close();
+                throw new IOException("Not a task history file: " + file);
+            }
+        }
+        end.set(Integer.BYTES);
+        return channel;
+    }
+
+    // Reads the frames after the magic, hands each header and payload to the consumer with the frame's offset,
+    // and cuts off a torn or corrupt tail. Returns the number of frames read.
+    private static long scan(Path file, FileChannel channel, AtomicLong end, int headerSize,
+                             FrameConsumer consumer) throws IOException {
+        long size = channel.size();
+        long validEnd = Integer.BYTES;
+        long frames = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            in.skipNBytes(Integer.BYTES);
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length < headerSize || length > MAX_FRAME || length > size - validEnd - FRAME_OVERHEAD) {
+                    break;
+                }
+                byte[] frame = new byte[length];
+                int checksum;
+                try {
+                    in.readFully(frame);
+                    checksum = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(frame);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                consumer.accept(frame, validEnd);
+                validEnd += length + FRAME_OVERHEAD;
+                frames++;
+            }
+        }
+        if (validEnd < size) {
+            log.warn("Truncating torn task history tail in {} at byte {}", file, validEnd);
+            channel.truncate(validEnd);
+        }
+        end.set(validEnd);
+        return frames;
+    }
+
+    private static ByteBuffer frame(int headerSize, byte[] payload) {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_OVERHEAD + headerSize + payload.length);
+        frame.putInt(0, headerSize + payload.length);
+        frame.put(Integer.BYTES + headerSize, payload);
+        return frame;
+    }
+
+    private static void seal(ByteBuffer frame) {
+        CRC32 crc = new CRC32();
+        crc.update(frame.array(), Integer.BYTES, frame.capacity() - FRAME_OVERHEAD);
+        frame.putInt(frame.capacity() - Integer.BYTES, (int) crc.getValue());
+        frame.clear();
+    }
+
+    private static long append(FileChannel channel, AtomicLong end, ByteBuffer frame, String failure) {
+        long offset = end.getAndAdd(frame.remaining());
+        try {
+            writeFully(channel, frame, offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException(failure, e);
+        }
+        return offset;
+    }
+
+    private static ByteBuffer magic(int magic) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(0, magic);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+    }
+}
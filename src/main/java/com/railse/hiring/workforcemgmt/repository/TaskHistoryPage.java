@@ -0,0 +1,8 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.List;
+
+// One page of a task's activity or comment history, oldest first. Positions number a task's entries
+// from 0 in append order; lastPosition is where the next page resumes, null when the page is empty.
+public record TaskHistoryPage<T>(List<T> entries, Long lastPosition, boolean hasMore) {
+}
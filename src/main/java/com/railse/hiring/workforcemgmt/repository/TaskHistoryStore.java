@@ -0,0 +1,201 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
+
+
+// Activity and comment history, kept apart from the task records so that saving or reading a task never
+// copies its history. Each task gets an append-only log per kind, stored in chunks of chunkSize entries;
+// at most maxHotEntries per log stay on the heap (and none older than maxHotAgeMillis, when set), older
+// chunks move to the archive if one is configured and are dropped otherwise. A durable archive is replayed
+// here on startup.
+@Component
+public class TaskHistoryStore {
+
+
+    private final Map<Long, HistoryLog<TaskActivity>> activities = new ConcurrentHashMap<>();
+    private final Map<Long, HistoryLog<TaskComment>> comments = new ConcurrentHashMap<>();
+    private final HistoryLog.RetentionPolicy policy;
+
+
+    public TaskHistoryStore() {
+        this(64, 1_000, 0, Optional.empty());
+    }
+
+
+    @Autowired
+    public TaskHistoryStore(@Value("${workforcemgmt.history.chunk-size:64}") int chunkSize,
+                            @Value("${workforcemgmt.history.retention.max-hot-entries:1000}") long maxHotEntries,
+                            @Value("${workforcemgmt.history.retention.max-hot-age-ms:0}") long maxHotAgeMillis,
+                            Optional<TaskHistoryArchive> archive) {
+        if (chunkSize < 1 || maxHotEntries < chunkSize) {
+            throw new IllegalArgumentException("History chunk size must be positive and at most max-hot-entries");
+        }
+        this.policy = new HistoryLog.RetentionPolicy(chunkSize, maxHotEntries, maxHotAgeMillis, archive.orElse(null));
+        if (archive.isPresent()) {
+            try {
+                archive.get().recover(chunk -> restoreChunk(chunk.kind(), chunk), this::restoreEntry);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not recover the task history", e);
+            }
+        }
+    }
+
+
+    public void addActivity(Long taskId, TaskActivity activity) {
+        append(activities, taskId, HistoryKind.ACTIVITY, activity);
+    }
+
+
+    public void addComment(Long taskId, TaskComment comment) {
+        append(comments, taskId, HistoryKind.COMMENT, comment);
+    }
+
+
+    private <T> void append(Map<Long, HistoryLog<T>> logs, Long taskId, HistoryKind<T> kind, T entry) {
+        HistoryLog<T> log = logs.computeIfAbsent(taskId, id -> new HistoryLog<>(id, kind));
+        if (policy.archive() == null) {
+            log.append(entry, policy);
+        } else {
+            policy.archive().appending(() -> log.append(entry, policy));
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private <T> Map<Long, HistoryLog<T>> logs(HistoryKind<T> kind) {
+        return (Map<Long, HistoryLog<T>>) (Map<Long, ?>) (kind == HistoryKind.ACTIVITY ? activities : comments);
+    }
+
+
+    private <T> void restoreChunk(HistoryKind<T> kind, TaskHistoryArchive.Chunk chunk) {
+        logs(kind).computeIfAbsent(chunk.taskId(), id -> new HistoryLog<>(id, kind)).restore(chunk);
+    }
+
+
+    private <T> void restoreEntry(long taskId, HistoryKind<T> kind, long position, byte[] entry) {
+        logs(kind).computeIfAbsent(taskId, id -> new HistoryLog<>(id, kind))
+                .restore(position, kind.decode(entry).get(0), policy);
+    }
+
+
+    public List<TaskActivity> recentActivities(Long taskId, int limit) {
+        HistoryLog<TaskActivity> log = activities.get(taskId);
+        return log == null ? List.of() : log.recent(limit);
+    }
+
+
+    public List<TaskComment> recentComments(Long taskId, int limit) {
+        HistoryLog<TaskComment> log = comments.get(taskId);
+        return log == null ? List.of() : log.recent(limit);
+    }
+
+
+    // from and to bound the entry timestamps (inclusive, null for open); afterPosition is the lastPosition of
+    // the previous page, null for the first one.
+    public TaskHistoryPage<TaskActivity> activities(Long taskId, Long from, Long to, Long afterPosition, int limit) {
+        return activities(taskId, from, to, null, afterPosition, limit);
+    }
+
+
+    // actions narrows the page to those action types, null or empty for all
+    public TaskHistoryPage<TaskActivity> activities(Long taskId, Long from, Long to, Set<ActivityAction> actions,
+                                                    Long afterPosition, int limit) {
+        if (actions == null || actions.isEmpty()) {
+            return page(activities.get(taskId), from, to, activity -> true, afterPosition, limit);
+        }
+        return page(activities.get(taskId), from, to, activity -> actions.contains(activity.getAction()), afterPosition, limit);
+    }
+
+
+    public TaskHistoryPage<TaskComment> comments(Long taskId, Long from, Long to, Long afterPosition, int limit) {
+        return page(comments.get(taskId), from, to, comment -> true, afterPosition, limit);
+    }
+
+
+    // Entries ever added to the task's history, of either kind; grows with every addActivity and addComment.
+    public long entriesAdded(Long taskId) {
+        HistoryLog<TaskActivity> activityLog = activities.get(taskId);
+        HistoryLog<TaskComment> commentLog = comments.get(taskId);
+        return (activityLog == null ? 0 : activityLog.size()) + (commentLog == null ? 0 : commentLog.size());
+    }
+
+
+    public long hotEntries() {
+        return hotEntries(activities) + hotEntries(comments);
+    }
+
+    // History sizes for monitoring. The hot entry counts walk every task's log; the log counts are the number
+    // of tasks that have history of that kind.
+    public long hotActivities() {
+        return hotEntries(activities);
+    }
+
+    public long hotComments() {
+        return hotEntries(comments);
+    }
+
+    public long activityLogs() {
+        return activities.size();
+    }
+
+    public long commentLogs() {
+        return comments.size();
+    }
+
+    private static long hotEntries(Map<Long, ? extends HistoryLog<?>> logs) {
+        long total = 0;
+        for (HistoryLog<?> log : logs.values()) {
+            total += log.hotEntries();
+        }
+        return total;
+    }
+
+
+    // Age-based retention also has to reach tasks that stopped receiving entries; appends only check their own log.
+    // The same sweep compacts the journal of a durable archive.
+    @Scheduled(fixedDelayString = "${workforcemgmt.history.retention.sweep-interval-ms:60000}")
+    public void applyRetention() throws IOException {
+        if (policy.maxHotAgeMillis() > 0) {
+            long now = System.currentTimeMillis();
+            activities.values().forEach(log -> log.retain(policy, now));
+            comments.values().forEach(log -> log.retain(policy, now));
+        }
+        if (policy.archive() != null && policy.archive().journalNeedsCompaction()) {
+            compactJournal();
+        }
+    }
+
+
+    void compactJournal() throws IOException {
+        TaskHistoryArchive archive = policy.archive();
+        archive.compactJournal(() -> {
+            activities.values().forEach(log -> log.journalHotEntries(archive));
+            comments.values().forEach(log -> log.journalHotEntries(archive));
+        });
+    }
+
+
+    private <T> TaskHistoryPage<T> page(HistoryLog<T> log, Long from, Long to, Predicate<T> filter, Long afterPosition, int limit) {
+        if (log == null) {
+            return new TaskHistoryPage<>(List.of(), null, false);
+        }
+        return log.page(from == null ? Long.MIN_VALUE : from, to == null ? Long.MAX_VALUE : to, filter,
+                afterPosition == null ? -1 : afterPosition, limit, policy.archive());
+    }
+}
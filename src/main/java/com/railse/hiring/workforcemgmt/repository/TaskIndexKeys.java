@@ -0,0 +1,21 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+// The fields of a task that the secondary indexes are keyed on, captured at save time.
+// Tasks are mutated in place by the service, so the previous keys have to be remembered
+// separately to know which index entries to move. Also what change listeners see of a task.
+public record TaskIndexKeys(ReferenceKey reference, Long assigneeId, Priority priority, TaskStatus status, Long deadline) {
+
+    static TaskIndexKeys of(TaskManagement task) {
+        return new TaskIndexKeys(ReferenceKey.of(task), task.getAssigneeId(), task.getPriority(), task.getStatus(),
+                task.getTaskDeadlineTime());
+    }
+
+    public boolean active() {
+        return status == TaskStatus.ASSIGNED || status == TaskStatus.STARTED;
+    }
+}
@@ -0,0 +1,189 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+// Secondary indexes from a field value to the ids of the tasks holding it.
+// Buckets are skip-list sets so lookups come back in id order and can be read while being written.
+// Each assignee also gets two deadline-ordered indexes (all tasks, and only ASSIGNED/STARTED ones)
+// so date-window queries are range scans instead of a pass over the assignee's whole history, and
+// workload counters per (assignee, status, priority) plus the assignees ordered by open-task weight.
+// Callers must serialise update() calls for the same task id (the repositories do it inside the
+// per-id lock of their primary store); updates for different ids can run concurrently.
+class TaskIndexes {
+
+    private final Map<ReferenceKey, NavigableSet<Long>> byReference = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<Long>> byAssignee = new ConcurrentHashMap<>();
+    private final Map<Priority, NavigableSet<Long>> byPriority = new ConcurrentHashMap<>();
+    private final Map<TaskStatus, NavigableSet<Long>> byStatus = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<DeadlineEntry>> deadlinesByAssignee = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableSet<DeadlineEntry>> activeDeadlinesByAssignee = new ConcurrentHashMap<>();
+    private final WorkloadCounters workload = new WorkloadCounters();
+    private final AssigneeLoadIndex load = new AssigneeLoadIndex();
+    // sizes for monitoring, kept as counts because a skip list's size() walks the whole list
+    private final LongAdder tasks = new LongAdder();
+    private final LongAdder deadlineEntries = new LongAdder();
+    private final LongAdder activeDeadlineEntries = new LongAdder();
+
+    void update(long id, TaskIndexKeys previous, TaskIndexKeys current) {
+        if (previous == null) {
+            tasks.increment();
+        }
+        move(byReference, id, previous == null ? null : previous.reference(), current.reference());
+        move(byAssignee, id, previous == null ? null : previous.assigneeId(), current.assigneeId());
+        move(byPriority, id, previous == null ? null : previous.priority(), current.priority());
+        move(byStatus, id, previous == null ? null : previous.status(), current.status());
+        moveDeadline(deadlinesByAssignee, deadlineEntries, id, previous, current, false);
+        moveDeadline(activeDeadlinesByAssignee, activeDeadlineEntries, id, previous, current, true);
+        workload.update(previous, current);
+        load.update(previous, current);
+    }
+
+    // Every (task id, deadline) in the active deadline indexes, assignee by assignee.
+    void forEachActiveDeadline(TaskRepository.DeadlineConsumer consumer) {
+        for (NavigableSet<DeadlineEntry> entries : activeDeadlinesByAssignee.values()) {
+            for (DeadlineEntry entry : entries) {
+                consumer.accept(entry.id(), entry.deadline());
+            }
+        }
+    }
+
+    long taskCount() {
+        return tasks.sum();
+    }
+
+    // distinct keys of the field indexes and entries of the deadline indexes
+    Map<String, Long> sizes() {
+        return Map.of("reference", (long) byReference.size(),
+                "assignee", (long) byAssignee.size(),
+                "deadline", deadlineEntries.sum(),
+                "active-deadline", activeDeadlineEntries.sum());
+    }
+
+    Optional<Long> leastLoadedAssignee(Collection<Long> candidates) {
+        return load.leastLoaded(candidates);
+    }
+
+    Map<TaskStatus, Map<Priority, Long>> workload(Long assigneeId) {
+        return workload.counts(assigneeId);
+    }
+
+    Set<Long> idsByReference(ReferenceKey reference) {
+        return lookup(byReference, reference);
+    }
+
+    Set<Long> idsByAssignee(Long assigneeId) {
+        return lookup(byAssignee, assigneeId);
+    }
+
+    Set<Long> idsByPriority(Priority priority) {
+        return lookup(byPriority, priority);
+    }
+
+    // Ids with the priority, in id order, strictly after afterId when it is given.
+    NavigableSet<Long> idsByPriority(Priority priority, Long afterId) {
+        NavigableSet<Long> ids = priority == null ? null : byPriority.get(priority);
+        if (ids == null) {
+            return Collections.emptyNavigableSet();
+        }
+        return afterId == null ? ids : ids.tailSet(afterId, false);
+    }
+
+    Set<Long> idsByStatus(TaskStatus status) {
+        return lookup(byStatus, status);
+    }
+
+    // Ids of the assignee's tasks with start <= deadline <= end, in deadline order.
+    NavigableSet<DeadlineEntry> deadlineRange(Long assigneeId, long start, long end, boolean activeOnly) {
+        NavigableSet<DeadlineEntry> entries = (activeOnly ? activeDeadlinesByAssignee : deadlinesByAssignee).get(assigneeId);
+        if (entries == null || start > end) {
+            return Collections.emptyNavigableSet();
+        }
+        return entries.subSet(DeadlineEntry.lowest(start), true, DeadlineEntry.highest(end), true);
+    }
+
+    // As above, but only the entries strictly after the given position, for resuming an ordered scan.
+    NavigableSet<DeadlineEntry> deadlineRange(Long assigneeId, long start, long end, boolean activeOnly, DeadlineEntry after) {
+        if (after == null || after.compareTo(DeadlineEntry.lowest(start)) < 0) {
+            return deadlineRange(assigneeId, start, end, activeOnly);
+        }
+        NavigableSet<DeadlineEntry> entries = (activeOnly ? activeDeadlinesByAssignee : deadlinesByAssignee).get(assigneeId);
+        if (entries == null || after.compareTo(DeadlineEntry.highest(end)) >= 0) {
+            return Collections.emptyNavigableSet();
+        }
+        return entries.subSet(after, false, DeadlineEntry.highest(end), true);
+    }
+
+    private static <K> Set<Long> lookup(Map<K, NavigableSet<Long>> index, K key) {
+        if (key == null) {
+            return Collections.emptySet();
+        }
+        return index.getOrDefault(key, Collections.emptyNavigableSet());
+    }
+
+    private static <K> void move(Map<K, NavigableSet<Long>> index, long id, K from, K to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        if (from != null) {
+            index.computeIfPresent(from, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (to != null) {
+            // add inside compute so a concurrent removal cannot drop the bucket we are adding to
+            index.compute(to, (key, ids) -> {
+                NavigableSet<Long> bucket = ids == null ? new ConcurrentSkipListSet<>() : ids;
+                bucket.add(id);
+                return bucket;
+            });
+        }
+    }
+
+    private static void moveDeadline(Map<Long, NavigableSet<DeadlineEntry>> index, LongAdder size, long id,
+                                     TaskIndexKeys previous, TaskIndexKeys current, boolean activeOnly) {
+        Long fromAssignee = deadlineAssignee(previous, activeOnly);
+        Long toAssignee = deadlineAssignee(current, activeOnly);
+        DeadlineEntry from = fromAssignee == null ? null : new DeadlineEntry(previous.deadline(), id);
+        DeadlineEntry to = toAssignee == null ? null : new DeadlineEntry(current.deadline(), id);
+        if (Objects.equals(fromAssignee, toAssignee) && Objects.equals(from, to)) {
+            return;
+        }
+        if (from != null) {
+            index.computeIfPresent(fromAssignee, (key, entries) -> {
+                entries.remove(from);
+                return entries.isEmpty() ? null : entries;
+            });
+            size.decrement();
+        }
+        if (to != null) {
+            index.compute(toAssignee, (key, entries) -> {
+                NavigableSet<DeadlineEntry> bucket = entries == null ? new ConcurrentSkipListSet<>() : entries;
+                bucket.add(to);
+                return bucket;
+            });
+            size.increment();
+        }
+    }
+
+    // Tasks without an assignee or a deadline have no place in a deadline index.
+    private static Long deadlineAssignee(TaskIndexKeys keys, boolean activeOnly) {
+        if (keys == null || keys.assigneeId() == null || keys.deadline() == null || (activeOnly && !keys.active())) {
+            return null;
+        }
+        return keys.assigneeId();
+    }
+}
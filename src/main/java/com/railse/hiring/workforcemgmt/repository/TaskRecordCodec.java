@@ -0,0 +1,87 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import static com.railse.hiring.workforcemgmt.repository.ColumnEncoding.*;
+
+// Binary encoding of tasks for the file-backed stores: writeDetails covers the variable-length parts
+// (the description), writeTask a whole task. Strings are length-prefixed UTF-8
+// so they are not capped at 64KB like writeUTF.
+final class TaskRecordCodec {
+
+    private static final int NULL_LENGTH = -1;
+
+    private TaskRecordCodec() {
+    }
+
+    static void writeTask(DataOutput out, TaskManagement task) throws IOException {
+        out.writeLong(task.getId());
+        out.writeLong(encodeLong(task.getVersion()));
+        out.writeLong(encodeLong(task.getReferenceId()));
+        out.writeLong(encodeLong(task.getAssigneeId()));
+        out.writeLong(encodeLong(task.getTaskDeadlineTime()));
+        out.writeByte(REFERENCE_TYPES.encode(task.getReferenceType()));
+        out.writeByte(TASKS.encode(task.getTask()));
+        out.writeByte(STATUSES.encode(task.getStatus()));
+        out.writeByte(PRIORITIES.encode(task.getPriority()));
+        writeDetails(out, task);
+    }
+
+    static TaskManagement readTask(DataInput in) throws IOException {
+        TaskManagement task = new TaskManagement();
+        task.setId(in.readLong());
+        task.setVersion(decodeLong(in.readLong()));
+        task.setReferenceId(decodeLong(in.readLong()));
+        task.setAssigneeId(decodeLong(in.readLong()));
+        task.setTaskDeadlineTime(decodeLong(in.readLong()));
+        task.setReferenceType(REFERENCE_TYPES.decode(in.readByte()));
+        task.setTask(TASKS.decode(in.readByte()));
+        task.setStatus(STATUSES.decode(in.readByte()));
+        task.setPriority(PRIORITIES.decode(in.readByte()));
+        readDetails(in, task);
+        return task;
+    }
+
+    static void writeDetails(DataOutput out, TaskManagement task) throws IOException {
+        writeString(out, task.getDescription());
+    }
+
+    static void readDetails(DataInput in, TaskManagement task) throws IOException {
+        task.setDescription(readString(in));
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeNullableLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    static Long readNullableLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+}
@@ -1,20 +1,99 @@
 package com.railse.hiring.workforcemgmt.repository;
 
 
+import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.common.exception.VersionConflictException;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
-// import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
 
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
+// Every task returned by a repository is the caller's own copy: changing it has no effect until it is saved.
+// save() is conditional when the task carries a version - it fails with VersionConflictException if the
+// stored task has moved on - and stamps the task with its new version.
 public interface TaskRepository {
    Optional<TaskManagement> findById(Long id);
    TaskManagement save(TaskManagement task);
+   // an id no other task will be given, for callers that need a new task's id before it is saved
+   long nextId();
    List<TaskManagement> findAll();
    List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType referenceType);
    List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds);
    List<TaskManagement> findByPriority(Priority priority);
+   List<TaskManagement> findByStatus(TaskStatus status);
+   // both range queries return tasks ordered by deadline; tasks without a deadline are never included
+   List<TaskManagement> findByAssigneeIdInAndDeadlineBetween(List<Long> assigneeIds, Long start, Long end);
+   List<TaskManagement> findActiveByAssigneeIdInAndDeadlineUpTo(List<Long> assigneeIds, Long end);
+   // Lazy variants of the finders above for paging and streaming: a task is only loaded when the stream reaches it.
+   // The deadline stream is ordered by (deadline, id) and resumes strictly after (afterDeadline, afterId) when
+   // afterDeadline is given; the priority stream is ordered by id and resumes strictly after afterId.
+   Stream<TaskManagement> streamByAssigneeIdInAndDeadlineBetween(List<Long> assigneeIds, Long start, Long end,
+                                                                boolean activeOnly, Long afterDeadline, Long afterId);
+   Stream<TaskManagement> streamByPriority(Priority priority, Long afterId);
+   // number of the assignee's tasks per status and priority, read from counters kept up to date by save
+   Map<TaskStatus, Map<Priority, Long>> countByAssigneeId(Long assigneeId);
+   // the candidate with the least open (ASSIGNED/STARTED) work, weighted by priority; any known assignee when
+   // candidates is empty. Empty only when there is nobody to choose from.
+   Optional<Long> findLeastLoadedAssignee(Collection<Long> candidates);
+   // tasks of every given reference, resolved in one pass over the reference index
+   Map<ReferenceKey, List<TaskManagement>> findByReferences(Collection<ReferenceKey> references);
+   // Called after every successful save, while the task is still locked against other writers, so one task's
+   // changes arrive in version order. Listeners must be quick and must not call back into the repository.
+   void addChangeListener(TaskChangeListener listener);
+   // (id, deadline) of every ASSIGNED/STARTED task that has an assignee and a deadline, read from the index
+   void forEachActiveDeadline(DeadlineConsumer consumer);
+   // For monitoring, answered from counters rather than a pass over the tasks: the number of stored tasks, and
+   // the number of keys (reference, assignee) or entries (deadline, active-deadline) per index.
+   long count();
+   Map<String, Long> indexSizes();
+
+   @FunctionalInterface
+   interface DeadlineConsumer {
+       void accept(long taskId, long deadline);
+   }
+
+   default List<TaskManagement> findAllById(Collection<Long> ids) {
+       List<TaskManagement> tasks = new ArrayList<>(ids.size());
+       for (Long id : ids) {
+           findById(id).ifPresent(tasks::add);
+       }
+       return tasks;
+   }
+
+   // Saves the tasks in order, each one conditionally as in save(). Not atomic: a failure leaves the
+   // earlier tasks saved. Engines override it to share per-call costs such as waiting for the log.
+   default List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+       for (TaskManagement task : tasks) {
+           save(task);
+       }
+       return tasks;
+   }
+
+   // Read-modify-write with optimistic retries: the mutation is re-applied to a fresh copy whenever
+   // another writer saved the task in between, up to a fixed number of attempts.
+   default TaskManagement update(Long id, Consumer<TaskManagement> mutation) {
+       int maxAttempts = 100;
+       for (int attempt = 1; ; attempt++) {
+           TaskManagement task = findById(id)
+                   .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+           mutation.accept(task);
+           try {
+               return save(task);
+           } catch (VersionConflictException e) {
+               if (attempt == maxAttempts) {
+                   throw e;
+               }
+           }
+       }
+   }
 }
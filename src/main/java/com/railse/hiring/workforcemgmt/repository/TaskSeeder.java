@@ -0,0 +1,48 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+// Demo data loaded into an empty store. Only uses the TaskRepository contract, so every storage engine seeds the same way.
+final class TaskSeeder {
+
+    private TaskSeeder() {
+    }
+
+    static void seed(TaskRepository repository) {
+        createSeedTask(repository, 101L, ReferenceType.ORDER, Task.CREATE_INVOICE, 1L, TaskStatus.ASSIGNED, Priority.HIGH);
+        createSeedTask(repository, 101L, ReferenceType.ORDER, Task.ARRANGE_PICKUP, 1L, TaskStatus.COMPLETED, Priority.HIGH);
+        createSeedTask(repository, 102L, ReferenceType.ORDER, Task.CREATE_INVOICE, 2L, TaskStatus.ASSIGNED, Priority.MEDIUM);
+        createSeedTask(repository, 201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 2L, TaskStatus.ASSIGNED, Priority.LOW);
+        createSeedTask(repository, 201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 3L, TaskStatus.ASSIGNED, Priority.LOW); // Duplicate for Bug #1
+        createSeedTask(repository, 103L, ReferenceType.ORDER, Task.COLLECT_PAYMENT, 1L, TaskStatus.CANCELLED, Priority.MEDIUM); // For Bug #2
+    }
+
+    private static void createSeedTask(TaskRepository repository, Long refId, ReferenceType refType, Task task,
+                                       Long assigneeId, TaskStatus status, Priority priority) {
+        // Cancel older tasks of same referenceId + referenceType + taskType
+        repository.findByReferenceIdAndReferenceType(refId, refType).stream()
+            .filter(t -> t.getTask() == task
+                    && t.getStatus() != TaskStatus.COMPLETED
+                    && t.getStatus() != TaskStatus.CANCELLED)
+            .forEach(t -> {
+                t.setStatus(TaskStatus.CANCELLED);
+                repository.save(t);
+            });
+
+        // Create new task
+        TaskManagement newTask = new TaskManagement();
+        newTask.setReferenceId(refId);
+        newTask.setReferenceType(refType);
+        newTask.setTask(task);
+        newTask.setAssigneeId(assigneeId);
+        newTask.setStatus(status);
+        newTask.setPriority(priority);
+        newTask.setDescription("This is a seed task.");
+        newTask.setTaskDeadlineTime(System.currentTimeMillis() + 86400000); // 1 day from now
+        repository.save(newTask);
+    }
+}
@@ -0,0 +1,458 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Append-only log of every saved task state, plus compacted snapshots, for InMemoryTaskRepository.
+//
+// save() encodes the task and queues it (assigning the next sequence number); a single writer
+// thread drains the queue, writes the whole batch with one gathering write and forces it according
+// to the FsyncPolicy. Records are full task states, so replaying them is idempotent and only the
+// last record per task matters.
+//
+// On disk: wal-<first sequence>.log segments of [magic] then [length][sequence][payload][crc32] records, and
+// a snapshot-<sequence>.bin holding every task as of that sequence. Recovery loads the newest snapshot
+// and replays the log records after it, stopping at the first torn or corrupt record.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "workforcemgmt.wal.enabled", havingValue = "true")
+public class TaskWriteAheadLog implements Closeable {
+
+    // "SNP2" and "WAL2"; the first format had no segment header and its records also carried the task history
+    private static final int SNAPSHOT_MAGIC = 0x534e5032;
+    private static final int SEGMENT_MAGIC = 0x57414c32;
+    private static final int RECORD_OVERHEAD = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    // far above any real task record; a longer length can only come from a torn or corrupt header
+    private static final int MAX_RECORD_SIZE = 16 << 20;
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMillis;
+    private final long snapshotIntervalMillis;
+
+    // guards the queue and the sequence counters
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queued = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    // held by whoever writes to or swaps the current segment
+    private final ReentrantLock segmentLock = new ReentrantLock();
+
+    private List<ByteBuffer> pending = new ArrayList<>();
+    private long lastQueued;
+    private long lastDurable;
+    private boolean closed;
+    private IOException failure;
+
+    private FileChannel segment;
+    private long lastForce = System.currentTimeMillis();
+    private boolean dirty;
+    private Thread writer;
+
+    public TaskWriteAheadLog(@Value("${workforcemgmt.wal.directory:data/wal}") Path directory,
+                             @Value("${workforcemgmt.wal.fsync-policy:PER_BATCH}") FsyncPolicy fsyncPolicy,
+                             @Value("${workforcemgmt.wal.fsync-interval-ms:100}") long fsyncIntervalMillis,
+                             @Value("${workforcemgmt.wal.snapshot-interval-ms:300000}") long snapshotIntervalMillis) {
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+    }
+
+    public long getSnapshotIntervalMillis() {
+        return snapshotIntervalMillis;
+    }
+
+    // Loads the newest snapshot and replays the log after it, handing every recovered task state to
+    // the consumer in sequence order, then opens a fresh segment for new appends.
+    // Must be called once, before the first append.
+    public void recover(Consumer<TaskManagement> apply) {
+        try {
+            Files.createDirectories(directory);
+            long snapshotSequence = loadSnapshot(apply);
+            long last = snapshotSequence;
+            for (Path file : files("wal-", ".log")) {
+                last = Math.max(last, replaySegment(file, snapshotSequence, apply));
+            }
+            lastQueued = last;
+            lastDurable = last;
+            segment = openSegment(last + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover the task write-ahead log from " + directory, e);
+        }
+        writer = new Thread(this::writeLoop, "task-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Queues the task state and returns its sequence number. Cheap enough to call while holding the
+    // store's per-task lock, which keeps the log order of each task identical to the store order.
+    public long append(TaskManagement task) {
+        ByteBuffer record = encode(task);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Task write-ahead log is closed");
+            }
+            // the writer has stopped, so nothing queued now would ever reach the disk
+            if (failure != null) {
+                throw new UncheckedIOException("Task write-ahead log write failed", failure);
+            }
+            long sequence = ++lastQueued;
+            record.putLong(Integer.BYTES, sequence);
+            record.putInt(record.limit() - Integer.BYTES, checksum(record));
+            pending.add(record);
+            queued.signal();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Blocks until the record with this sequence number is as durable as the policy promises.
+    public void awaitDurable(long sequence) {
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (lastDurable < sequence) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Task write-ahead log write failed", failure);
+                }
+                durable.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return lastQueued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Starts a new segment, so that every record up to now sits in segments a snapshot can replace.
+    public void rollSegment() {
+        segmentLock.lock();
+        try {
+            long next = lastSequence() + 1;
+            segment.force(false);
+            segment.close();
+            segment = openSegment(next);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not roll the task write-ahead log", e);
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    // Writes a snapshot of all tasks as of the given sequence and drops the segments it covers.
+    // The caller must have rolled the segment when it captured the sequence.
+    public void writeSnapshot(Iterable<TaskManagement> tasks, long sequence) throws IOException {
+        Path temporary = directory.resolve("snapshot.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(sequence);
+            for (TaskManagement task : tasks) {
+                out.writeBoolean(true);
+                TaskRecordCodec.writeTask(out, task);
+            }
+            out.writeBoolean(false);
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Path snapshot = directory.resolve("snapshot-" + sequence + ".bin");
+        Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (Path old : files("snapshot-", ".bin")) {
+            if (!old.equals(snapshot)) {
+                Files.deleteIfExists(old);
+            }
+        }
+        segmentLock.lock();
+        try {
+            List<Path> segments = files("wal-", ".log");
+            // everything but the current segment was closed before the sequence was captured
+            for (Path old : segments.subList(0, Math.max(0, segments.size() - 1))) {
+                Files.deleteIfExists(old);
+            }
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queued.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            List<ByteBuffer> batch;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed && !intervalForceDue()) {
+                    if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+                        queued.awaitNanos(TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis));
+                    } else {
+                        queued.awaitUninterruptibly();
+                    }
+                }
+                if (pending.isEmpty() && closed) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            long written = 0;
+            try {
+                written = write(batch);
+            } catch (IOException e) {
+                log.error("Task write-ahead log write failed", e);
+                lock.lock();
+                try {
+                    failure = e;
+                    pending = new ArrayList<>();
+                    durable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+            if (written > 0) {
+                lock.lock();
+                try {
+                    lastDurable = Math.max(lastDurable, written);
+                    durable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    // Returns the highest sequence written, or 0 if the batch was empty.
+    private long write(List<ByteBuffer> batch) throws IOException {
+        segmentLock.lock();
+        try {
+            if (fsyncPolicy == FsyncPolicy.PER_WRITE) {
+                for (ByteBuffer record : batch) {
+                    writeFully(new ByteBuffer[] {record});
+                    segment.force(false);
+                }
+            } else {
+                writeFully(batch.toArray(new ByteBuffer[0]));
+                dirty |= !batch.isEmpty();
+                if (fsyncPolicy == FsyncPolicy.PER_BATCH || intervalForceDue()) {
+                    segment.force(false);
+                    lastForce = System.currentTimeMillis();
+                    dirty = false;
+                }
+            }
+        } finally {
+            segmentLock.unlock();
+        }
+        return batch.isEmpty() ? 0 : batch.get(batch.size() - 1).getLong(Integer.BYTES);
+    }
+
+    private void writeFully(ByteBuffer[] records) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer record : records) {
+            remaining += record.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= segment.write(records);
+        }
+    }
+
+    private boolean intervalForceDue() {
+        return fsyncPolicy == FsyncPolicy.INTERVAL && dirty
+                && System.currentTimeMillis() - lastForce >= fsyncIntervalMillis;
+    }
+
+    private static ByteBuffer encode(TaskManagement task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeLong(0);
+            TaskRecordCodec.writeTask(out, task);
+            out.writeInt(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+        record.putInt(0, record.limit() - RECORD_OVERHEAD);
+        return record;
+    }
+
+    // crc32 over the sequence and payload
+    private static int checksum(ByteBuffer record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), Integer.BYTES, record.limit() - 2 * Integer.BYTES);
+        return (int) crc.getValue();
+    }
+
+    private long loadSnapshot(Consumer<TaskManagement> apply) throws IOException {
+        List<Path> snapshots = files("snapshot-", ".bin");
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        Path latest = snapshots.get(snapshots.size() - 1);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(latest), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a task snapshot, or one of an older format: " + latest);
+            }
+            long sequence = in.readLong();
+            while (in.readBoolean()) {
+                apply.accept(TaskRecordCodec.readTask(in));
+            }
+            return sequence;
+        }
+    }
+
+    // Replays the records after the snapshot and returns the last sequence found in the segment.
+    // A torn or corrupt tail (a crash mid-write) is cut off so new segments start clean.
+    private long replaySegment(Path file, long after, Consumer<TaskManagement> apply) throws IOException {
+        long last = 0;
+        long validEnd = Integer.BYTES;
+        long size = Files.size(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            int magic;
+            try {
+                magic = in.readInt();
+            } catch (EOFException e) {
+                // created but never written to; openSegment writes the header if it is reused
+                return 0;
+            }
+            if (magic != SEGMENT_MAGIC) {
+                throw new IOException("Not a task write-ahead log segment, or one of an older format: " + file);
+            }
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                // a length that cannot fit in what is left of the segment is treated like a torn tail
+                if (length < 0 || length > MAX_RECORD_SIZE || length > size - validEnd - RECORD_OVERHEAD) {
+                    break;
+                }
+                ByteBuffer record = ByteBuffer.allocate(length + RECORD_OVERHEAD);
+                record.putInt(length);
+                try {
+                    in.readFully(record.array(), Integer.BYTES, length + Long.BYTES + Integer.BYTES);
+                } catch (EOFException e) {
+                    break;
+                }
+                if (record.getInt(record.limit() - Integer.BYTES) != checksum(record)) {
+                    break;
+                }
+                long sequence = record.getLong(Integer.BYTES);
+                if (sequence > after) {
+                    apply.accept(TaskRecordCodec.readTask(new DataInputStream(new ByteArrayInputStream(
+                            record.array(), Integer.BYTES + Long.BYTES, length))));
+                }
+                last = sequence;
+                validEnd += record.limit();
+            }
+        }
+        if (validEnd < size) {
+            log.warn("Truncating torn task write-ahead log tail in {} at byte {}", file, validEnd);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validEnd);
+            }
+        }
+        return last;
+    }
+
+    private FileChannel openSegment(long firstSequence) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(String.format("wal-%020d.log", firstSequence)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES).putInt(0, SEGMENT_MAGIC);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        }
+        return channel;
+    }
+
+    // Files with the given prefix/suffix, oldest first; names embed a zero-padded or plain sequence.
+    private List<Path> files(String prefix, String suffix) throws IOException {
+        try (Stream<Path> listing = Files.list(directory)) {
+            return listing
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted((a, b) -> Long.compare(sequenceOf(a, prefix, suffix), sequenceOf(b, prefix, suffix)))
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path path, String prefix, String suffix) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+// Task counts per (assignee, status, priority), moved on every index update instead of being counted
+// at query time. Each assignee has one fixed array of statuses x priorities cells, so reading an
+// assignee's workload is a constant number of loads. Tasks missing an assignee, status or priority
+// are not counted. A task moving between cells is decremented before it is incremented, so a
+// concurrent reader can briefly miss it, but never sees it twice.
+final class WorkloadCounters {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final Map<Long, AtomicLongArray> byAssignee = new ConcurrentHashMap<>();
+
+    void update(TaskIndexKeys previous, TaskIndexKeys current) {
+        int from = cell(previous);
+        int to = cell(current);
+        if (from == to && (from < 0 || Objects.equals(previous.assigneeId(), current.assigneeId()))) {
+            return;
+        }
+        if (from >= 0) {
+            byAssignee.get(previous.assigneeId()).decrementAndGet(from);
+        }
+        if (to >= 0) {
+            byAssignee.computeIfAbsent(current.assigneeId(), id -> new AtomicLongArray(STATUSES.length * PRIORITIES.length))
+                    .incrementAndGet(to);
+        }
+    }
+
+    // Counts of the assignee's tasks per status and priority; every status and priority is present.
+    Map<TaskStatus, Map<Priority, Long>> counts(Long assigneeId) {
+        AtomicLongArray cells = assigneeId == null ? null : byAssignee.get(assigneeId);
+        Map<TaskStatus, Map<Priority, Long>> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : STATUSES) {
+            Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+            for (Priority priority : PRIORITIES) {
+                byPriority.put(priority, cells == null ? 0L : cells.get(status.ordinal() * PRIORITIES.length + priority.ordinal()));
+            }
+            counts.put(status, byPriority);
+        }
+        return counts;
+    }
+
+    private static int cell(TaskIndexKeys keys) {
+        if (keys == null || keys.assigneeId() == null || keys.status() == null || keys.priority() == null) {
+            return -1;
+        }
+        return keys.status().ordinal() * PRIORITIES.length + keys.priority().ordinal();
+    }
+}
@@ -0,0 +1,34 @@
+package com.railse.hiring.workforcemgmt.service;
+
+
+import com.railse.hiring.workforcemgmt.dto.*;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+
+// TaskManagementService for the reactive stack. The list methods stream every matching task instead of
+// returning pages; the other methods behave exactly like their blocking counterparts.
+public interface ReactiveTaskManagementService {
+   Mono<TaskManagementDto> findTaskById(Long id);
+   Mono<List<TaskManagementDto>> createTasks(TaskCreateRequest request);
+   Mono<List<TaskManagementDto>> updateTasks(UpdateTaskRequest request);
+   Mono<String> assignByReference(AssignByReferenceRequest request);
+   // projected as the request's projection (see TaskProjection); the cursor and page size are ignored
+   Flux<Object> fetchTasksByDate(TaskFetchByDateRequest request);
+   Flux<Object> smartFetchTasksByDate(TaskFetchByDateRequest request);
+   Flux<Object> fetchTasksByPriority(Priority priority, TaskProjection projection);
+   Mono<HistoryPage<TaskActivity>> fetchActivities(Long id, Long from, Long to, Set<ActivityAction> actions, String cursor, Integer pageSize);
+   Mono<HistoryPage<TaskComment>> fetchComments(Long id, Long from, Long to, String cursor, Integer pageSize);
+   Mono<String> updateTaskPriority(Long taskId, UpdatePriorityRequest request);
+   Mono<String> addComment(Long id, AddCommentRequest request);
+   Mono<List<AssigneeWorkloadDto>> fetchWorkload(List<Long> assigneeIds, Set<TaskStatus> statuses);
+}
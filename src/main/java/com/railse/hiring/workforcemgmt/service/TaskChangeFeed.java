@@ -0,0 +1,346 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.railse.hiring.workforcemgmt.dto.TaskChangeEvent;
+import com.railse.hiring.workforcemgmt.dto.TaskChangeFilter;
+import com.railse.hiring.workforcemgmt.repository.TaskChange;
+import com.railse.hiring.workforcemgmt.repository.TaskChangeListener;
+import com.railse.hiring.workforcemgmt.repository.TaskIndexKeys;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+// In-process feed of task changes for Server-Sent Events. Every save becomes an event with the next sequence
+// number in a ring of the newest `capacity` events; saves never wait for subscribers. Each subscriber keeps
+// its own position in the ring and is drained by the dispatcher pool. A send that blocks for longer than the send
+// timeout (a client that stopped reading) drops that subscriber: its connection is completed with an error so the
+// client reconnects with Last-Event-ID, and the pool gets a thread in place of the one stuck in the write until
+// that write returns, so stalled clients never hold up the others.
+// One that falls a whole ring behind, or resumes from a position that is no longer held, gets a "reset"
+// event (refetch, then follow the stream) and continues from the newest event.
+//
+// Sequence numbers start over with the process, so event ids are "<epoch>-<seq>" with an epoch taken at startup;
+// a client resuming from an id of another epoch (an earlier run of the server) is reset as well.
+@Slf4j
+@Component
+public class TaskChangeFeed implements TaskChangeListener, Closeable {
+
+    public static final String CHANGE_EVENT = "task-change";
+    public static final String RESET_EVENT = "reset";
+
+    // slots are read without the lock, and a lagging reader can race the writer that reuses its slot
+    private final AtomicReferenceArray<TaskChangeEvent> ring;
+    private final int mask;
+    private final int batchSize;
+    private final long emitterTimeoutMillis;
+    private final long sendTimeoutNanos;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    // seq of the newest event; the first event is 1
+    private volatile long lastSeq;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor dispatcher;
+    // guards the dispatcher's pool size
+    private final ReentrantLock poolLock = new ReentrantLock();
+
+    public TaskChangeFeed(TaskRepository taskRepository,
+                          @Value("${workforcemgmt.feed.capacity:65536}") int capacity,
+                          @Value("${workforcemgmt.feed.dispatch-threads:4}") int dispatchThreads,
+                          @Value("${workforcemgmt.feed.batch-size:256}") int batchSize,
+                          @Value("${workforcemgmt.feed.emitter-timeout-ms:0}") long emitterTimeoutMillis,
+                          @Value("${workforcemgmt.feed.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1) << 1);
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.batchSize = batchSize;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "task-feed-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        taskRepository.addChangeListener(this);
+    }
+
+    @Override
+    public void onChange(TaskChange change) {
+        appendLock.lock();
+        try {
+            long seq = lastSeq + 1;
+            ring.set((int) seq & mask, event(seq, change));
+            lastSeq = seq;
+        } finally {
+            appendLock.unlock();
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.signal();
+        }
+    }
+
+    public long lastSeq() {
+        return lastSeq;
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public SseEmitter subscribe(TaskChangeFilter filter, String lastEventId) {
+        return subscribe(filter, lastEventId, new SseEmitter(emitterTimeoutMillis));
+    }
+
+    // Streams the events after lastEventId (or only new ones when it is null) that pass the filter.
+    public SseEmitter subscribe(TaskChangeFilter filter, String lastEventId, SseEmitter emitter) {
+        Subscription subscription = new Subscription(filter, emitter, lastEventId == null ? lastSeq : seqOf(lastEventId));
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        subscriptions.add(subscription);
+        subscription.signal();
+        return emitter;
+    }
+
+    String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    // The seq of an id from this epoch; any other id reads as ahead of the feed, which gets the subscriber a reset.
+    private long seqOf(String eventId) {
+        String prefix = epoch + "-";
+        if (eventId.startsWith(prefix)) {
+            try {
+                return Long.parseLong(eventId.substring(prefix.length()));
+            } catch (NumberFormatException e) {
+                // not one of ours
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public int subscribers() {
+        return subscriptions.size();
+    }
+
+    // Events after afterSeq, at most limit; gap is set when some of them are no longer held.
+    FeedBatch read(long afterSeq, int limit) {
+        long last = lastSeq;
+        // a position ahead of the feed comes from another epoch
+        if (afterSeq > last || afterSeq < last - ring.length()) {
+            return new FeedBatch(List.of(), true, last);
+        }
+        List<TaskChangeEvent> events = new ArrayList<>((int) Math.min(limit, last - afterSeq));
+        for (long seq = afterSeq + 1; seq <= last && events.size() < limit; seq++) {
+            TaskChangeEvent event = ring.get((int) seq & mask);
+            if (event == null || event.getSeq() != seq) {
+                // overwritten while we were reading
+                return new FeedBatch(List.of(), true, lastSeq);
+            }
+            events.add(event);
+        }
+        return new FeedBatch(events, false, last);
+    }
+
+    // Keeps idle connections open through proxies and notices clients that went away.
+    @Scheduled(fixedDelayString = "${workforcemgmt.feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            subscription.heartbeatDue = true;
+            subscription.signal();
+        }
+    }
+
+    // Drops the subscribers whose current send has been blocked for longer than the send timeout.
+    @Scheduled(fixedDelayString = "${workforcemgmt.feed.stall-check-ms:1000}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            subscription.expireIfStalled(now);
+        }
+    }
+
+    int dispatchThreads() {
+        return dispatcher.getMaximumPoolSize();
+    }
+
+    @Override
+    public void close() {
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    private static TaskChangeEvent event(long seq, TaskChange change) {
+        TaskIndexKeys current = change.current();
+        TaskIndexKeys previous = change.previous();
+        return new TaskChangeEvent(seq, change.taskId(), change.version(), previous == null,
+                current.reference().referenceId(), current.reference().referenceType(),
+                current.assigneeId(), previous == null ? null : previous.assigneeId(),
+                current.status(), current.priority(), previous == null ? null : previous.priority(),
+                current.deadline());
+    }
+
+    private void resizeDispatcher(int delta) {
+        poolLock.lock();
+        try {
+            int size = dispatcher.getCorePoolSize() + delta;
+            // the maximum may never drop below the core size
+            if (delta > 0) {
+                dispatcher.setMaximumPoolSize(size);
+                dispatcher.setCorePoolSize(size);
+            } else {
+                dispatcher.setCorePoolSize(size);
+                dispatcher.setMaximumPoolSize(size);
+            }
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    record FeedBatch(List<TaskChangeEvent> events, boolean gap, long lastSeq) {
+    }
+
+    private final class Subscription {
+        final TaskChangeFilter filter;
+        final SseEmitter emitter;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean heartbeatDue;
+        volatile boolean closed;
+        // advanced only by the pump that holds `scheduled`
+        volatile long cursor;
+        // guards the three fields below, which describe the send in progress
+        final ReentrantLock sendLock = new ReentrantLock();
+        Thread sender;
+        long sendStartedNanos;
+        boolean stalled;
+
+        Subscription(TaskChangeFilter filter, SseEmitter emitter, long cursor) {
+            this.filter = filter;
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        void signal() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                dispatcher.execute(this::pump);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        private void pump() {
+            try {
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    send(SseEmitter.event().comment("keep-alive"));
+                }
+                while (!closed) {
+                    FeedBatch batch = read(cursor, batchSize);
+                    if (batch.gap()) {
+                        cursor = batch.lastSeq();
+                        send(SseEmitter.event().id(eventId(cursor)).name(RESET_EVENT).data(cursor));
+                        continue;
+                    }
+                    if (batch.events().isEmpty()) {
+                        break;
+                    }
+                    for (TaskChangeEvent event : batch.events()) {
+                        if (filter.matches(event)) {
+                            send(SseEmitter.event().id(eventId(event.getSeq())).name(CHANGE_EVENT).data(event));
+                        }
+                    }
+                    cursor = batch.events().get(batch.events().size() - 1).getSeq();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Change feed subscriber went away", e);
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // an event published after the last read but before the flag was cleared found the pump still running
+            if (lastSeq > cursor) {
+                signal();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendLock.lock();
+            try {
+                if (closed) {
+                    throw new IllegalStateException("Change feed subscriber was dropped");
+                }
+                sender = Thread.currentThread();
+                sendStartedNanos = System.nanoTime();
+            } finally {
+                sendLock.unlock();
+            }
+            boolean timedOut;
+            try {
+                emitter.send(event);
+            } finally {
+                sendLock.lock();
+                try {
+                    sender = null;
+                    timedOut = stalled;
+                    if (stalled) {
+                        stalled = false;
+                        // the interrupt was meant for this send, not for whatever the thread runs next
+                        Thread.interrupted();
+                        resizeDispatcher(-1);
+                    }
+                } finally {
+                    sendLock.unlock();
+                }
+            }
+            if (timedOut) {
+                emitter.completeWithError(new TimeoutException("Change feed send timed out"));
+            }
+        }
+
+        void expireIfStalled(long now) {
+            sendLock.lock();
+            try {
+                if (sender == null || stalled || now - sendStartedNanos < sendTimeoutNanos) {
+                    return;
+                }
+                log.debug("Dropping change feed subscriber whose send is blocked on {}", sender.getName());
+                stalled = true;
+                close();
+                // frees writes that honour interrupts; the others hold the thread until the container times them out
+                sender.interrupt();
+                resizeDispatcher(1);
+            } finally {
+                sendLock.unlock();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscriptions.remove(this);
+        }
+    }
+}
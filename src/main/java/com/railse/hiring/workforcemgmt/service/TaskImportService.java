@@ -0,0 +1,15 @@
+package com.railse.hiring.workforcemgmt.service;
+
+
+import com.railse.hiring.workforcemgmt.dto.TaskImportSummary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+
+public interface TaskImportService {
+   // Reads newline-delimited TaskCreateRequest items from input and writes newline-delimited results to output:
+   // one BatchItemResult per item unless summaryOnly, then a TaskImportSummary.
+   TaskImportSummary importTasks(Integer performedBy, InputStream input, OutputStream output, boolean summaryOnly) throws IOException;
+}
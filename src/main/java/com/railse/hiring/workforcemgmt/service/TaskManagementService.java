@@ -2,19 +2,42 @@ package com.railse.hiring.workforcemgmt.service;
 
 
 import com.railse.hiring.workforcemgmt.dto.*;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 
 public interface TaskManagementService {
    List<TaskManagementDto> createTasks(TaskCreateRequest request);
    List<TaskManagementDto> updateTasks(UpdateTaskRequest request);
+   List<BatchItemResult<TaskManagementDto>> createTasksBatch(TaskCreateRequest request);
+   List<BatchItemResult<TaskManagementDto>> updateTasksBatch(UpdateTaskRequest request);
    String assignByReference(AssignByReferenceRequest request);
-   List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request);
+   // list endpoints return tasks in the shape chosen by the request's projection (see TaskProjection)
+   TaskPage<Object> fetchTasksByDate(TaskFetchByDateRequest request);
+   Stream<Object> streamTasksByDate(TaskFetchByDateRequest request);
    TaskManagementDto findTaskById(Long id);
-   List<TaskManagementDto> smartFetchTasksByDate(TaskFetchByDateRequest request);
+   // Entity tags for conditional GETs, computed without mapping anything: they change whenever the result of
+   // findTaskById, or of fetchTasksByPriority with the same arguments, can.
+   String taskTag(Long id);
+   String tasksByPriorityTag(Priority priority, String cursor, Integer pageSize, TaskProjection projection);
+   // history pages: entries with a timestamp in [from, to] (either may be null), oldest first
+   HistoryPage<TaskActivity> fetchActivities(Long id, Long from, Long to, Set<ActivityAction> actions, String cursor, Integer pageSize);
+   HistoryPage<TaskComment> fetchComments(Long id, Long from, Long to, String cursor, Integer pageSize);
+   TaskPage<Object> smartFetchTasksByDate(TaskFetchByDateRequest request);
+   Stream<Object> streamSmartTasksByDate(TaskFetchByDateRequest request);
    String updateTaskPriority(Long taskId, UpdatePriorityRequest request);
-   List<TaskManagementDto> fetchTasksByPriority(Priority priority);
+   TaskPage<Object> fetchTasksByPriority(Priority priority, String cursor, Integer pageSize, TaskProjection projection);
+   Stream<Object> streamTasksByPriority(Priority priority, String cursor, TaskProjection projection);
    String addComment(Long id, AddCommentRequest request);
+   // statuses defaults to the active ones (ASSIGNED, STARTED)
+   List<AssigneeWorkloadDto> fetchWorkload(List<Long> assigneeIds, Set<TaskStatus> statuses);
+   // false when the task is gone, no longer open or no longer due at that deadline
+   boolean escalateOverdueTask(Long taskId, long deadline, boolean raisePriority);
 }
@@ -0,0 +1,137 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.TimingWheel;
+import com.railse.hiring.workforcemgmt.repository.TaskChange;
+import com.railse.hiring.workforcemgmt.repository.TaskChangeListener;
+import com.railse.hiring.workforcemgmt.repository.TaskIndexKeys;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+
+import lombok.extern.slf4j.Slf4j;
+
+// Escalates ASSIGNED/STARTED tasks whose deadline passes, once per deadline. Deadlines come from the
+// repository's change feed (and, at startup, its active deadline index) into a timing wheel, so nothing
+// scans the tasks; a task only costs work when its deadline is set, moved or reached. pending holds the
+// deadline each task is currently scheduled for: an entry that fires for any other deadline is stale.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "workforcemgmt.escalation.enabled", havingValue = "true")
+public class DeadlineEscalationScheduler implements TaskChangeListener, Closeable {
+
+    private final TaskManagementService taskService;
+    private final boolean raisePriority;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final TimingWheel wheel;
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+
+    public DeadlineEscalationScheduler(TaskRepository taskRepository, TaskManagementService taskService,
+                                       @Value("${workforcemgmt.escalation.tick-ms:1000}") long tickMillis,
+                                       @Value("${workforcemgmt.escalation.raise-priority:true}") boolean raisePriority) {
+        this.taskService = taskService;
+        this.raisePriority = raisePriority;
+        this.wheel = new TimingWheel(tickMillis, System.currentTimeMillis());
+        // listen first, so a save racing the bootstrap is seen by at least one of the two
+        taskRepository.addChangeListener(this);
+        taskRepository.forEachActiveDeadline(this::schedule);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deadline-escalation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> {
+            try {
+                tick(System.currentTimeMillis());
+            } catch (Exception e) {
+                log.error("Deadline escalation tick failed", e);
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Runs inside the repository's save, so it only touches the pending map and the wheel.
+    @Override
+    public void onChange(TaskChange change) {
+        if (!change.deadlineOrActivityChanged()) {
+            return;
+        }
+        TaskIndexKeys current = change.current();
+        if (current.active() && current.deadline() != null) {
+            schedule(change.taskId(), current.deadline());
+        } else {
+            pending.remove(change.taskId());
+        }
+    }
+
+    public long pendingDeadlines() {
+        return pending.size();
+    }
+
+    // Fires every entry due by now; returns how many tasks were escalated.
+    int tick(long now) {
+        long[][] due = {new long[64]};
+        int[] count = {0};
+        wheelLock.lock();
+        try {
+            wheel.advance(now, (id, deadline) -> {
+                if (count[0] == due[0].length) {
+                    due[0] = Arrays.copyOf(due[0], count[0] * 2);
+                }
+                due[0][count[0]++] = id;
+                due[0][count[0]++] = deadline;
+            });
+        } finally {
+            wheelLock.unlock();
+        }
+        // escalation saves the task, which comes back through onChange, so it has to run outside the wheel lock
+        int escalated = 0;
+        for (int i = 0; i < count[0]; i += 2) {
+            long id = due[0][i];
+            long deadline = due[0][i + 1];
+            if (!pending.remove(id, deadline)) {
+                continue;
+            }
+            try {
+                if (taskService.escalateOverdueTask(id, deadline, raisePriority)) {
+                    escalated++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Escalating task {} failed", id, e);
+            }
+        }
+        if (escalated > 0) {
+            log.info("Escalated {} overdue tasks", escalated);
+        }
+        return escalated;
+    }
+
+    private void schedule(long taskId, long deadline) {
+        Long previous = pending.put(taskId, deadline);
+        if (previous != null && previous == deadline) {
+            return;
+        }
+        wheelLock.lock();
+        try {
+            wheel.add(taskId, deadline);
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,116 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+// Runs a deadline-ordered query over many assignees on a dedicated fork-join pool. Requests with fewer than
+// `threshold` distinct assignees stay on the calling thread as the query's own lazy stream. Larger ones are
+// split into chunks of assignees, each chunk collects its first `limit` tasks, and the chunks are merged pairwise
+// back into (deadline, id) order, so no chunk ever loads more than the caller can use.
+@Component
+public class ParallelAssigneeQuery implements Closeable {
+
+    private static final Comparator<TaskManagement> DEADLINE_ORDER =
+            Comparator.comparing(TaskManagement::getTaskDeadlineTime).thenComparing(TaskManagement::getId);
+    // chunks per pool thread, so one slow chunk does not leave the other threads idle
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    public ParallelAssigneeQuery(@Value("${workforcemgmt.query.parallel-threshold:256}") int threshold,
+                                 @Value("${workforcemgmt.query.parallelism:0}") int parallelism) {
+        this.threshold = Math.max(1, threshold);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("assignee-query-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                }, null, false);
+    }
+
+    // query must return the given assignees' tasks in (deadline, id) order; the result keeps that order.
+    public Stream<TaskManagement> byDeadline(List<Long> assigneeIds, Function<List<Long>, Stream<TaskManagement>> query,
+                                             long limit) {
+        List<Long> assignees = distinct(assigneeIds);
+        if (assignees.size() < threshold) {
+            return query.apply(assignees);
+        }
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        int chunkSize = Math.max(1, (assignees.size() + chunks - 1) / chunks);
+        return pool.invoke(new Chunk(assignees, query, limit, chunkSize)).stream();
+    }
+
+    // Unbounded reads, such as a streamed export, are never split: each chunk would have to be collected whole
+    // before the merge. They stay the query's own lazy stream, whatever the number of assignees.
+    public Stream<TaskManagement> byDeadline(List<Long> assigneeIds, Function<List<Long>, Stream<TaskManagement>> query) {
+        return query.apply(distinct(assigneeIds));
+    }
+
+    private static List<Long> distinct(List<Long> assigneeIds) {
+        return new ArrayList<>(new LinkedHashSet<>(assigneeIds));
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private static final class Chunk extends RecursiveTask<List<TaskManagement>> {
+        private final List<Long> assignees;
+        private final Function<List<Long>, Stream<TaskManagement>> query;
+        private final long limit;
+        private final int chunkSize;
+
+        Chunk(List<Long> assignees, Function<List<Long>, Stream<TaskManagement>> query, long limit, int chunkSize) {
+            this.assignees = assignees;
+            this.query = query;
+            this.limit = limit;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected List<TaskManagement> compute() {
+            if (assignees.size() <= chunkSize) {
+                try (Stream<TaskManagement> tasks = query.apply(assignees)) {
+                    return tasks.limit(limit).toList();
+                }
+            }
+            int middle = assignees.size() / 2;
+            Chunk left = new Chunk(assignees.subList(0, middle), query, limit, chunkSize);
+            left.fork();
+            List<TaskManagement> right = new Chunk(assignees.subList(middle, assignees.size()), query, limit, chunkSize).compute();
+            return merge(left.join(), right, limit);
+        }
+
+        // two (deadline, id) ordered lists into one, cut at limit
+        private static List<TaskManagement> merge(List<TaskManagement> left, List<TaskManagement> right, long limit) {
+            int size = (int) Math.min(limit, (long) left.size() + right.size());
+            List<TaskManagement> merged = new ArrayList<>(size);
+            int l = 0;
+            int r = 0;
+            while (merged.size() < size) {
+                if (r == right.size() || (l < left.size() && DEADLINE_ORDER.compare(left.get(l), right.get(r)) <= 0)) {
+                    merged.add(left.get(l++));
+                } else {
+                    merged.add(right.get(r++));
+                }
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+
+import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.dto.*;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.ReactiveTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+import com.railse.hiring.workforcemgmt.service.ReactiveTaskManagementService;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+
+// Reads go through ReactiveTaskRepository and are projected as they stream. Writes keep their single
+// implementation in TaskManagementService - the reference locks, the version retries and the history all
+// live there - and run on the bounded elastic pool, since each of them can block on those locks.
+@Service
+@Profile("reactive")
+public class ReactiveTaskManagementServiceImpl implements ReactiveTaskManagementService {
+
+
+   private final ReactiveTaskRepository taskRepository;
+   private final TaskManagementService taskService;
+   private final TaskViews views;
+
+
+   public ReactiveTaskManagementServiceImpl(ReactiveTaskRepository taskRepository, TaskManagementService taskService,
+                                            ITaskManagementMapper taskMapper, TaskHistoryStore historyStore,
+                                            @Value("${workforcemgmt.history.recent-entries:20}") int recentHistoryEntries) {
+       this.taskRepository = taskRepository;
+       this.taskService = taskService;
+       this.views = new TaskViews(taskMapper, historyStore, recentHistoryEntries);
+   }
+
+
+   @Override
+   public Mono<TaskManagementDto> findTaskById(Long id) {
+       return taskRepository.findById(id)
+               .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Task not found with id: " + id)))
+               .map(views::toDto);
+   }
+
+
+   @Override
+   public Mono<List<TaskManagementDto>> createTasks(TaskCreateRequest request) {
+       return blocking(() -> taskService.createTasks(request));
+   }
+
+
+   @Override
+   public Mono<List<TaskManagementDto>> updateTasks(UpdateTaskRequest request) {
+       return blocking(() -> taskService.updateTasks(request));
+   }
+
+
+   @Override
+   public Mono<String> assignByReference(AssignByReferenceRequest request) {
+       return blocking(() -> taskService.assignByReference(request));
+   }
+
+
+   @Override
+   public Flux<Object> fetchTasksByDate(TaskFetchByDateRequest request) {
+       TaskProjection projection = TaskProjection.of(request.getProjection(), request.getFields());
+       return taskRepository.streamByAssigneeIdInAndDeadlineBetween(request.getAssigneeIds(), request.getStartDate(),
+                       request.getEndDate(), false)
+               .filter(task -> task.getStatus() != TaskStatus.CANCELLED)
+               .map(task -> views.project(task, projection));
+   }
+
+
+   @Override
+   public Flux<Object> smartFetchTasksByDate(TaskFetchByDateRequest request) {
+       // active tasks due on or before the end date, as in the blocking service
+       TaskProjection projection = TaskProjection.of(request.getProjection(), request.getFields());
+       return taskRepository.streamByAssigneeIdInAndDeadlineBetween(request.getAssigneeIds(), null, request.getEndDate(), true)
+               .map(task -> views.project(task, projection));
+   }
+
+
+   @Override
+   public Flux<Object> fetchTasksByPriority(Priority priority, TaskProjection projection) {
+       return taskRepository.streamByPriority(priority).map(task -> views.project(task, projection));
+   }
+
+
+   @Override
+   public Mono<HistoryPage<TaskActivity>> fetchActivities(Long id, Long from, Long to, Set<ActivityAction> actions,
+                                                          String cursor, Integer pageSize) {
+       return blocking(() -> taskService.fetchActivities(id, from, to, actions, cursor, pageSize));
+   }
+
+
+   @Override
+   public Mono<HistoryPage<TaskComment>> fetchComments(Long id, Long from, Long to, String cursor, Integer pageSize) {
+       return blocking(() -> taskService.fetchComments(id, from, to, cursor, pageSize));
+   }
+
+
+   @Override
+   public Mono<String> updateTaskPriority(Long taskId, UpdatePriorityRequest request) {
+       return blocking(() -> taskService.updateTaskPriority(taskId, request));
+   }
+
+
+   @Override
+   public Mono<String> addComment(Long id, AddCommentRequest request) {
+       return blocking(() -> taskService.addComment(id, request));
+   }
+
+
+   @Override
+   public Mono<List<AssigneeWorkloadDto>> fetchWorkload(List<Long> assigneeIds, Set<TaskStatus> statuses) {
+       return blocking(() -> taskService.fetchWorkload(assigneeIds, statuses));
+   }
+
+
+   private static <T> Mono<T> blocking(Callable<T> call) {
+       return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+   }
+}
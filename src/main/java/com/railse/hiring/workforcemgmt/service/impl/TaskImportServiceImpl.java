@@ -0,0 +1,168 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.railse.hiring.workforcemgmt.common.exception.StatusCode;
+import com.railse.hiring.workforcemgmt.dto.BatchItemResult;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskImportSummary;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.service.TaskImportService;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+// Streaming import: items are pulled off the parser one at a time and handed to createTasksBatch in chunks
+// of chunkSize, and each chunk's results are written and flushed before the next chunk is read, so memory
+// use depends on the chunk size and not on the size of the upload.
+@Service
+@Slf4j
+public class TaskImportServiceImpl implements TaskImportService {
+
+
+   private final TaskManagementService taskManagementService;
+   private final ObjectMapper objectMapper;
+   private final int chunkSize;
+
+
+   public TaskImportServiceImpl(TaskManagementService taskManagementService, ObjectMapper objectMapper,
+                                @Value("${workforcemgmt.import.chunk-size:1000}") int chunkSize) {
+       this.taskManagementService = taskManagementService;
+       this.objectMapper = objectMapper;
+       this.chunkSize = chunkSize;
+   }
+
+
+   @Override
+   public TaskImportSummary importTasks(Integer performedBy, InputStream input, OutputStream output, boolean summaryOnly) throws IOException {
+       ObjectReader itemReader = objectMapper.readerFor(TaskCreateRequest.RequestItem.class);
+       ObjectWriter resultWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+       TaskImportSummary summary = new TaskImportSummary();
+       Chunk chunk = new Chunk(0);
+
+       try (JsonParser parser = objectMapper.getFactory().createParser(input);
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+           generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+           // lines are separated explicitly below instead of by the generator's default space
+           generator.setRootValueSeparator(null);
+           Output out = new Output(generator, resultWriter, summary, summaryOnly);
+
+           MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(parser);
+           while (true) {
+               JsonNode node;
+               try {
+                   if (!nodes.hasNextValue()) {
+                       break;
+                   }
+                   node = nodes.nextValue();
+               } catch (JsonProcessingException e) {
+                   // the parser cannot resynchronise after a syntax error, so the rest of the stream is not imported
+                   chunk = flush(performedBy, chunk, out);
+                   out.write(BatchItemResult.failed(chunk.firstIndex, StatusCode.BAD_REQUEST,
+                           "Malformed JSON, import stopped: " + e.getOriginalMessage()));
+                   break;
+               }
+               try {
+                   chunk.add(itemReader.treeToValue(node, TaskCreateRequest.RequestItem.class));
+               } catch (JsonProcessingException e) {
+                   chunk.reject(e.getOriginalMessage());
+               }
+               if (chunk.size() == chunkSize) {
+                   chunk = flush(performedBy, chunk, out);
+               }
+           }
+           flush(performedBy, chunk, out);
+           resultWriter.writeValue(generator, summary);
+           generator.writeRaw('\n');
+           generator.flush();
+       }
+       log.info("{} imported {} tasks, {} failed", performedBy, summary.getSucceeded(), summary.getFailed());
+       return summary;
+   }
+
+
+   private Chunk flush(Integer performedBy, Chunk chunk, Output out) throws IOException {
+       List<BatchItemResult<TaskManagementDto>> results = List.of();
+       if (!chunk.parsed.isEmpty()) {
+           TaskCreateRequest request = new TaskCreateRequest();
+           request.setPerformedBy(performedBy);
+           request.setRequests(chunk.parsed);
+           results = taskManagementService.createTasksBatch(request);
+       }
+       // results come back in the order of the parsed items; rejected positions are filled in between
+       int next = 0;
+       for (int position = 0; position < chunk.size(); position++) {
+           int index = chunk.firstIndex + position;
+           String rejection = chunk.rejections.get(position);
+           if (rejection != null) {
+               out.write(BatchItemResult.failed(index, StatusCode.BAD_REQUEST, rejection));
+           } else {
+               BatchItemResult<TaskManagementDto> result = results.get(next++);
+               result.setIndex(index);
+               out.write(result);
+           }
+       }
+       out.generator().flush();
+       return new Chunk(chunk.firstIndex + chunk.size());
+   }
+
+
+   private static final class Chunk {
+       final int firstIndex;
+       final List<TaskCreateRequest.RequestItem> parsed = new ArrayList<>();
+       final Map<Integer, String> rejections = new HashMap<>();
+
+       Chunk(int firstIndex) {
+           this.firstIndex = firstIndex;
+       }
+
+       void add(TaskCreateRequest.RequestItem item) {
+           parsed.add(item);
+       }
+
+       void reject(String message) {
+           rejections.put(size(), message);
+       }
+
+       int size() {
+           return parsed.size() + rejections.size();
+       }
+   }
+
+
+   private record Output(JsonGenerator generator, ObjectWriter writer, TaskImportSummary summary, boolean summaryOnly) {
+
+       void write(BatchItemResult<?> result) throws IOException {
+           summary.setTotal(summary.getTotal() + 1);
+           if (result.getStatus().getCode() == StatusCode.SUCCESS.getCode()) {
+               summary.setSucceeded(summary.getSucceeded() + 1);
+           } else {
+               summary.setFailed(summary.getFailed() + 1);
+           }
+           if (!summaryOnly) {
+               writer.writeValue(generator, result);
+               generator.writeRaw('\n');
+           }
+       }
+   }
+}
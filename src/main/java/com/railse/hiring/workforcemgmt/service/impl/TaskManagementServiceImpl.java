@@ -1,25 +1,54 @@
 package com.railse.hiring.workforcemgmt.service.impl;
 
 
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
 import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.common.exception.StatusCode;
+import com.railse.hiring.workforcemgmt.common.exception.VersionConflictException;
+import com.railse.hiring.workforcemgmt.common.model.response.PageCursor;
+import com.railse.hiring.workforcemgmt.common.model.response.Pagination;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
 import com.railse.hiring.workforcemgmt.model.TaskActivity;
 import com.railse.hiring.workforcemgmt.model.TaskComment;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.Task;
 import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryPage;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
 import com.railse.hiring.workforcemgmt.repository.TaskRepository;
 import com.railse.hiring.workforcemgmt.service.TaskManagementService;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service
@@ -28,12 +57,53 @@ public class TaskManagementServiceImpl implements TaskManagementService {
 
 
    private final TaskRepository taskRepository;
-   private final ITaskManagementMapper taskMapper;
+   private final ReferenceLockManager referenceLocks;
+   // activities and comments are appended here only once the save they describe has succeeded
+   private final TaskHistoryStore historyStore;
+   private final int defaultPageSize;
+   private final int maxPageSize;
+   private final TaskViews views;
+   // splits fetches over many assignees across a fork-join pool
+   private final ParallelAssigneeQuery assigneeQuery;
+   // rows behind the pages of fetch-by-date and by-priority, dropped by the saves that change them
+   private final TaskQueryCache queryCache;
+   // the per-call timers come from MetricsConfig; these count what the calls did
+   private final Map<ActivityAction, Counter> cancellations = new EnumMap<>(ActivityAction.class);
+   private final Counter reassignments;
+
+
+   public TaskManagementServiceImpl(TaskRepository taskRepository, ITaskManagementMapper taskMapper,
+                                    ReferenceLockManager referenceLocks) {
+       this(taskRepository, taskMapper, referenceLocks, new TaskHistoryStore());
+   }
+
 
+   public TaskManagementServiceImpl(TaskRepository taskRepository, ITaskManagementMapper taskMapper,
+                                    ReferenceLockManager referenceLocks, TaskHistoryStore historyStore) {
+       this(taskRepository, taskMapper, referenceLocks, historyStore, new ParallelAssigneeQuery(256, 0),
+               new TaskQueryCache(taskRepository, 0), new SimpleMeterRegistry(), 100, 1000, 20);
+   }
 
-   public TaskManagementServiceImpl(TaskRepository taskRepository, ITaskManagementMapper taskMapper) {
+
+   @Autowired
+   public TaskManagementServiceImpl(TaskRepository taskRepository, ITaskManagementMapper taskMapper,
+                                    ReferenceLockManager referenceLocks, TaskHistoryStore historyStore,
+                                    ParallelAssigneeQuery assigneeQuery, TaskQueryCache queryCache,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${workforcemgmt.pagination.default-page-size:100}") int defaultPageSize,
+                                    @Value("${workforcemgmt.pagination.max-page-size:1000}") int maxPageSize,
+                                    @Value("${workforcemgmt.history.recent-entries:20}") int recentHistoryEntries) {
        this.taskRepository = taskRepository;
-       this.taskMapper = taskMapper;
+       this.referenceLocks = referenceLocks;
+       this.historyStore = historyStore;
+       this.assigneeQuery = assigneeQuery;
+       this.queryCache = queryCache;
+       this.defaultPageSize = defaultPageSize;
+       this.maxPageSize = maxPageSize;
+       this.views = new TaskViews(taskMapper, historyStore, recentHistoryEntries);
+       cancellations.put(ActivityAction.CANCELLED_FOR_NEW_TASK, meterRegistry.counter("workforcemgmt.tasks.cancelled", "reason", "new-task"));
+       cancellations.put(ActivityAction.CANCELLED_FOR_REASSIGNMENT, meterRegistry.counter("workforcemgmt.tasks.cancelled", "reason", "reassignment"));
+       this.reassignments = meterRegistry.counter("workforcemgmt.tasks.reassigned");
    }
 
 
@@ -41,7 +111,49 @@ public class TaskManagementServiceImpl implements TaskManagementService {
    public TaskManagementDto findTaskById(Long id) {
        TaskManagement task = taskRepository.findById(id)
                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
-       return taskMapper.modelToDto(task);
+       return views.toDto(task);
+   }
+
+   @Override
+   public String taskTag(Long id) {
+       TaskManagement task = taskRepository.findById(id)
+               .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+       return views.tag(task);
+   }
+
+
+   @Override
+   public HistoryPage<TaskActivity> fetchActivities(Long id, Long from, Long to, Set<ActivityAction> actions,
+                                                    String cursor, Integer pageSize) {
+       requireTask(id);
+       int size = pageSize(pageSize);
+       return historyPage(historyStore.activities(id, from, to, actions, historyCursor(cursor), size), size);
+   }
+
+
+   @Override
+   public HistoryPage<TaskComment> fetchComments(Long id, Long from, Long to, String cursor, Integer pageSize) {
+       requireTask(id);
+       int size = pageSize(pageSize);
+       return historyPage(historyStore.comments(id, from, to, historyCursor(cursor), size), size);
+   }
+
+
+   private void requireTask(Long id) {
+       if (taskRepository.findById(id).isEmpty()) {
+           throw new ResourceNotFoundException("Task not found with id: " + id);
+       }
+   }
+
+
+   private static Long historyCursor(String cursor) {
+       return cursor == null ? null : PageCursor.decode(cursor).id();
+   }
+
+
+   private static <T> HistoryPage<T> historyPage(TaskHistoryPage<T> page, int pageSize) {
+       String nextCursor = page.hasMore() ? PageCursor.afterId(page.lastPosition()).encode() : null;
+       return new HistoryPage<>(page.entries(), new Pagination(pageSize, nextCursor, page.hasMore()));
    }
 
 
@@ -49,17 +161,28 @@ public class TaskManagementServiceImpl implements TaskManagementService {
    public List<TaskManagementDto> createTasks(TaskCreateRequest createRequest) {
     List<TaskManagement> createdTasks = new ArrayList<>();
     for (TaskCreateRequest.RequestItem item : createRequest.getRequests()) {
+        ReferenceKey reference = new ReferenceKey(item.getReferenceId(), item.getReferenceType());
+        // the cancel-and-create sequence must not interleave with another one for the same reference
+        createdTasks.add(referenceLocks.withLock(reference, () -> createTask(createRequest.getPerformedBy(), item)));
+    }
+
+    return views.toDtos(createdTasks);
+}
+
+
+   private TaskManagement createTask(Integer performedBy, TaskCreateRequest.RequestItem item) {
         // BUG #1: while creating new tasks the same check needs to be done to prevent the same bug while task creation.
         // 1. Fetch all tasks for this reference
         List<TaskManagement> existingTasks = taskRepository.findByReferenceIdAndReferenceType(
                 item.getReferenceId(), item.getReferenceType());
 
-        // 2. Cancel existing tasks of the same task type (not completed)
+        // 2. Cancel existing tasks of the same task type (not completed or already cancelled)
         for (TaskManagement existing : existingTasks) {
-            if (existing.getTask().equals(item.getTask())  && existing.getStatus() != TaskStatus.COMPLETED) {
-                existing.setStatus(TaskStatus.CANCELLED);
-                logActivity(existing, createRequest.getPerformedBy() + " cancelled Task with ID: " + existing.getId() + " for new task creation");
-                taskRepository.save(existing);
+            if (existing.getTask().equals(item.getTask()) && existing.getStatus() != TaskStatus.COMPLETED
+                    && existing.getStatus() != TaskStatus.CANCELLED) {
+                if (cancel(existing.getId())) {
+                    logActivity(existing.getId(), ActivityAction.CANCELLED_FOR_NEW_TASK, performedBy);
+                }
             }
         }
 
@@ -73,13 +196,11 @@ public class TaskManagementServiceImpl implements TaskManagementService {
         newTask.setTaskDeadlineTime(item.getTaskDeadlineTime());
         newTask.setStatus(TaskStatus.ASSIGNED);
         newTask.setDescription("New task created.");
-        createdTasks.add(taskRepository.save(newTask));
-        logActivity(newTask, createRequest.getPerformedBy() + " create Task with ID: " + newTask.getId());
-        log.info(createRequest.getPerformedBy() + " create Task with ID: " + newTask.getId());
-    }
-
-    return taskMapper.modelListToDtoList(createdTasks);
-}
+        taskRepository.save(newTask);
+        logActivity(newTask.getId(), ActivityAction.CREATED, performedBy);
+        log.info("{} created task {}", performedBy, newTask.getId());
+        return newTask;
+   }
 
 
 
@@ -87,33 +208,257 @@ public class TaskManagementServiceImpl implements TaskManagementService {
    public List<TaskManagementDto> updateTasks(UpdateTaskRequest updateRequest) {
        List<TaskManagement> updatedTasks = new ArrayList<>();
        for (UpdateTaskRequest.RequestItem item : updateRequest.getRequests()) {
-           TaskManagement task = taskRepository.findById(item.getTaskId())
+           TaskManagement found = taskRepository.findById(item.getTaskId())
                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + item.getTaskId()));
 
+           // a status change must not race with an assign-by-ref cancelling the same task
+           updatedTasks.add(referenceLocks.withLock(ReferenceKey.of(found), () -> {
+               TaskManagement updated = mutate(found.getId(), item.getExpectedVersion(), task -> {
+                   if (item.getTaskStatus() != null) {
+                       task.setStatus(item.getTaskStatus());
+                   }
+                   if (item.getDescription() != null) {
+                       task.setDescription(item.getDescription());
+                   }
+               });
+               logActivity(updated.getId(), ActivityAction.UPDATED, updateRequest.getPerformedBy());
+               return updated;
+           }));
+       }
+       
+       return views.toDtos(updatedTasks);
+   }
 
+
+   // Batch variant of createTasks: items are grouped by reference, the existing tasks of all references are
+   // resolved in one index pass, and the cancellations and inserts go to the repository as one bulk save.
+   // Items are applied in request order, so the outcome matches createTasks for the same items.
+   @Override
+   public List<BatchItemResult<TaskManagementDto>> createTasksBatch(TaskCreateRequest createRequest) {
+       List<TaskCreateRequest.RequestItem> items = createRequest.getRequests();
+       List<BatchItemResult<TaskManagementDto>> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+       Map<ReferenceKey, List<Integer>> itemsByReference = new LinkedHashMap<>();
+       for (int index = 0; index < items.size(); index++) {
+           TaskCreateRequest.RequestItem item = items.get(index);
+           if (item.getReferenceId() == null || item.getReferenceType() == null || item.getTask() == null) {
+               results.set(index, BatchItemResult.failed(index, StatusCode.BAD_REQUEST,
+                       "reference_id, reference_type and task are required"));
+               continue;
+           }
+           ReferenceKey reference = new ReferenceKey(item.getReferenceId(), item.getReferenceType());
+           itemsByReference.computeIfAbsent(reference, key -> new ArrayList<>()).add(index);
+       }
+
+       if (!itemsByReference.isEmpty()) {
+           try {
+               referenceLocks.withLocks(itemsByReference.keySet(),
+                       () -> applyCreates(createRequest.getPerformedBy(), items, itemsByReference, results));
+           } catch (RuntimeException e) {
+               // a storage failure fails every item whose task was not written before it
+               log.error("Batch create failed", e);
+               fillFailures(results, e);
+           }
+       }
+       return results;
+   }
+
+
+   private int applyCreates(Integer performedBy, List<TaskCreateRequest.RequestItem> items,
+                            Map<ReferenceKey, List<Integer>> itemsByReference,
+                            List<BatchItemResult<TaskManagementDto>> results) {
+       Map<ReferenceKey, List<TaskManagement>> existingByReference = taskRepository.findByReferences(itemsByReference.keySet());
+
+       // the new tasks get their ids up front, so later items can cancel them before anything is written
+       Map<Integer, TaskManagement> created = new TreeMap<>();
+       Map<Long, TaskManagement> cancelled = new LinkedHashMap<>();
+       List<TaskActivity> activities = new ArrayList<>();
+       for (Map.Entry<ReferenceKey, List<Integer>> group : itemsByReference.entrySet()) {
+           List<TaskManagement> referenceTasks = new ArrayList<>(existingByReference.getOrDefault(group.getKey(), List.of()));
+           for (int index : group.getValue()) {
+               TaskCreateRequest.RequestItem item = items.get(index);
+               for (TaskManagement existing : referenceTasks) {
+                   if (existing.getTask().equals(item.getTask()) && existing.getStatus() != TaskStatus.COMPLETED
+                           && existing.getStatus() != TaskStatus.CANCELLED) {
+                       existing.setStatus(TaskStatus.CANCELLED);
+                       activities.add(TaskActivity.of(existing.getId(), ActivityAction.CANCELLED_FOR_NEW_TASK, performedBy));
+                       if (existing.getVersion() != null) {
+                           cancelled.put(existing.getId(), existing);
+                       }
+                   }
+               }
+               TaskManagement newTask = newTask(item);
+               newTask.setId(taskRepository.nextId());
+               activities.add(TaskActivity.of(newTask.getId(), ActivityAction.CREATED, performedBy));
+               created.put(index, newTask);
+               referenceTasks.add(newTask);
+           }
+       }
+
+       // cancellations go first, so a reference never shows two open tasks of the same type, and a task that a
+       // later item cancelled is inserted already cancelled
+       List<TaskManagement> writes = new ArrayList<>(cancelled.values());
+       writes.addAll(created.values());
+       List<Long> versionsBefore = writes.stream().map(TaskManagement::getVersion).toList();
+       try {
+           taskRepository.saveAll(writes);
+       } finally {
+           // saveAll stops at the first failure; whatever was written before it still gets its history and result
+           Set<Long> written = new HashSet<>();
+           for (int i = 0; i < writes.size(); i++) {
+               if (!Objects.equals(writes.get(i).getVersion(), versionsBefore.get(i))) {
+                   written.add(writes.get(i).getId());
+               }
+           }
+           for (TaskActivity activity : activities) {
+               if (written.contains(activity.getTaskId())) {
+                   recordActivity(activity);
+               }
+           }
+           created.forEach((index, task) -> {
+               if (written.contains(task.getId())) {
+                   results.set(index, BatchItemResult.succeeded(index, views.toDto(task)));
+               }
+           });
+           log.info("{} created {} of {} tasks in batch", performedBy, created.values().stream()
+                   .filter(task -> written.contains(task.getId())).count(), created.size());
+       }
+       return created.size();
+   }
+
+
+   private static TaskManagement newTask(TaskCreateRequest.RequestItem item) {
+       TaskManagement newTask = new TaskManagement();
+       newTask.setReferenceId(item.getReferenceId());
+       newTask.setReferenceType(item.getReferenceType());
+       newTask.setTask(item.getTask());
+       newTask.setAssigneeId(item.getAssigneeId());
+       newTask.setPriority(item.getPriority());
+       newTask.setTaskDeadlineTime(item.getTaskDeadlineTime());
+       newTask.setStatus(TaskStatus.ASSIGNED);
+       newTask.setDescription("New task created.");
+       return newTask;
+   }
+
+
+   // Batch variant of updateTasks. A missing task or a stale expected_version only fails its own item;
+   // expected_version is compared with the version the task had before the batch.
+   @Override
+   public List<BatchItemResult<TaskManagementDto>> updateTasksBatch(UpdateTaskRequest updateRequest) {
+       List<UpdateTaskRequest.RequestItem> items = updateRequest.getRequests();
+       List<BatchItemResult<TaskManagementDto>> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+       Set<Long> taskIds = items.stream()
+               .map(UpdateTaskRequest.RequestItem::getTaskId)
+               .filter(Objects::nonNull)
+               .collect(Collectors.toCollection(LinkedHashSet::new));
+       // a task's reference never changes, so the locks taken from this first read cover the re-read below
+       Set<ReferenceKey> references = taskRepository.findAllById(taskIds).stream()
+               .map(ReferenceKey::of)
+               .collect(Collectors.toSet());
+
+       try {
+           Map<Integer, TaskManagement> updated = referenceLocks.withLocks(references,
+                   () -> applyUpdates(updateRequest.getPerformedBy(), items, taskIds, results));
+           updated.forEach((index, task) -> results.set(index, BatchItemResult.succeeded(index, views.toDto(task))));
+       } catch (RuntimeException e) {
+           log.error("Batch update failed", e);
+           fillFailures(results, e);
+       }
+       return results;
+   }
+
+
+   private Map<Integer, TaskManagement> applyUpdates(Integer performedBy, List<UpdateTaskRequest.RequestItem> items,
+                                                     Set<Long> taskIds, List<BatchItemResult<TaskManagementDto>> results) {
+       Map<Long, TaskManagement> tasks = new HashMap<>();
+       Map<Long, Long> versionsBefore = new HashMap<>();
+       for (TaskManagement task : taskRepository.findAllById(taskIds)) {
+           tasks.put(task.getId(), task);
+           versionsBefore.put(task.getId(), task.getVersion());
+       }
+
+       Map<Integer, TaskManagement> updated = new TreeMap<>();
+       Map<Long, TaskManagement> changed = new LinkedHashMap<>();
+       List<Long> activityTaskIds = new ArrayList<>();
+       for (int index = 0; index < items.size(); index++) {
+           UpdateTaskRequest.RequestItem item = items.get(index);
+           TaskManagement task = item.getTaskId() == null ? null : tasks.get(item.getTaskId());
+           if (task == null) {
+               results.set(index, BatchItemResult.failed(index, StatusCode.NOT_FOUND, "Task not found with id: " + item.getTaskId()));
+               continue;
+           }
+           Long versionBefore = versionsBefore.get(task.getId());
+           if (item.getExpectedVersion() != null && !item.getExpectedVersion().equals(versionBefore)) {
+               results.set(index, BatchItemResult.failed(index, StatusCode.CONFLICT,
+                       new VersionConflictException(task.getId(), item.getExpectedVersion(), versionBefore).getMessage()));
+               continue;
+           }
            if (item.getTaskStatus() != null) {
                task.setStatus(item.getTaskStatus());
            }
            if (item.getDescription() != null) {
                task.setDescription(item.getDescription());
            }
-           logActivity(task, updateRequest.getPerformedBy() + " updated Task with ID: " + task.getId());
-           updatedTasks.add(taskRepository.save(task));
+           activityTaskIds.add(task.getId());
+           changed.put(task.getId(), task);
+           updated.put(index, task);
+       }
+       taskRepository.saveAll(new ArrayList<>(changed.values()));
+       for (Long taskId : activityTaskIds) {
+           logActivity(taskId, ActivityAction.UPDATED, performedBy);
+       }
+       return updated;
+   }
+
+
+   private static void fillFailures(List<BatchItemResult<TaskManagementDto>> results, RuntimeException e) {
+       StatusCode code = e instanceof VersionConflictException ? StatusCode.CONFLICT
+               : e instanceof ResourceNotFoundException ? StatusCode.NOT_FOUND
+               : StatusCode.INTERNAL_SERVER_ERROR;
+       for (int index = 0; index < results.size(); index++) {
+           if (results.get(index) == null) {
+               results.set(index, BatchItemResult.failed(index, code, e.getMessage()));
+           }
        }
-       
-       return taskMapper.modelListToDtoList(updatedTasks);
    }
 
 
    @Override
    public String assignByReference(AssignByReferenceRequest request) {
+       ReferenceKey reference = new ReferenceKey(request.getReferenceId(), request.getReferenceType());
+       // read, cancel and re-create as one step per reference, otherwise two concurrent
+       // assignments can both see the old task and each leave an ASSIGNED task behind
+       Long assigneeId = referenceLocks.withLock(reference, () -> {
+           if (request.isAutoAssign()) {
+               request.setAssigneeId(leastLoadedAssignee(request.getCandidateAssigneeIds()));
+           }
+           reassign(request);
+           return request.getAssigneeId();
+       });
+       if (request.isAutoAssign()) {
+           return "Tasks assigned successfully for reference " + request.getReferenceId() + " to assignee " + assigneeId;
+       }
+       return "Tasks assigned successfully for reference " + request.getReferenceId();
+   }
+
+
+   // Decided on the repository's load index, so it costs a pass over the candidates (or one skip list read
+   // without candidates) rather than loading their tasks. Concurrent auto-assignments for different
+   // references are not coordinated and may pick the same assignee.
+   private Long leastLoadedAssignee(List<Long> candidates) {
+       return taskRepository.findLeastLoadedAssignee(candidates == null ? List.of() : candidates)
+               .orElseThrow(() -> new BadRequestException("No assignee available for auto-assignment"));
+   }
+
+
+   private void reassign(AssignByReferenceRequest request) {
        List<Task> applicableTasks = Task.getTasksByReferenceType(request.getReferenceType());
        List<TaskManagement> existingTasks = taskRepository.findByReferenceIdAndReferenceType(request.getReferenceId(), request.getReferenceType());
 
 
        for (Task taskType : applicableTasks) {
            List<TaskManagement> tasksOfType = existingTasks.stream()
-                   .filter(t -> t.getTask() == taskType && t.getStatus() != TaskStatus.COMPLETED)
+                   .filter(t -> t.getTask() == taskType && t.getStatus() != TaskStatus.COMPLETED
+                           && t.getStatus() != TaskStatus.CANCELLED)
                    .collect(Collectors.toList());
 
 
@@ -125,9 +470,9 @@ public class TaskManagementServiceImpl implements TaskManagementService {
 
                 // Cancel all previous tasks
                 for (TaskManagement oldTask : tasksOfType) {
-                    oldTask.setStatus(TaskStatus.CANCELLED);
-                    logActivity(oldTask, request.getPerformedBy() + " cancelled Task with ID: " + oldTask.getId() + " Due to new assignment");
-                    taskRepository.save(oldTask);
+                    if (cancel(oldTask.getId())) {
+                        logActivity(oldTask.getId(), ActivityAction.CANCELLED_FOR_REASSIGNMENT, request.getPerformedBy());
+                    }
                 }
 
                 // Create a new task for the new assignee
@@ -137,8 +482,9 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                 newTask.setTask(taskType);
                 newTask.setAssigneeId(request.getAssigneeId());
                 newTask.setStatus(TaskStatus.ASSIGNED);
-                logActivity(newTask, request.getPerformedBy() + " assigned Task with ID: " + newTask.getId());
                 taskRepository.save(newTask);
+                logActivity(newTask.getId(), ActivityAction.ASSIGNED, request.getPerformedBy());
+                reassignments.increment();
             } else {
                // Create a new task if none exist
                TaskManagement newTask = new TaskManagement();
@@ -147,33 +493,65 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                newTask.setTask(taskType);
                newTask.setAssigneeId(request.getAssigneeId());
                newTask.setStatus(TaskStatus.ASSIGNED);
-                logActivity(newTask, request.getPerformedBy() + " assigned Task with ID: " + newTask.getId());
                taskRepository.save(newTask);
+               logActivity(newTask.getId(), ActivityAction.ASSIGNED, request.getPerformedBy());
            }
        }
-       return "Tasks assigned successfully for reference " + request.getReferenceId();
    }
 
    @Override
-    public List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request) {
-        log.info("here");
-        List<TaskManagement> tasks = taskRepository.findByAssigneeIdIn(request.getAssigneeIds());
-        log.info("Tasks fetched: {}", tasks.size());
-        Long start = request.getStartDate();
-        Long end = request.getEndDate();
+    public TaskPage<Object> fetchTasksByDate(TaskFetchByDateRequest request) {
+        int pageSize = pageSize(request.getPageSize());
+        List<TaskManagement> rows = queryCache.byDeadline(request.getAssigneeIds(), request.getStartDate(),
+                request.getEndDate(), false, deadlineCursor(request.getCursor()), pageSize + 1,
+                () -> firstRows(tasksByDate(request, pageSize + 1L), pageSize));
+        TaskPage<Object> page = deadlinePage(rows, pageSize, projection(request));
+        log.debug("Tasks fetched: {}", page.getTasks().size());
+        return page;
+    }
 
-        List<TaskManagement> filteredTasks = tasks.stream()
-                .filter(task -> task.getStatus() != TaskStatus.CANCELLED)
-                .filter(task -> task.getTaskDeadlineTime() >= start && task.getTaskDeadlineTime() <= end)
-                .collect(Collectors.toList());
+    @Override
+    public Stream<Object> streamTasksByDate(TaskFetchByDateRequest request) {
+        TaskProjection projection = projection(request);
+        return assigneeQuery.byDeadline(request.getAssigneeIds(), tasksByDate(request))
+                .map(task -> views.project(task, projection));
+    }
 
-        log.info("Filtered tasks: {}", filteredTasks.size());
+    private Stream<TaskManagement> tasksByDate(TaskFetchByDateRequest request, long limit) {
+        return assigneeQuery.byDeadline(request.getAssigneeIds(), tasksByDate(request), limit);
+    }
+
+    private Function<List<Long>, Stream<TaskManagement>> tasksByDate(TaskFetchByDateRequest request) {
+        // the deadline index already narrows the tasks to the [start, end] window, in (deadline, id) order
+        PageCursor after = deadlineCursor(request.getCursor());
+        return assignees -> taskRepository
+                .streamByAssigneeIdInAndDeadlineBetween(assignees,
+                        request.getStartDate(), request.getEndDate(), false,
+                        after == null ? null : after.deadline(), after == null ? null : after.id())
+                .filter(task -> task.getStatus() != TaskStatus.CANCELLED);
+    }
 
-        return taskMapper.modelListToDtoList(filteredTasks);
+    @Override
+    public TaskPage<Object> smartFetchTasksByDate(TaskFetchByDateRequest request) {
+        int pageSize = pageSize(request.getPageSize());
+        List<TaskManagement> rows = queryCache.byDeadline(request.getAssigneeIds(), null, request.getEndDate(), true,
+                deadlineCursor(request.getCursor()), pageSize + 1,
+                () -> firstRows(smartTasksByDate(request, pageSize + 1L), pageSize));
+        return deadlinePage(rows, pageSize, projection(request));
     }
 
     @Override
-    public List<TaskManagementDto> smartFetchTasksByDate(TaskFetchByDateRequest request) {
+    public Stream<Object> streamSmartTasksByDate(TaskFetchByDateRequest request) {
+        TaskProjection projection = projection(request);
+        return assigneeQuery.byDeadline(request.getAssigneeIds(), smartTasksByDate(request))
+                .map(task -> views.project(task, projection));
+    }
+
+    private Stream<TaskManagement> smartTasksByDate(TaskFetchByDateRequest request, long limit) {
+        return assigneeQuery.byDeadline(request.getAssigneeIds(), smartTasksByDate(request), limit);
+    }
+
+    private Function<List<Long>, Stream<TaskManagement>> smartTasksByDate(TaskFetchByDateRequest request) {
         // due to ambiguity in the requirements, and inability to claryfy with the client,
         // the following requirements are give:
         // 1. All active tasks that started within that range.
@@ -190,48 +568,200 @@ public class TaskManagementServiceImpl implements TaskManagementService {
         // That can only be handled in Inference 2, which is not implemented here.
         // But i wish to make a point that in the doing of this assignment, i am fully aware of both inferences and the implications of each.
         // If the client wants to change this, i would be happy to do so. 
-        List<TaskManagement> tasks = taskRepository.findByAssigneeIdIn(request.getAssigneeIds());
-        Long end = request.getEndDate();
-
-        List<TaskManagement> dueByTasks = tasks.stream()
-            // only active tasks
-            .filter(t -> t.getStatus() == TaskStatus.ASSIGNED || t.getStatus() == TaskStatus.STARTED)
-            // due on or before the end date
-            .filter(t -> t.getTaskDeadlineTime() <= end)
-            .collect(Collectors.toList());
-
-        return taskMapper.modelListToDtoList(dueByTasks);
+        // only active tasks, due on or before the end date - answered as a range scan of the active deadline index
+        PageCursor after = deadlineCursor(request.getCursor());
+        return assignees -> taskRepository
+                .streamByAssigneeIdInAndDeadlineBetween(assignees, null, request.getEndDate(), true,
+                        after == null ? null : after.deadline(), after == null ? null : after.id());
     }
 
     @Override
     public String updateTaskPriority(Long taskId, UpdatePriorityRequest request) {
-        TaskManagement task = taskRepository.findById(taskId)
+        TaskManagement found = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
 
-        task.setPriority(request.getPriority());
-        logActivity(task, "Task priority updated to " + request.getPriority() + " by " + request.getPerformedBy());
-        taskRepository.save(task);
+        referenceLocks.withLock(ReferenceKey.of(found), () ->
+                mutate(taskId, request.getExpectedVersion(), task -> task.setPriority(request.getPriority())));
+        historyStore.addActivity(taskId, new TaskActivity(taskId, ActivityAction.PRIORITY_CHANGED, request.getPerformedBy(),
+                request.getPriority().name(), System.currentTimeMillis()));
         return "Task priority updated successfully";
     }
 
     @Override
-    public List<TaskManagementDto> fetchTasksByPriority(Priority priority) {
+    public TaskPage<Object> fetchTasksByPriority(Priority priority, String cursor, Integer pageSize, TaskProjection projection) {
         // only returns the active tasks with the given priority
         // NOTE: This is a design choice for this example.
         // In a real world scenario, i would want to return all tasks with the given priority along with more filters such as assignee and time-range based fetching
-        List<TaskManagement> tasks = taskRepository.findByPriority(priority);
-        return taskMapper.modelListToDtoList(tasks);
+        int size = pageSize(pageSize);
+        return page(priorityRows(priority, cursor, size), size, task -> PageCursor.afterId(task.getId()), projection);
     }
-    private void logActivity(TaskManagement task, String message) {
 
-        TaskActivity activity = new TaskActivity();
-        activity.setDescription(message);
-        activity.setTimestamp(System.currentTimeMillis());
-        task.getActivities().add(activity);
+    // the same rows as the page, so a poll that is answered from this costs a cache hit and no mapping
+    @Override
+    public String tasksByPriorityTag(Priority priority, String cursor, Integer pageSize, TaskProjection projection) {
+        return views.tag(priorityRows(priority, cursor, pageSize(pageSize)), projection);
     }
 
-    public String addComment(Long taskId, AddCommentRequest request) {
+    private List<TaskManagement> priorityRows(Priority priority, String cursor, int pageSize) {
+        return queryCache.byPriority(priority, priorityCursor(cursor), pageSize + 1,
+                () -> firstRows(tasksByPriority(priority, cursor), pageSize));
+    }
+
+    @Override
+    public Stream<Object> streamTasksByPriority(Priority priority, String cursor, TaskProjection projection) {
+        return tasksByPriority(priority, cursor).map(task -> views.project(task, projection));
+    }
+
+    private Stream<TaskManagement> tasksByPriority(Priority priority, String cursor) {
+        PageCursor after = priorityCursor(cursor);
+        return taskRepository.streamByPriority(priority, after == null ? null : after.id());
+    }
+
+    private static PageCursor priorityCursor(String cursor) {
+        return cursor == null ? null : PageCursor.decode(cursor);
+    }
+
+    // Reads one task past the page to learn whether another page follows; nothing beyond that is loaded.
+    private static List<TaskManagement> firstRows(Stream<TaskManagement> tasks, int pageSize) {
+        return tasks.limit(pageSize + 1L).toList();
+    }
+
+    private TaskPage<Object> page(List<TaskManagement> rows, int pageSize, Function<TaskManagement, PageCursor> cursorOf,
+                                  TaskProjection projection) {
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskManagement> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(pageRows.get(pageSize - 1)).encode() : null;
+        List<Object> projected = new ArrayList<>(pageRows.size());
+        for (TaskManagement task : pageRows) {
+            projected.add(views.project(task, projection));
+        }
+        return new TaskPage<>(projected, new Pagination(pageSize, nextCursor, hasMore));
+    }
+
+    private TaskPage<Object> deadlinePage(List<TaskManagement> rows, int pageSize, TaskProjection projection) {
+        return page(rows, pageSize, task -> new PageCursor(task.getTaskDeadlineTime(), task.getId()), projection);
+    }
+
+    private static TaskProjection projection(TaskFetchByDateRequest request) {
+        return TaskProjection.of(request.getProjection(), request.getFields());
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested < 1) {
+            throw new BadRequestException("page_size must be positive");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    private static PageCursor deadlineCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        if (after.deadline() == null) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+        return after;
+    }
+    // With an expected version the save only succeeds against that exact version, so a client editing a stale
+    // copy gets a conflict instead of silently overwriting; without one the change is retried on the latest copy.
+    private TaskManagement mutate(Long taskId, Long expectedVersion, Consumer<TaskManagement> mutation) {
+        if (expectedVersion == null) {
+            return taskRepository.update(taskId, mutation);
+        }
         TaskManagement task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        task.setVersion(expectedVersion);
+        mutation.accept(task);
+        return taskRepository.save(task);
+    }
+
+    // Cancels the task unless it has completed in the meantime; reports whether this call cancelled it.
+    // The mutation may run more than once under contention, so the outcome is taken from the last attempt.
+    private boolean cancel(Long taskId) {
+        boolean[] cancelled = new boolean[1];
+        taskRepository.update(taskId, task -> {
+            // a task cancelled since it was read is not cancelled, or recorded, a second time
+            cancelled[0] = task.getStatus() != TaskStatus.COMPLETED && task.getStatus() != TaskStatus.CANCELLED;
+            if (cancelled[0]) {
+                task.setStatus(TaskStatus.CANCELLED);
+            }
+        });
+        return cancelled[0];
+    }
+
+    // Called by the deadline scheduler once the deadline has passed. The task is re-checked on every attempt,
+    // since it may have been completed or given a new deadline after the scheduler picked it.
+    @Override
+    public boolean escalateOverdueTask(Long taskId, long deadline, boolean raisePriority) {
+        TaskManagement found = taskRepository.findById(taskId).orElse(null);
+        if (found == null || !overdue(found, deadline)) {
+            return false;
+        }
+        if (!raisePriority || found.getPriority() == null || found.getPriority() == Priority.HIGH) {
+            // nothing about the task changes, so it is not rewritten; the escalation is only recorded
+            historyStore.addActivity(taskId, new TaskActivity(taskId, ActivityAction.ESCALATED, null,
+                    found.getPriority() == null ? null : found.getPriority().name(), System.currentTimeMillis()));
+            return true;
+        }
+        boolean[] escalated = new boolean[1];
+        TaskManagement saved = referenceLocks.withLock(ReferenceKey.of(found), () -> taskRepository.update(taskId, task -> {
+            escalated[0] = overdue(task, deadline);
+            if (escalated[0] && raisePriority && task.getPriority() != null && task.getPriority() != Priority.HIGH) {
+                task.setPriority(Priority.values()[task.getPriority().ordinal() + 1]);
+            }
+        }));
+        if (escalated[0]) {
+            historyStore.addActivity(taskId, new TaskActivity(taskId, ActivityAction.ESCALATED, null,
+                    saved.getPriority() == null ? null : saved.getPriority().name(), System.currentTimeMillis()));
+        }
+        return escalated[0];
+    }
+
+    private static boolean overdue(TaskManagement task, long deadline) {
+        return (task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED)
+                && task.getTaskDeadlineTime() != null && task.getTaskDeadlineTime() == deadline
+                && deadline <= System.currentTimeMillis();
+    }
+
+    private void logActivity(Long taskId, ActivityAction action, Integer performedBy) {
+        recordActivity(TaskActivity.of(taskId, action, performedBy));
+    }
+
+    // every cancellation is recorded as an activity, whichever path made it
+    private void recordActivity(TaskActivity activity) {
+        Counter cancelled = cancellations.get(activity.getAction());
+        if (cancelled != null) {
+            cancelled.increment();
+        }
+        historyStore.addActivity(activity.getTaskId(), activity);
+    }
+
+    // Served from the repository's workload counters; no task is loaded.
+    @Override
+    public List<AssigneeWorkloadDto> fetchWorkload(List<Long> assigneeIds, Set<TaskStatus> statuses) {
+        Set<TaskStatus> counted = statuses == null || statuses.isEmpty()
+                ? EnumSet.of(TaskStatus.ASSIGNED, TaskStatus.STARTED) : statuses;
+        List<AssigneeWorkloadDto> workloads = new ArrayList<>(assigneeIds.size());
+        for (Long assigneeId : new LinkedHashSet<>(assigneeIds)) {
+            Map<TaskStatus, Map<Priority, Long>> counts = taskRepository.countByAssigneeId(assigneeId);
+            counts.keySet().retainAll(counted);
+            long total = 0;
+            for (Map<Priority, Long> byPriority : counts.values()) {
+                for (long count : byPriority.values()) {
+                    total += count;
+                }
+            }
+            workloads.add(new AssigneeWorkloadDto(assigneeId, counts, total));
+        }
+        return workloads;
+    }
+
+    public String addComment(Long taskId, AddCommentRequest request) {
+        TaskManagement found = taskRepository.findById(taskId)
             .orElseThrow(() -> new RuntimeException("Task not found"));
 
         TaskComment comment = new TaskComment();
@@ -239,10 +769,9 @@ public class TaskManagementServiceImpl implements TaskManagementService {
         comment.setCreatedBy(request.getCreatedBy());
         comment.setTimestamp(System.currentTimeMillis());
 
-        logActivity(task, "Comment added by " + request.getCreatedBy());
-        task.getComments().add(comment);
-
-        taskRepository.save(task);
+        // the comment lives in the history store only, so adding one does not rewrite the task
+        historyStore.addComment(found.getId(), comment);
+        logActivity(found.getId(), ActivityAction.COMMENT_ADDED, request.getCreatedBy());
         return "Comment added";
     }
 
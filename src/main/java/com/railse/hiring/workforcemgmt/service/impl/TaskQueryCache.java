@@ -0,0 +1,285 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.railse.hiring.workforcemgmt.common.model.response.PageCursor;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.repository.TaskChange;
+import com.railse.hiring.workforcemgmt.repository.TaskChangeListener;
+import com.railse.hiring.workforcemgmt.repository.TaskIndexKeys;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Read-through cache of the rows behind one page of a fetch-by-date or by-priority query, keyed by the normalized
+// query (the assignees as a set) and bounded by a W-TinyLFU Caffeine cache. Rows are projected on every hit, so
+// history added since the load still shows. Each entry is indexed under its assignees, or under its priority and
+// the id range its rows cover, and a save drops exactly the entries whose window, cursor and rows the task's old or
+// new position falls into. The save path never waits for a load: an entry is indexed before it loads, and one
+// invalidated mid-load is not kept.
+@Component
+public class TaskQueryCache implements TaskChangeListener, MeterBinder {
+
+    // a full by-priority page is indexed under the buckets of 1024 ids its rows span
+    private static final int ID_BUCKET_BITS = 10;
+    // pages spanning more buckets than this (sparse ids) stay in the open set instead
+    private static final int MAX_BUCKETS_PER_PAGE = 8;
+
+    // null when disabled (maximum-size 0), in which case every query goes straight to the repository
+    private final Cache<Query, Entry> cache;
+    // The assignee keys come from client input, so a set is dropped once its last entry is; adds and removes
+    // go through compute on the key, so an entry is never added to a set that is being dropped.
+    private final Map<Long, Set<Entry>> byAssignee = new ConcurrentHashMap<>();
+    // by-priority entries still loading, on a partial (last) page, or spanning too many buckets: a save checks
+    // all of them, but there are few
+    private final Map<Priority, Set<Entry>> openByPriority = new EnumMap<>(Priority.class);
+    private final Map<Priority, Map<Long, Set<Entry>>> pagesByPriority = new EnumMap<>(Priority.class);
+    private final LongAdder invalidations = new LongAdder();
+
+    public TaskQueryCache(TaskRepository taskRepository,
+                          @Value("${workforcemgmt.query.cache.maximum-size:10000}") long maximumSize) {
+        for (Priority priority : Priority.values()) {
+            openByPriority.put(priority, ConcurrentHashMap.newKeySet());
+            pagesByPriority.put(priority, new ConcurrentHashMap<>());
+        }
+        if (maximumSize <= 0) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .executor(Runnable::run)
+                .<Query, Entry>removalListener((query, entry, cause) -> unindex(entry))
+                .build();
+        taskRepository.addChangeListener(this);
+    }
+
+    // query must return at most limit rows of the deadline-ordered window, resuming after the cursor
+    public List<TaskManagement> byDeadline(List<Long> assigneeIds, Long start, Long end, boolean activeOnly,
+                                           PageCursor after, int limit, Supplier<List<TaskManagement>> query) {
+        if (cache == null || assigneeIds == null) {
+            return query.get();
+        }
+        return get(new Query(null, Set.copyOf(assigneeIds), start, end, activeOnly,
+                after == null ? null : after.deadline(), after == null ? null : after.id(), limit), query);
+    }
+
+    public List<TaskManagement> byPriority(Priority priority, PageCursor after, int limit,
+                                           Supplier<List<TaskManagement>> query) {
+        if (cache == null || priority == null) {
+            return query.get();
+        }
+        return get(new Query(priority, Set.of(), null, null, false, null, after == null ? null : after.id(), limit), query);
+    }
+
+    private List<TaskManagement> get(Query query, Supplier<List<TaskManagement>> load) {
+        Entry cached = cache.getIfPresent(query);
+        if (cached != null) {
+            return cached.rows;
+        }
+        Entry entry = new Entry(query);
+        index(entry);
+        try {
+            entry.rows = load.get();
+        } catch (RuntimeException e) {
+            unindex(entry);
+            throw e;
+        }
+        closeRange(entry);
+        if (cache.asMap().putIfAbsent(query, entry) != null) {
+            unindex(entry);
+        } else if (entry.stale) {
+            // a save landed while loading; its invalidation may have run before the put, so undo it here
+            cache.asMap().remove(query, entry);
+        }
+        return entry.rows;
+    }
+
+    @Override
+    public void onChange(TaskChange change) {
+        invalidate(change, change.previous());
+        invalidate(change, change.current());
+    }
+
+    private void invalidate(TaskChange change, TaskIndexKeys keys) {
+        if (keys == null) {
+            return;
+        }
+        if (keys.assigneeId() != null) {
+            invalidate(byAssignee.get(keys.assigneeId()), change);
+        }
+        if (keys.priority() != null) {
+            invalidate(openByPriority.get(keys.priority()), change);
+            invalidate(pagesByPriority.get(keys.priority()).get(change.taskId() >> ID_BUCKET_BITS), change);
+        }
+    }
+
+    private void invalidate(Set<Entry> entries, TaskChange change) {
+        if (entries == null) {
+            return;
+        }
+        for (Entry entry : entries) {
+            if (!entry.stale && (entry.sees(change.taskId(), change.previous()) || entry.sees(change.taskId(), change.current()))) {
+                entry.stale = true;
+                invalidations.increment();
+                cache.asMap().remove(entry.query, entry);
+            }
+        }
+    }
+
+    private void index(Entry entry) {
+        if (entry.query.priority() != null) {
+            openByPriority.get(entry.query.priority()).add(entry);
+            return;
+        }
+        for (Long assigneeId : entry.query.assignees()) {
+            add(byAssignee, assigneeId, entry);
+        }
+    }
+
+    // Moves a loaded full by-priority page from the open set to the buckets of its (afterId, lastId] range. It is
+    // added before it is removed, so a concurrent save finds it in one or the other.
+    private void closeRange(Entry entry) {
+        Query query = entry.query;
+        List<TaskManagement> rows = entry.rows;
+        if (query.priority() == null || rows.isEmpty() || rows.size() < query.limit()) {
+            return;
+        }
+        long first = (query.afterId() == null ? 0 : query.afterId() + 1) >> ID_BUCKET_BITS;
+        long last = rows.get(rows.size() - 1).getId() >> ID_BUCKET_BITS;
+        if (last - first >= MAX_BUCKETS_PER_PAGE) {
+            return;
+        }
+        Map<Long, Set<Entry>> pages = pagesByPriority.get(query.priority());
+        for (long bucket = first; bucket <= last; bucket++) {
+            add(pages, bucket, entry);
+        }
+        entry.firstBucket = first;
+        entry.lastBucket = last;
+        openByPriority.get(query.priority()).remove(entry);
+    }
+
+    private void unindex(Entry entry) {
+        if (entry.query.priority() != null) {
+            Map<Long, Set<Entry>> pages = pagesByPriority.get(entry.query.priority());
+            for (long bucket = entry.firstBucket; bucket <= entry.lastBucket; bucket++) {
+                remove(pages, bucket, entry);
+            }
+            openByPriority.get(entry.query.priority()).remove(entry);
+            return;
+        }
+        for (Long assigneeId : entry.query.assignees()) {
+            remove(byAssignee, assigneeId, entry);
+        }
+    }
+
+    private static <K> void add(Map<K, Set<Entry>> index, K key, Entry entry) {
+        index.compute(key, (k, entries) -> {
+            Set<Entry> set = entries == null ? ConcurrentHashMap.newKeySet() : entries;
+            set.add(entry);
+            return set;
+        });
+    }
+
+    private static <K> void remove(Map<K, Set<Entry>> index, K key, Entry entry) {
+        index.computeIfPresent(key, (k, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    // number of assignees with indexed entries, for tests
+    int indexedAssignees() {
+        return byAssignee.size();
+    }
+
+    // cache.gets (hit/miss), cache.puts, cache.evictions and cache.size tagged cache=task-queries, and the
+    // entries dropped by saves, which Caffeine does not count as evictions
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache == null) {
+            return;
+        }
+        CaffeineCacheMetrics.monitor(registry, cache, "task-queries");
+        FunctionCounter.builder("workforcemgmt.query.cache.invalidations", invalidations, LongAdder::sum)
+                .register(registry);
+    }
+
+    // A by-priority query has a priority and no assignees; a deadline query has the assignees and the window.
+    private record Query(Priority priority, Set<Long> assignees, Long start, Long end, boolean activeOnly,
+                         Long afterDeadline, Long afterId, int limit) {
+    }
+
+    private static final class Entry {
+        final Query query;
+        // null while loading
+        volatile List<TaskManagement> rows;
+        volatile boolean stale;
+        // the id buckets a full by-priority page is indexed under; none (first > last) while it is open
+        volatile long firstBucket = 0;
+        volatile long lastBucket = -1;
+
+        Entry(Query query) {
+            this.query = query;
+        }
+
+        // whether a task at this position could be in, or push something out of, the loaded rows
+        boolean sees(long taskId, TaskIndexKeys keys) {
+            if (keys == null) {
+                return false;
+            }
+            Long deadline = null;
+            if (query.priority() != null) {
+                if (keys.priority() != query.priority()) {
+                    return false;
+                }
+            } else {
+                deadline = keys.deadline();
+                if (deadline == null || !query.assignees().contains(keys.assigneeId())
+                        || (query.activeOnly() && !keys.active())
+                        || (query.start() != null && deadline < query.start())
+                        || (query.end() != null && deadline > query.end())) {
+                    return false;
+                }
+            }
+            if (query.afterId() != null && compare(deadline, taskId, query.afterDeadline(), query.afterId()) <= 0) {
+                return false;
+            }
+            // a full page stopped at its last row, so nothing beyond it was read
+            List<TaskManagement> loaded = rows;
+            if (loaded != null && loaded.size() >= query.limit()) {
+                TaskManagement last = loaded.get(loaded.size() - 1);
+                Long lastDeadline = query.priority() != null ? null : last.getTaskDeadlineTime();
+                return compare(deadline, taskId, lastDeadline, last.getId()) <= 0;
+            }
+            return true;
+        }
+
+        // (deadline, id) order; deadlines are null on both sides for by-priority queries
+        private static int compare(Long deadline, long id, Long otherDeadline, long otherId) {
+            if (deadline != null && otherDeadline != null) {
+                int byDeadline = Long.compare(deadline, otherDeadline);
+                if (byDeadline != 0) {
+                    return byDeadline;
+                }
+            }
+            return Long.compare(id, otherId);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskProjection;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// The shapes a task leaves the service in, shared by the blocking and the reactive service.
+final class TaskViews {
+
+    // Versions and history counts start over when an in-memory store restarts, so every tag also names the run
+    // of the process it was made in; a tag from an earlier run never matches.
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final ITaskManagementMapper taskMapper;
+    private final TaskHistoryStore historyStore;
+    private final int recentHistoryEntries;
+
+    TaskViews(ITaskManagementMapper taskMapper, TaskHistoryStore historyStore, int recentHistoryEntries) {
+        this.taskMapper = taskMapper;
+        this.historyStore = historyStore;
+        this.recentHistoryEntries = recentHistoryEntries;
+    }
+
+    // Summaries and field sets only read the history store when the history is asked for.
+    Object project(TaskManagement task, TaskProjection projection) {
+        return switch (projection.getMode()) {
+            case FULL -> toDto(task);
+            case SUMMARY -> taskMapper.modelToSummaryDto(task);
+            case FIELDS -> projection.select(task, field -> field.equals("activities")
+                    ? historyStore.recentActivities(task.getId(), recentHistoryEntries)
+                    : historyStore.recentComments(task.getId(), recentHistoryEntries));
+        };
+    }
+
+    // The most recent entries only; the rest is paged through fetchActivities and fetchComments.
+    TaskManagementDto toDto(TaskManagement task) {
+        TaskManagementDto dto = taskMapper.modelToDto(task);
+        dto.setActivities(historyStore.recentActivities(task.getId(), recentHistoryEntries));
+        dto.setComments(historyStore.recentComments(task.getId(), recentHistoryEntries));
+        return dto;
+    }
+
+    // Weak entity tags: a task's changes with every save of it and every entry added to its history, a page's
+    // with its rows, their versions and, when the projection shows history, their history.
+    String tag(TaskManagement task) {
+        return "W/\"" + EPOCH + "-" + version(task) + "-" + historyStore.entriesAdded(task.getId()) + "\"";
+    }
+
+    String tag(List<TaskManagement> rows, TaskProjection projection) {
+        long hash = mix(projection.getMode().ordinal(), rows.size());
+        for (TaskManagement task : rows) {
+            hash = mix(mix(hash, task.getId()), version(task));
+            if (projection.includesHistory()) {
+                hash = mix(hash, historyStore.entriesAdded(task.getId()));
+            }
+        }
+        return "W/\"" + EPOCH + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long version(TaskManagement task) {
+        return Objects.requireNonNullElse(task.getVersion(), 0L);
+    }
+
+    private static long mix(long hash, long value) {
+        long mixed = (hash ^ value) * 0x9E3779B97F4A7C15L;
+        return mixed ^ (mixed >>> 29);
+    }
+
+    List<TaskManagementDto> toDtos(List<TaskManagement> tasks) {
+        List<TaskManagementDto> dtos = new ArrayList<>(tasks.size());
+        for (TaskManagement task : tasks) {
+            dtos.add(toDto(task));
+        }
+        return dtos;
+    }
+}
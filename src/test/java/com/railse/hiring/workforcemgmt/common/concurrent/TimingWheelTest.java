@@ -0,0 +1,71 @@
+package com.railse.hiring.workforcemgmt.common.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void firesEveryEntryOnceWithinATickOfItsDeadline() {
+        long start = 1_700_000_000_000L;
+        TimingWheel wheel = new TimingWheel(100, start);
+        long[] deadlines = {start + 1, start + 100, start + 99, start + 51_300, start + 26_214_400, start - 5};
+        for (int id = 0; id < deadlines.length; id++) {
+            wheel.add(id, deadlines[id]);
+        }
+        List<Long> fired = new ArrayList<>();
+        long now = start;
+        while (wheel.size() > 0) {
+            long at = now;
+            wheel.advance(now, (id, deadline) -> {
+                assertThat(deadline).isEqualTo(deadlines[(int) id]);
+                assertThat(at).isGreaterThanOrEqualTo(deadline).isLessThan(deadline + 100);
+                fired.add(id);
+            });
+            now += 10;
+        }
+        assertThat(fired).containsExactly(5L, 0L, 1L, 2L, 3L, 4L);
+    }
+
+    // Two million deadlines over thirty days, driven by a simulated clock that moves in uneven steps.
+    @Test
+    void holdsMillionsOfPendingDeadlines() {
+        int entries = 2_000_000;
+        long tick = 1_000;
+        long start = 1_700_000_000_000L;
+        long horizon = 30L * 24 * 60 * 60 * 1000;
+        Random random = new Random(5);
+        long[] deadlines = new long[entries];
+        TimingWheel wheel = new TimingWheel(tick, start);
+
+        for (int id = 0; id < entries; id++) {
+            deadlines[id] = start + (long) (random.nextDouble() * horizon);
+            wheel.add(id, deadlines[id]);
+        }
+
+        long[] firedAt = new long[entries];
+        long maxStep = 5_000;
+        long now = start;
+        while (now <= start + horizon + tick) {
+            now += 1 + random.nextInt((int) maxStep);
+            long at = now;
+            wheel.advance(now, (id, deadline) -> {
+                assertThat(firedAt[(int) id]).isZero();
+                firedAt[(int) id] = at;
+            });
+        }
+
+        assertThat(wheel.size()).isZero();
+        for (int id = 0; id < entries; id++) {
+            long lateness = firedAt[id] - deadlines[id];
+            if (lateness < 0 || lateness >= tick + maxStep) {
+                throw new AssertionError("entry " + id + " fired " + lateness + " ms after its deadline");
+            }
+        }
+    }
+}
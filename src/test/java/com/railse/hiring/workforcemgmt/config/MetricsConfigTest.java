@@ -0,0 +1,82 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import com.railse.hiring.workforcemgmt.service.impl.ParallelAssigneeQuery;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+import com.railse.hiring.workforcemgmt.service.impl.TaskQueryCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MetricsConfigTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final TaskHistoryStore history = new TaskHistoryStore();
+    private final TaskRepository repository = TimedProxy.wrap(new InMemoryTaskRepository(), TaskRepository.class,
+            "workforcemgmt.repository.calls", registry);
+    private final TaskManagementService service = TimedProxy.wrap(
+            new TaskManagementServiceImpl(repository, ITaskManagementMapper.INSTANCE, new ReferenceLockManager(64), history,
+                    new ParallelAssigneeQuery(256, 1), new TaskQueryCache(repository, 100), registry, 100, 1000, 20),
+            TaskManagementService.class, "workforcemgmt.service.calls", registry);
+
+    @Test
+    void timesEveryCallByOperationAndOutcome() {
+        service.findTaskById(1L);
+        assertThatThrownBy(() -> service.findTaskById(999L)).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(registry.get("workforcemgmt.service.calls").tags("operation", "findTaskById", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("workforcemgmt.service.calls").tags("operation", "findTaskById", "outcome", "error")
+                .timer().count()).isEqualTo(1);
+        // the service's repository calls go through the repository proxy
+        assertThat(registry.get("workforcemgmt.repository.calls").tags("operation", "findById", "outcome", "success")
+                .timer().count()).isEqualTo(2);
+        // the other interfaces of the target are still there
+        assertThat(repository).isInstanceOf(Closeable.class);
+    }
+
+    @Test
+    void countsReassignmentsAndCancellations() {
+        service.assignByReference(reassign(201L, ReferenceType.ENTITY, 5L));
+
+        // reference 201 starts with one open task; the seed already cancelled its older Bug #1 duplicate,
+        // which is not cancelled, or counted, again
+        assertThat(registry.get("workforcemgmt.tasks.cancelled").tag("reason", "reassignment").counter().count()).isEqualTo(1);
+        assertThat(registry.get("workforcemgmt.tasks.reassigned").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void gaugesReadTheStoreAndHistorySizes() {
+        new MetricsConfig().taskStoreMetrics(repository, history).bindTo(registry);
+        long stored = repository.count();
+        service.assignByReference(reassign(102L, ReferenceType.ORDER, 7L));
+
+        assertThat(registry.get("workforcemgmt.tasks.stored").gauge().value()).isGreaterThan(stored);
+        assertThat(registry.get("workforcemgmt.index.size").tag("index", "reference").gauge().value())
+                .isEqualTo((double) repository.indexSizes().get("reference"));
+        assertThat(registry.get("workforcemgmt.history.hot.entries").tag("kind", "activity").gauge().value()).isPositive();
+        assertThat(registry.get("workforcemgmt.history.tasks").tag("kind", "activity").gauge().value()).isPositive();
+    }
+
+    private static AssignByReferenceRequest reassign(Long referenceId, ReferenceType referenceType, Long assigneeId) {
+        AssignByReferenceRequest request = new AssignByReferenceRequest();
+        request.setPerformedBy(1);
+        request.setReferenceId(referenceId);
+        request.setReferenceType(referenceType);
+        request.setAssigneeId(assigneeId);
+        return request;
+    }
+}
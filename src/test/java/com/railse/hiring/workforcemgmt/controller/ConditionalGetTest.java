@@ -0,0 +1,90 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// escalation would change tasks between the requests
+@SpringBootTest(properties = "workforcemgmt.escalation.enabled=false")
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    void taskIsNotResentUntilItOrItsHistoryChanges() throws Exception {
+        String etag = etag(mvc.perform(get("/task-mgmt/2")).andExpect(status().isOk()).andReturn());
+
+        mvc.perform(get("/task-mgmt/2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        comment(2);
+        String changed = etag(mvc.perform(get("/task-mgmt/2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk()).andReturn());
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void tagsFromAnEarlierRunDoNotMatch() throws Exception {
+        String etag = etag(mvc.perform(get("/task-mgmt/3")).andReturn());
+        String epoch = etag.substring(3, etag.indexOf('-'));
+        assertThat(etag(mvc.perform(get("/task-mgmt/tasks/priority/MEDIUM")).andReturn())).startsWith("W/\"" + epoch + "-");
+
+        // the same version and history count, from a run with another epoch
+        mvc.perform(get("/task-mgmt/3").header(HttpHeaders.IF_NONE_MATCH, etag.replace(epoch, epoch + "0")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void priorityPagesChangeWithTheirRowsAndShownHistory() throws Exception {
+        MvcResult summaries = mvc.perform(get("/task-mgmt/tasks/priority/MEDIUM").param("projection", "summary"))
+                .andExpect(status().isOk()).andReturn();
+        String summaryTag = etag(summaries);
+        String fullTag = etag(mvc.perform(get("/task-mgmt/tasks/priority/MEDIUM")).andReturn());
+        int id = JsonPath.read(summaries.getResponse().getContentAsString(), "$.data[0].id");
+
+        // summaries leave the history out, so a comment only changes the full page
+        comment(id);
+        mvc.perform(get("/task-mgmt/tasks/priority/MEDIUM").param("projection", "summary")
+                        .header(HttpHeaders.IF_NONE_MATCH, summaryTag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/task-mgmt/tasks/priority/MEDIUM").header(HttpHeaders.IF_NONE_MATCH, fullTag))
+                .andExpect(status().isOk());
+
+        mvc.perform(patch("/task-mgmt/tasks/" + id + "/priority").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"performedBy\": 1, \"priority\": \"LOW\"}"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/task-mgmt/tasks/priority/MEDIUM").param("projection", "summary")
+                        .header(HttpHeaders.IF_NONE_MATCH, summaryTag))
+                .andExpect(status().isOk());
+    }
+
+    private void comment(int id) throws Exception {
+        mvc.perform(post("/task-mgmt/tasks/" + id + "/comments").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"comment\": \"on my way\", \"createdBy\": 1}"))
+                .andExpect(status().isOk());
+    }
+
+    private static String etag(MvcResult result) {
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+        return etag;
+    }
+}
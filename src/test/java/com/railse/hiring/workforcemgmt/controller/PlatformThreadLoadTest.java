@@ -0,0 +1,19 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PlatformThreadLoadTest extends RequestLoadTest {
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        ioBoundServer(registry);
+    }
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
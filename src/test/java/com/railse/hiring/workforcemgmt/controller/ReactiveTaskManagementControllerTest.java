@@ -0,0 +1,67 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveTaskManagementControllerTest {
+
+    @Autowired
+    WebTestClient client;
+
+    @Test
+    void servesSingleTasksInTheResponseEnvelope() {
+        client.get().uri("/task-mgmt/1").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.data.id").isEqualTo(1);
+        client.get().uri("/task-mgmt/999999").exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void streamsTheFetchByDateResultsAsNdjson() {
+        long deadline = System.currentTimeMillis() + 3_600_000;
+        client.post().uri("/task-mgmt/create").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"performed_by": 1, "requests": [
+                          {"reference_id": 5001, "reference_type": "ORDER", "task": "CREATE_INVOICE", "assignee_id": 77, "priority": "LOW", "task_deadline_time": %d},
+                          {"reference_id": 5002, "reference_type": "ORDER", "task": "CREATE_INVOICE", "assignee_id": 77, "priority": "HIGH", "task_deadline_time": %d}]}
+                        """.formatted(deadline + 1, deadline))
+                .exchange()
+                .expectStatus().isOk();
+
+        List<Map<String, Object>> tasks = client.post().uri("/task-mgmt/fetch-by-date/v2").accept(MediaType.APPLICATION_NDJSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        {"start_date": 0, "end_date": %d, "assignee_ids": [77], "projection": "summary"}
+                        """.formatted(deadline + 10))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(new ParameterizedTypeReference<Map<String, Object>>() {}).getResponseBody().collectList().block();
+
+        // deadline order, summaries without history
+        assertThat(tasks).extracting(task -> task.get("reference_id")).containsExactly(5002, 5001);
+        assertThat(tasks.get(0)).doesNotContainKey("activities");
+    }
+
+    @Test
+    void rejectsInvalidBodies() {
+        client.post().uri("/task-mgmt/create").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"requests\": []}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.data.performedBy").isEqualTo("performedBy is required");
+    }
+}
@@ -0,0 +1,121 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Creates tasks over HTTP from many concurrent clients against a server whose saves wait for an fsync of the
+// write-ahead log, i.e. requests that block on I/O. Tomcat gets a deliberately small worker pool, which caps
+// the platform-thread mode; the subclasses run the same load in each mode and print throughput and p99.
+// Run with ./gradlew loadTest; the tag keeps them out of the regular test task.
+@Tag("load")
+abstract class RequestLoadTest {
+
+    static final int CLIENTS = 128;
+    static final int REQUESTS_PER_CLIENT = 20;
+
+    @LocalServerPort
+    int port;
+
+    static void ioBoundServer(DynamicPropertyRegistry registry) {
+        registry.add("server.tomcat.threads.max", () -> "16");
+        registry.add("workforcemgmt.wal.enabled", () -> "true");
+        registry.add("workforcemgmt.wal.fsync-policy", () -> "PER_WRITE");
+        Path directory;
+        try {
+            directory = Files.createTempDirectory("load-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("workforcemgmt.wal.directory", () -> directory.resolve("wal").toString());
+        // the history is durable along with the log, so it needs a fresh directory too
+        registry.add("workforcemgmt.history.archive.directory", () -> directory.resolve("history").toString());
+    }
+
+    abstract String mode();
+
+    @Test
+    void createTasksUnderLoad() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        long[] latencies;
+        double seconds;
+        try {
+            HttpClient client = HttpClient.newBuilder().executor(executor).build();
+            URI uri = URI.create("http://localhost:" + port + "/task-mgmt/create");
+            // one round to warm up the JIT and the connection pool
+            run(client, uri, 16, 10);
+
+            long started = System.nanoTime();
+            latencies = run(client, uri, CLIENTS, REQUESTS_PER_CLIENT);
+            seconds = (System.nanoTime() - started) / 1e9;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Arrays.sort(latencies);
+        double p50 = latencies[latencies.length / 2] / 1e6;
+        double p99 = latencies[(int) (latencies.length * 0.99)] / 1e6;
+        System.out.printf("%s threads: %d requests from %d clients, %.0f requests/s, p50 %.1f ms, p99 %.1f ms%n",
+                mode(), latencies.length, CLIENTS, latencies.length / seconds, p50, p99);
+        assertThat(latencies).hasSize(CLIENTS * REQUESTS_PER_CLIENT);
+    }
+
+    private static long[] run(HttpClient client, URI uri, int clients, int requestsPerClient) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                long reference = 10_000 + c;
+                futures.add(pool.submit(() -> {
+                    long[] latencies = new long[requestsPerClient];
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(createBody(reference * 1_000 + i)))
+                                .build();
+                        long sent = System.nanoTime();
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        latencies[i] = System.nanoTime() - sent;
+                        assertThat(response.statusCode()).isEqualTo(200);
+                    }
+                    return latencies;
+                }));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            return all;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String createBody(long referenceId) {
+        return """
+                {"performed_by": 1, "requests": [{"reference_id": %d, "reference_type": "ORDER", "task": "CREATE_INVOICE",
+                 "assignee_id": %d, "priority": "MEDIUM", "task_deadline_time": %d}]}
+                """.formatted(referenceId, referenceId % 50, System.currentTimeMillis() + 86_400_000);
+    }
+}
@@ -0,0 +1,29 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Only runs on Java 21 or later, e.g. ./gradlew test -PvirtualThreads
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class VirtualThreadLoadTest extends RequestLoadTest {
+
+    @BeforeAll
+    static void requiresVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        ioBoundServer(registry);
+        registry.add("workforcemgmt.virtual-threads.enabled", () -> "true");
+    }
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,65 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WireFormatTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    void negotiatesTheBinaryFormatsAndKeepsJsonAsTheDefault() throws Exception {
+        mvc.perform(get("/task-mgmt/1").header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        byte[] cborBody = mvc.perform(get("/task-mgmt/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smileBody = mvc.perform(get("/task-mgmt/1").accept(SMILE))
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        for (JsonNode response : new JsonNode[]{cbor.readTree(cborBody), smile.readTree(smileBody)}) {
+            assertThat(response.at("/data/id").asLong()).isEqualTo(1);
+            assertThat(response.at("/data/reference_type").asText()).isEqualTo("ORDER");
+            assertThat(response.at("/status/code").isMissingNode()).isFalse();
+        }
+    }
+
+    @Test
+    void readsBinaryRequestBodies() throws Exception {
+        byte[] body = cbor.writeValueAsBytes(Map.of("comment", "sent as CBOR", "createdBy", 1));
+
+        byte[] response = mvc.perform(post("/task-mgmt/tasks/1/comments").contentType(MediaType.APPLICATION_CBOR)
+                        .content(body).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(cbor.readTree(response).at("/data").asText()).isEqualTo("Comment added");
+    }
+}
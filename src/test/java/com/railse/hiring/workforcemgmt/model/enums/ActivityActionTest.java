@@ -0,0 +1,23 @@
+package com.railse.hiring.workforcemgmt.model.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityActionTest {
+
+    @Test
+    void describesLikeTheFormatTemplate() {
+        for (ActivityAction action : ActivityAction.values()) {
+            assertThat(action.describe(7, 42L, "HIGH")).isEqualTo(String.format(action.getTemplate(), 7, 42L, "HIGH"));
+            assertThat(action.describe(null, 1L, null))
+                    .isEqualTo(String.format(action.getTemplateWithoutArgument(), null, 1L, null));
+        }
+    }
+
+    @Test
+    void leavesOutAMissingPriority() {
+        assertThat(ActivityAction.ESCALATED.describe(null, 9L, "HIGH")).isEqualTo("Task with ID: 9 missed its deadline, priority now HIGH");
+        assertThat(ActivityAction.ESCALATED.describe(null, 9L, null)).isEqualTo("Task with ID: 9 missed its deadline");
+    }
+}
@@ -0,0 +1,54 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssigneeLoadIndexTest {
+
+    @Test
+    void picksTheLeastLoadedCandidateAsTasksChange() {
+        CompactTaskRepository repository = new CompactTaskRepository();
+        Random random = new Random(11);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            TaskManagement task = new TaskManagement();
+            task.setAssigneeId((long) random.nextInt(40));
+            task.setStatus(TaskStatus.ASSIGNED);
+            task.setPriority(Priority.values()[random.nextInt(3)]);
+            repository.save(task);
+            ids.add(task.getId());
+        }
+        for (int i = 0; i < 1_000; i++) {
+            repository.update(ids.get(random.nextInt(ids.size())), task -> {
+                task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+                task.setAssigneeId((long) random.nextInt(40));
+            });
+        }
+
+        List<Long> candidates = List.of(3L, 9L, 17L, 25L, 33L, 39L);
+        assertThat(repository.findLeastLoadedAssignee(candidates)).contains(leastLoadedByScan(repository, candidates));
+        List<Long> everyone = LongStream.range(0, 40).boxed().toList();
+        assertThat(repository.findLeastLoadedAssignee(List.of())).contains(leastLoadedByScan(repository, everyone));
+        // a candidate that never held a task has nothing open
+        assertThat(repository.findLeastLoadedAssignee(List.of(3L, 1_000L))).contains(1_000L);
+    }
+
+    private static long leastLoadedByScan(TaskRepository repository, List<Long> candidates) {
+        return candidates.stream()
+                .min(Comparator.<Long>comparingLong(assignee -> repository.findByAssigneeIdIn(List.of(assignee)).stream()
+                        .mapToLong(task -> AssigneeLoadIndex.weight(TaskIndexKeys.of(task)))
+                        .sum())
+                        .thenComparing(Comparator.naturalOrder()))
+                .orElseThrow();
+    }
+}
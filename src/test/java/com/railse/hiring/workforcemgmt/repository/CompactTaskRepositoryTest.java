@@ -0,0 +1,87 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactTaskRepositoryTest {
+
+    @Test
+    void roundTripsEveryColumn() {
+        CompactTaskRepository repository = new CompactTaskRepository();
+        TaskManagement task = newTask(7L, 300L, 1_000L);
+        repository.save(task);
+
+        TaskManagement read = repository.findById(task.getId()).orElseThrow();
+        assertThat(read).isNotSameAs(task).isEqualTo(task);
+
+        TaskManagement unassigned = new TaskManagement();
+        repository.save(unassigned);
+        assertThat(repository.findById(unassigned.getId()).orElseThrow()).isEqualTo(unassigned);
+    }
+
+    @Test
+    void sparseIdsTakeOneRowEach() {
+        CompactTaskRepository repository = new CompactTaskRepository();
+        TaskManagement far = newTask(9L, 300L, 1_000L);
+        far.setId(5_000_000_000L);
+        repository.save(far);
+        // enough rows to grow the id table several times
+        for (long i = 0; i < 5_000; i++) {
+            TaskManagement task = newTask(i, 301L, 2_000L);
+            task.setId(1_000_000L + i * 7_919);
+            repository.save(task);
+        }
+
+        assertThat(repository.findById(far.getId()).orElseThrow()).isEqualTo(far);
+        assertThat(repository.findById(1_000_000L + 4_999 * 7_919L)).isPresent();
+        assertThat(repository.findById(4_999_999_999L)).isEmpty();
+        assertThat(repository.findAll()).hasSize(5_000 + 6 + 1).contains(far);
+        assertThat(repository.save(newTask(10L, 302L, 3_000L)).getId()).isEqualTo(far.getId() + 1);
+    }
+
+    @Test
+    void answersQueriesLikeTheInMemoryStore() {
+        InMemoryTaskRepository objects = new InMemoryTaskRepository();
+        CompactTaskRepository columns = new CompactTaskRepository();
+        for (long i = 0; i < 500; i++) {
+            TaskManagement task = newTask(i % 7, i % 40, 1_000L * (i % 13));
+            objects.save(task);
+            columns.save(copy(task));
+        }
+
+        assertThat(columns.findAll()).hasSameSizeAs(objects.findAll());
+        assertThat(columns.findByAssigneeIdIn(List.of(5L, 6L)))
+                .containsExactlyInAnyOrderElementsOf(objects.findByAssigneeIdIn(List.of(5L, 6L)));
+        assertThat(columns.findByReferenceIdAndReferenceType(3L, ReferenceType.ORDER))
+                .containsExactlyElementsOf(objects.findByReferenceIdAndReferenceType(3L, ReferenceType.ORDER));
+        assertThat(columns.findByAssigneeIdInAndDeadlineBetween(List.of(1L, 2L, 3L), 2_000L, 9_000L))
+                .containsExactlyElementsOf(objects.findByAssigneeIdInAndDeadlineBetween(List.of(1L, 2L, 3L), 2_000L, 9_000L));
+    }
+
+    private static TaskManagement newTask(Long referenceId, Long assigneeId, Long deadline) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(referenceId);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(assigneeId);
+        task.setPriority(Priority.MEDIUM);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setTaskDeadlineTime(deadline);
+        task.setDescription("New task created.");
+        return task;
+    }
+
+    private static TaskManagement copy(TaskManagement task) {
+        TaskManagement copy = newTask(task.getReferenceId(), task.getAssigneeId(), task.getTaskDeadlineTime());
+        copy.setId(task.getId());
+        return copy;
+    }
+}
@@ -0,0 +1,103 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.exception.VersionConflictException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryTaskRepositoryTest {
+
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository();
+
+    @Test
+    void indexesFollowInPlaceUpdates() {
+        TaskManagement task = repository.save(newTask(900L, 42L, Priority.LOW));
+
+        task.setAssigneeId(43L);
+        task.setPriority(Priority.HIGH);
+        task.setStatus(TaskStatus.STARTED);
+        repository.save(task);
+
+        assertThat(repository.findByAssigneeIdIn(List.of(42L))).isEmpty();
+        assertThat(repository.findByAssigneeIdIn(List.of(43L))).containsExactly(task);
+        assertThat(repository.findByPriority(Priority.LOW)).doesNotContain(task);
+        assertThat(repository.findByPriority(Priority.HIGH)).contains(task);
+        assertThat(repository.findByStatus(TaskStatus.ASSIGNED)).doesNotContain(task);
+        assertThat(repository.findByStatus(TaskStatus.STARTED)).contains(task);
+        assertThat(repository.findByReferenceIdAndReferenceType(900L, ReferenceType.ORDER)).containsExactly(task);
+    }
+
+    @Test
+    void lookupsOnlyReturnMatchingTasks() {
+        assertThat(repository.findByReferenceIdAndReferenceType(201L, ReferenceType.ENTITY)).hasSize(2);
+        assertThat(repository.findByReferenceIdAndReferenceType(201L, ReferenceType.ORDER)).isEmpty();
+        assertThat(repository.findByAssigneeIdIn(List.of(1L, 1L, 2L)))
+                .extracting(TaskManagement::getAssigneeId)
+                .containsOnly(1L, 2L)
+                .hasSize(5);
+    }
+
+    @Test
+    void deadlineRangesFollowDeadlineAndStatusChanges() {
+        TaskManagement early = newTask(901L, 50L, Priority.LOW);
+        early.setTaskDeadlineTime(1_000L);
+        repository.save(early);
+        TaskManagement late = newTask(902L, 50L, Priority.LOW);
+        late.setTaskDeadlineTime(5_000L);
+        repository.save(late);
+
+        assertThat(repository.findByAssigneeIdInAndDeadlineBetween(List.of(50L), 0L, 10_000L)).containsExactly(early, late);
+        assertThat(repository.findByAssigneeIdInAndDeadlineBetween(List.of(50L), 2_000L, 10_000L)).containsExactly(late);
+
+        late.setTaskDeadlineTime(500L);
+        repository.save(late);
+        early.setStatus(TaskStatus.COMPLETED);
+        repository.save(early);
+
+        assertThat(repository.findByAssigneeIdInAndDeadlineBetween(List.of(50L), 0L, 10_000L)).containsExactly(late, early);
+        assertThat(repository.findActiveByAssigneeIdInAndDeadlineUpTo(List.of(50L), 10_000L)).containsExactly(late);
+        assertThat(repository.findActiveByAssigneeIdInAndDeadlineUpTo(List.of(50L), 100L)).isEmpty();
+    }
+
+    @Test
+    void staleCopiesAreRejectedAndReadsAreDetached() {
+        TaskManagement saved = repository.save(newTask(903L, 60L, Priority.LOW));
+        assertThat(saved.getVersion()).isEqualTo(1L);
+
+        TaskManagement first = repository.findById(saved.getId()).orElseThrow();
+        TaskManagement second = repository.findById(saved.getId()).orElseThrow();
+        first.setPriority(Priority.HIGH);
+        assertThat(repository.findById(saved.getId()).orElseThrow().getPriority()).isEqualTo(Priority.LOW);
+
+        repository.save(first);
+        assertThat(first.getVersion()).isEqualTo(2L);
+
+        second.setPriority(Priority.MEDIUM);
+        assertThatThrownBy(() -> repository.save(second)).isInstanceOf(VersionConflictException.class);
+        assertThat(repository.findById(saved.getId()).orElseThrow().getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(repository.findByPriority(Priority.MEDIUM)).extracting(TaskManagement::getId).doesNotContain(saved.getId());
+
+        TaskManagement updated = repository.update(saved.getId(), task -> task.setPriority(Priority.MEDIUM));
+        assertThat(updated.getVersion()).isEqualTo(3L);
+        assertThat(repository.findByPriority(Priority.MEDIUM)).contains(updated);
+    }
+
+    private static TaskManagement newTask(Long referenceId, Long assigneeId, Priority priority) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(referenceId);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(assigneeId);
+        task.setPriority(priority);
+        task.setStatus(TaskStatus.ASSIGNED);
+        return task;
+    }
+}
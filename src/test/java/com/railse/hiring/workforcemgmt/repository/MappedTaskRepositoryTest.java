@@ -0,0 +1,91 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedTaskRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopensExistingFilesWithoutReseeding() throws Exception {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(500L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.COLLECT_PAYMENT);
+        task.setAssigneeId(77L);
+        task.setPriority(Priority.HIGH);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setTaskDeadlineTime(1_000L);
+        task.setDescription("collect on delivery \u2713");
+
+        int total;
+        try (MappedTaskRepository repository = new MappedTaskRepository(directory)) {
+            repository.save(task);
+            task.setStatus(TaskStatus.STARTED);
+            task.setDescription("started");
+            repository.save(task);
+            total = repository.findAll().size();
+        }
+
+        try (MappedTaskRepository reopened = new MappedTaskRepository(directory)) {
+            assertThat(reopened.findAll()).hasSize(total);
+            assertThat(reopened.findById(task.getId())).contains(task);
+            assertThat(reopened.findByStatus(TaskStatus.STARTED)).containsExactly(task);
+            assertThat(reopened.findByAssigneeIdInAndDeadlineBetween(List.of(77L), 0L, 2_000L)).containsExactly(task);
+
+            TaskManagement next = new TaskManagement();
+            reopened.save(next);
+            assertThat(next.getId()).isEqualTo(task.getId() + 1);
+        }
+    }
+
+    @Test
+    void rewritesReuseTheDetailsSlot() throws Exception {
+        try (MappedTaskRepository repository = new MappedTaskRepository(directory)) {
+            TaskManagement task = new TaskManagement();
+            task.setDescription("first");
+            repository.save(task);
+            long size = Files.size(directory.resolve("tasks.var"));
+
+            for (int i = 0; i < 1_000; i++) {
+                task.setDescription("rewrite " + i);
+                repository.save(task);
+            }
+            assertThat(Files.size(directory.resolve("tasks.var"))).isEqualTo(size);
+            assertThat(repository.findById(task.getId()).orElseThrow().getDescription()).isEqualTo("rewrite 999");
+
+            // outgrowing the slot moves the details, and a shorter rewrite fits in the larger slot again
+            task.setDescription("x".repeat(500));
+            repository.save(task);
+            long grown = Files.size(directory.resolve("tasks.var"));
+            task.setDescription("short");
+            repository.save(task);
+            assertThat(Files.size(directory.resolve("tasks.var"))).isEqualTo(grown);
+            assertThat(repository.findById(task.getId()).orElseThrow().getDescription()).isEqualTo("short");
+        }
+    }
+
+    @Test
+    void storesEnumsByTheirFixedCodes() {
+        for (TaskStatus status : TaskStatus.values()) {
+            assertThat(ColumnEncoding.STATUSES.decode(ColumnEncoding.STATUSES.encode(status))).isEqualTo(status);
+        }
+        assertThat(ColumnEncoding.PRIORITIES.encode(null)).isEqualTo(ColumnEncoding.NULL_ENUM);
+        // the stored codes are part of the file format
+        assertThat(ColumnEncoding.STATUSES.encode(TaskStatus.CANCELLED)).isEqualTo((byte) 4);
+        assertThat(ColumnEncoding.TASKS.encode(Task.COLLECT_PAYMENT)).isEqualTo((byte) 4);
+    }
+}
@@ -0,0 +1,200 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskHistoryStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keepsOnlyTheNewestChunksOnTheHeap() {
+        TaskHistoryStore store = new TaskHistoryStore(4, 8, 0, Optional.empty());
+        for (long i = 0; i < 30; i++) {
+            store.addActivity(1L, activity("a" + i, i));
+        }
+
+        assertThat(store.hotEntries()).isLessThanOrEqualTo(8);
+        assertThat(store.recentActivities(1L, 3)).extracting(TaskActivity::getArgument).containsExactly("a27", "a28", "a29");
+        // without an archive the evicted entries are gone, the rest keeps its positions
+        TaskHistoryPage<TaskActivity> all = store.activities(1L, null, null, null, 100);
+        assertThat(all.entries()).extracting(TaskActivity::getArgument).endsWith("a29").doesNotContain("a0");
+        assertThat(all.lastPosition()).isEqualTo(29L);
+    }
+
+    @Test
+    void growsTheFirstChunkUpToTheChunkSize() {
+        TaskHistoryStore store = new TaskHistoryStore(16, 1_000, 0, Optional.empty());
+        for (long i = 0; i < 40; i++) {
+            store.addActivity(1L, activity("a" + i, i));
+        }
+
+        assertThat(store.hotEntries()).isEqualTo(40);
+        assertThat(store.recentActivities(1L, 3)).extracting(TaskActivity::getArgument).containsExactly("a37", "a38", "a39");
+        TaskHistoryPage<TaskActivity> page = store.activities(1L, null, null, 13L, 5);
+        assertThat(page.entries()).extracting(TaskActivity::getArgument).containsExactly("a14", "a15", "a16", "a17", "a18");
+        assertThat(store.activities(1L, null, null, null, 100).entries()).hasSize(40);
+    }
+
+    @Test
+    void pagesAcrossArchivedAndHotChunks() throws Exception {
+        try (TaskHistoryArchive archive = new TaskHistoryArchive(directory, false)) {
+            TaskHistoryStore store = new TaskHistoryStore(4, 8, 0, Optional.of(archive));
+            for (long i = 0; i < 30; i++) {
+                store.addActivity(1L, activity("a" + i, 1_000 + i));
+                store.addActivity(2L, activity("b" + i, 1_000 + i));
+            }
+            assertThat(store.hotEntries()).isLessThanOrEqualTo(16);
+
+            List<String> walked = new ArrayList<>();
+            Long after = null;
+            TaskHistoryPage<TaskActivity> page;
+            do {
+                page = store.activities(1L, null, null, after, 7);
+                page.entries().forEach(activity -> walked.add(activity.getArgument()));
+                after = page.lastPosition();
+            } while (page.hasMore());
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                expected.add("a" + i);
+            }
+            assertThat(walked).isEqualTo(expected);
+
+            assertThat(store.activities(2L, 1_005L, 1_009L, null, 100).entries())
+                    .extracting(TaskActivity::getArgument).containsExactly("b5", "b6", "b7", "b8", "b9");
+            assertThat(store.activities(2L, 1_005L, 1_009L, 6L, 2).entries())
+                    .extracting(TaskActivity::getArgument).containsExactly("b7", "b8");
+        }
+    }
+
+    @Test
+    void filtersActivitiesByAction() throws Exception {
+        try (TaskHistoryArchive archive = new TaskHistoryArchive(directory, false)) {
+            TaskHistoryStore store = new TaskHistoryStore(2, 2, 0, Optional.of(archive));
+            store.addActivity(3L, TaskActivity.of(3L, ActivityAction.CREATED, 1));
+            for (int i = 0; i < 5; i++) {
+                store.addActivity(3L, TaskActivity.of(3L, ActivityAction.UPDATED, i));
+            }
+            store.addActivity(3L, TaskActivity.of(3L, ActivityAction.CANCELLED_FOR_REASSIGNMENT, 9));
+
+            TaskHistoryPage<TaskActivity> page = store.activities(3L, null, null,
+                    EnumSet.of(ActivityAction.CREATED, ActivityAction.CANCELLED_FOR_REASSIGNMENT), null, 10);
+            assertThat(page.entries()).extracting(TaskActivity::getDescription)
+                    .containsExactly("1 create Task with ID: 3", "9 cancelled Task with ID: 3 Due to new assignment");
+            assertThat(page.lastPosition()).isEqualTo(6L);
+        }
+    }
+
+    @Test
+    void commentsRoundTripThroughTheArchive() throws Exception {
+        try (TaskHistoryArchive archive = new TaskHistoryArchive(directory, false)) {
+            TaskHistoryStore store = new TaskHistoryStore(2, 2, 0, Optional.of(archive));
+            for (int i = 0; i < 6; i++) {
+                TaskComment comment = new TaskComment();
+                comment.setComment("c" + i + " \u2713");
+                comment.setCreatedBy(i % 2 == 0 ? i : null);
+                comment.setTimestamp((long) i);
+                store.addComment(5L, comment);
+            }
+
+            TaskHistoryPage<TaskComment> page = store.comments(5L, null, null, null, 10);
+            assertThat(page.entries()).hasSize(6);
+            assertThat(page.entries().get(0).getComment()).isEqualTo("c0 \u2713");
+            assertThat(page.entries().get(1).getCreatedBy()).isNull();
+            assertThat(page.hasMore()).isFalse();
+            assertThat(store.comments(6L, null, null, null, 10).entries()).isEmpty();
+        }
+    }
+
+    @Test
+    void ageLimitEvictsOldChunks() throws Exception {
+        TaskHistoryStore store = new TaskHistoryStore(2, 1_000, 60_000, Optional.empty());
+        long old = System.currentTimeMillis() - 120_000;
+        for (int i = 0; i < 4; i++) {
+            store.addActivity(1L, activity("old" + i, old));
+        }
+        store.addActivity(1L, activity("new", System.currentTimeMillis()));
+
+        store.applyRetention();
+        assertThat(store.recentActivities(1L, 10)).extracting(TaskActivity::getArgument).containsExactly("new");
+    }
+
+    @Test
+    void durableHistorySurvivesARestart() throws Exception {
+        try (TaskHistoryArchive archive = new TaskHistoryArchive(directory, true)) {
+            TaskHistoryStore store = new TaskHistoryStore(4, 8, 0, Optional.of(archive));
+            for (long i = 0; i < 30; i++) {
+                store.addActivity(1L, activity("a" + i, 1_000 + i));
+            }
+            TaskComment comment = new TaskComment();
+            comment.setComment("kept");
+            comment.setTimestamp(5L);
+            store.addComment(2L, comment);
+        }
+
+        try (TaskHistoryArchive archive = new TaskHistoryArchive(directory, true)) {
+            TaskHistoryStore store = new TaskHistoryStore(4, 8, 0, Optional.of(archive));
+            assertThat(store.activities(1L, null, null, null, 100).entries()).extracting(TaskActivity::getArgument)
+                    .hasSize(30).startsWith("a0", "a1").endsWith("a29");
+            assertThat(store.recentActivities(1L, 2)).extracting(TaskActivity::getArgument).containsExactly("a28", "a29");
+            assertThat(store.comments(2L, null, null, null, 10).entries()).extracting(TaskComment::getComment)
+                    .containsExactly("kept");
+
+            // compaction keeps only the hot entries in the journal; the archived chunks hold the rest
+            long journal = Files.size(directory.resolve("history.log"));
+            store.compactJournal();
+            assertThat(Files.size(directory.resolve("history.log"))).isLessThan(journal);
+            store.addActivity(1L, activity("a30", 1_030));
+        }
+
+        try (TaskHistoryArchive archive = new TaskHistoryArchive(directory, true)) {
+            TaskHistoryStore store = new TaskHistoryStore(4, 8, 0, Optional.of(archive));
+            TaskHistoryPage<TaskActivity> all = store.activities(1L, null, null, null, 100);
+            assertThat(all.entries()).hasSize(31);
+            assertThat(all.lastPosition()).isEqualTo(30L);
+            assertThat(store.entriesAdded(2L)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void tornJournalTailIsCutOff() throws Exception {
+        try (TaskHistoryArchive archive = new TaskHistoryArchive(directory, true)) {
+            TaskHistoryStore store = new TaskHistoryStore(4, 8, 0, Optional.of(archive));
+            store.addActivity(1L, activity("a0", 1_000));
+            store.addActivity(1L, activity("a1", 1_001));
+        }
+        Path journal = directory.resolve("history.log");
+        byte[] bytes = Files.readAllBytes(journal);
+        Files.write(journal, Arrays.copyOf(bytes, bytes.length - 3));
+
+        try (TaskHistoryArchive archive = new TaskHistoryArchive(directory, true)) {
+            TaskHistoryStore store = new TaskHistoryStore(4, 8, 0, Optional.of(archive));
+            assertThat(store.recentActivities(1L, 10)).extracting(TaskActivity::getArgument).containsExactly("a0");
+            store.addActivity(1L, activity("a1 again", 1_002));
+        }
+        try (TaskHistoryArchive archive = new TaskHistoryArchive(directory, true)) {
+            TaskHistoryStore store = new TaskHistoryStore(4, 8, 0, Optional.of(archive));
+            assertThat(store.recentActivities(1L, 10)).extracting(TaskActivity::getArgument)
+                    .containsExactly("a0", "a1 again");
+        }
+    }
+
+    // the argument doubles as a label the assertions can pick out
+    private static TaskActivity activity(String label, long timestamp) {
+        return new TaskActivity(1L, ActivityAction.UPDATED, 1, label, timestamp);
+    }
+}
@@ -0,0 +1,159 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(FsyncPolicy.class)
+    void recoversEverySaveAfterARestart(FsyncPolicy policy) throws Exception {
+        TaskWriteAheadLog wal = open(policy);
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(Optional.of(wal));
+        TaskManagement task = repository.save(newTask(1L));
+        task.setStatus(TaskStatus.COMPLETED);
+        repository.save(task);
+        List<TaskManagement> before = repository.findAll();
+        wal.close();
+
+        InMemoryTaskRepository recovered = new InMemoryTaskRepository(Optional.of(open(policy)));
+        assertThat(recovered.findAll()).containsExactlyInAnyOrderElementsOf(before);
+        assertThat(recovered.findByStatus(TaskStatus.COMPLETED)).contains(task);
+        assertThat(recovered.save(newTask(2L)).getId()).isEqualTo(before.size() + 1L);
+    }
+
+    @Test
+    void replaysOnlyTheTailAfterTheLatestSnapshot() throws Exception {
+        TaskWriteAheadLog wal = open(FsyncPolicy.PER_BATCH);
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(Optional.of(wal));
+        repository.save(newTask(1L));
+        repository.snapshot();
+        TaskManagement afterSnapshot = repository.save(newTask(2L));
+        List<TaskManagement> before = repository.findAll();
+        wal.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()).filter(name -> name.startsWith("wal-"))).hasSize(1);
+        }
+        InMemoryTaskRepository recovered = new InMemoryTaskRepository(Optional.of(open(FsyncPolicy.PER_BATCH)));
+        assertThat(recovered.findAll()).containsExactlyInAnyOrderElementsOf(before);
+        assertThat(recovered.findById(afterSnapshot.getId())).contains(afterSnapshot);
+    }
+
+    @Test
+    void dropsATornTail() throws Exception {
+        TaskWriteAheadLog wal = open(FsyncPolicy.PER_WRITE);
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(Optional.of(wal));
+        List<TaskManagement> before = repository.findAll();
+        wal.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            Path segment = files.filter(path -> path.getFileName().toString().startsWith("wal-")).findFirst().orElseThrow();
+            Files.write(segment, new byte[] {0, 0, 1, 0, 7, 7}, StandardOpenOption.APPEND);
+        }
+
+        InMemoryTaskRepository recovered = new InMemoryTaskRepository(Optional.of(open(FsyncPolicy.PER_WRITE)));
+        assertThat(recovered.findAll()).containsExactlyInAnyOrderElementsOf(before);
+    }
+
+    @Test
+    void treatsAnImpossibleRecordLengthAsATornTail() throws Exception {
+        TaskWriteAheadLog wal = open(FsyncPolicy.PER_WRITE);
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(Optional.of(wal));
+        List<TaskManagement> before = repository.findAll();
+        wal.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            Path segment = files.filter(path -> path.getFileName().toString().startsWith("wal-")).findFirst().orElseThrow();
+            // a header claiming almost 2 GB, which recovery must not try to allocate
+            Files.write(segment, new byte[] {0x7f, (byte) 0xff, (byte) 0xff, 0, 0, 0, 0, 0, 0, 0, 0, 1}, StandardOpenOption.APPEND);
+        }
+
+        TaskWriteAheadLog reopened = open(FsyncPolicy.PER_WRITE);
+        InMemoryTaskRepository recovered = new InMemoryTaskRepository(Optional.of(reopened));
+        assertThat(recovered.findAll()).containsExactlyInAnyOrderElementsOf(before);
+        recovered.save(newTask(3L));
+        reopened.close();
+        assertThat(new InMemoryTaskRepository(Optional.of(open(FsyncPolicy.PER_WRITE))).findAll()).hasSize(before.size() + 1);
+    }
+
+    @Test
+    void refusesSegmentsOfAnOlderFormat() throws Exception {
+        // a first-format segment starts straight with a record length
+        Files.write(directory.resolve(String.format("wal-%020d.log", 1)), new byte[] {0, 0, 0, 12, 0, 0, 0, 0});
+
+        assertThatThrownBy(() -> new InMemoryTaskRepository(Optional.of(open(FsyncPolicy.PER_WRITE))))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("Not a task write-ahead log segment, or one of an older format: "
+                        + directory.resolve(String.format("wal-%020d.log", 1)));
+    }
+
+    @Test
+    void refusesAppendsOnceAWriteHasFailed() throws Exception {
+        // INTERVAL saves never wait for the writer, so only append can report that it has stopped
+        TaskWriteAheadLog wal = open(FsyncPolicy.INTERVAL);
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(Optional.of(wal));
+        ((FileChannel) ReflectionTestUtils.getField(wal, "segment")).close();
+
+        awaitUntil(() -> {
+            try {
+                repository.save(newTask(1L));
+                return false;
+            } catch (UncheckedIOException e) {
+                assertThat(e).hasMessage("Task write-ahead log write failed").hasCauseInstanceOf(ClosedChannelException.class);
+                return true;
+            }
+        });
+        long failedAt = wal.lastSequence();
+        assertThatThrownBy(() -> repository.save(newTask(2L))).isInstanceOf(UncheckedIOException.class);
+        assertThat(wal.lastSequence()).isEqualTo(failedAt);
+    }
+
+    private TaskWriteAheadLog open(FsyncPolicy policy) {
+        return new TaskWriteAheadLog(directory, policy, 10, 0);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static TaskManagement newTask(Long referenceId) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(referenceId);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.ARRANGE_PICKUP);
+        task.setAssigneeId(referenceId % 100);
+        task.setPriority(Priority.MEDIUM);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setTaskDeadlineTime(1_700_000_000_000L + referenceId);
+        task.setDescription("New task created.");
+        return task;
+    }
+}
@@ -0,0 +1,73 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkloadCountersTest {
+
+    @Test
+    void countersFollowEverySaveOnEachEngine() {
+        for (TaskRepository repository : List.of(new InMemoryTaskRepository(), new CompactTaskRepository())) {
+            Random random = new Random(7);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                TaskManagement task = new TaskManagement();
+                randomize(task, random);
+                repository.save(task);
+                ids.add(task.getId());
+            }
+            // reassignments, status transitions and priority changes, including to and from null
+            for (int i = 0; i < 2_000; i++) {
+                repository.update(ids.get(random.nextInt(ids.size())), task -> randomize(task, random));
+            }
+
+            for (long assigneeId = 0; assigneeId < 6; assigneeId++) {
+                assertThat(repository.countByAssigneeId(assigneeId))
+                        .as("%s assignee %d", repository.getClass().getSimpleName(), assigneeId)
+                        .isEqualTo(countByScan(repository, assigneeId));
+            }
+        }
+    }
+
+    @Test
+    void unknownAssigneesHaveZeroCounts() {
+        Map<TaskStatus, Map<Priority, Long>> counts = new InMemoryTaskRepository().countByAssigneeId(424_242L);
+        assertThat(counts).hasSize(TaskStatus.values().length);
+        assertThat(counts.values()).allSatisfy(byPriority -> assertThat(byPriority.values()).containsOnly(0L));
+    }
+
+    private static void randomize(TaskManagement task, Random random) {
+        int assignee = random.nextInt(6);
+        task.setAssigneeId(assignee == 5 ? null : (long) assignee);
+        int status = random.nextInt(TaskStatus.values().length + 1);
+        task.setStatus(status == TaskStatus.values().length ? null : TaskStatus.values()[status]);
+        task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+    }
+
+    private static Map<TaskStatus, Map<Priority, Long>> countByScan(TaskRepository repository, long assigneeId) {
+        Map<TaskStatus, Map<Priority, Long>> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values()) {
+                byPriority.put(priority, 0L);
+            }
+            counts.put(status, byPriority);
+        }
+        for (TaskManagement task : repository.findByAssigneeIdIn(List.of(assigneeId))) {
+            if (task.getStatus() != null && task.getPriority() != null) {
+                counts.get(task.getStatus()).merge(task.getPriority(), 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+}
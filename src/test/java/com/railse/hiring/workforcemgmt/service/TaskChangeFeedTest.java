@@ -0,0 +1,201 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskChangeEvent;
+import com.railse.hiring.workforcemgmt.dto.TaskChangeFilter;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeFeedTest {
+
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository();
+    private final TaskChangeFeed feed = new TaskChangeFeed(repository, 8, 2, 4, 0, 10_000);
+
+    @AfterEach
+    void close() {
+        feed.close();
+    }
+
+    @Test
+    void streamsMatchingChangesInOrder() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(new TaskChangeFilter(Set.of(1L), null, null), null, emitter);
+
+        long first = save(1L, Priority.LOW).getId();
+        save(2L, Priority.LOW);
+        long third = save(1L, Priority.HIGH).getId();
+        // moving a task away from assignee 1 is still news to a subscriber following assignee 1
+        repository.update(first, task -> task.setAssigneeId(2L));
+
+        awaitUntil(() -> emitter.changes.size() == 3);
+        assertThat(emitter.changes).extracting(TaskChangeEvent::getTaskId).containsExactly(first, third, first);
+        assertThat(emitter.changes.get(0).isCreated()).isTrue();
+        assertThat(emitter.changes.get(2).getAssigneeId()).isEqualTo(2L);
+        assertThat(emitter.changes.get(2).getPreviousAssigneeId()).isEqualTo(1L);
+        assertThat(emitter.changes).extracting(TaskChangeEvent::getSeq).isSorted();
+        assertThat(emitter.resets).isZero();
+    }
+
+    @Test
+    void resumesAfterTheLastSeenEvent() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            save(3L, Priority.MEDIUM);
+        }
+        long resumeAfter = feed.lastSeq() - 2;
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(TaskChangeFilter.ALL, feed.eventId(resumeAfter), emitter);
+        awaitUntil(() -> emitter.changes.size() == 2);
+        assertThat(emitter.changes).extracting(TaskChangeEvent::getSeq).containsExactly(resumeAfter + 1, resumeAfter + 2);
+    }
+
+    @Test
+    void resetsSubscribersThatFellOutOfTheRing() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            save(4L, Priority.LOW);
+        }
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(TaskChangeFilter.ALL, feed.eventId(1L), emitter);
+        awaitUntil(() -> emitter.resets == 1);
+
+        long next = save(4L, Priority.LOW).getId();
+        awaitUntil(() -> emitter.changes.size() == 1);
+        assertThat(emitter.changes.get(0).getTaskId()).isEqualTo(next);
+        assertThat(feed.read(1L, 10).gap()).isTrue();
+        assertThat(feed.read(feed.lastSeq() - 3, 10).events()).hasSize(3);
+    }
+
+    @Test
+    void resetsSubscribersResumingFromAnotherEpoch() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            save(5L, Priority.LOW);
+        }
+        // an id from an earlier run of the server: its seq is still held here, but names another event
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(TaskChangeFilter.ALL, "previous-2", emitter);
+        awaitUntil(() -> emitter.resets == 1);
+        assertThat(emitter.changes).isEmpty();
+        assertThat(emitter.ids).containsExactly(feed.eventId(feed.lastSeq()));
+
+        save(5L, Priority.LOW);
+        awaitUntil(() -> emitter.changes.size() == 1);
+        assertThat(emitter.ids).last().isEqualTo(feed.epoch() + "-" + feed.lastSeq());
+    }
+
+    private TaskManagement save(Long assigneeId, Priority priority) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(800L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(assigneeId);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(priority);
+        return repository.save(task);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+    @Test
+    void dropsSubscribersWhoseSendStalls() throws Exception {
+        TaskChangeFeed feed = new TaskChangeFeed(repository, 8, 1, 4, 0, 50);
+        try {
+            // a client that stopped reading, on a connection whose writes ignore interrupts
+            StalledEmitter stalled = new StalledEmitter();
+            feed.subscribe(TaskChangeFilter.ALL, null, stalled);
+            save(6L, Priority.LOW);
+            awaitUntil(() -> stalled.sends == 1);
+            RecordingEmitter healthy = new RecordingEmitter();
+            feed.subscribe(TaskChangeFilter.ALL, null, healthy);
+
+            save(6L, Priority.LOW);
+            awaitUntil(() -> {
+                feed.dropStalledSubscribers();
+                return feed.subscribers() == 1;
+            });
+            // the only dispatcher thread is still stuck, a second one delivers to the rest
+            awaitUntil(() -> healthy.changes.size() == 1);
+            assertThat(feed.dispatchThreads()).isEqualTo(2);
+
+            stalled.release.countDown();
+            awaitUntil(() -> stalled.failure != null);
+            assertThat(stalled.sends).isEqualTo(1);
+            awaitUntil(() -> feed.dispatchThreads() == 1);
+            save(6L, Priority.LOW);
+            awaitUntil(() -> healthy.changes.size() == 2);
+        } finally {
+            feed.close();
+        }
+    }
+
+    // Blocks in its first send until released, like a write to a client whose receive window stays full.
+    private static final class StalledEmitter extends SseEmitter {
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile int sends;
+        volatile Throwable failure;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sends++;
+            boolean interrupted = false;
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+    }
+
+    // Keeps what would have gone over the wire; the change events are the only non-text parts of an SSE event.
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<TaskChangeEvent> changes = new CopyOnWriteArrayList<>();
+        final List<String> ids = new CopyOnWriteArrayList<>();
+        volatile int resets;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                String text = part.getData().toString();
+                if (text.startsWith("id:")) {
+                    ids.add(text.substring(3, text.indexOf('\n')));
+                }
+                if (part.getData() instanceof TaskChangeEvent event) {
+                    changes.add(event);
+                } else if (part.getMediaType() != null && MediaType.TEXT_PLAIN.isCompatibleWith(part.getMediaType())
+                        && text.contains("event:" + TaskChangeFeed.RESET_EVENT)) {
+                    resets++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.CompactTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineEscalationSchedulerTest {
+
+    private final CompactTaskRepository repository = new CompactTaskRepository();
+    private final TaskHistoryStore history = new TaskHistoryStore();
+    private final TaskManagementServiceImpl service = new TaskManagementServiceImpl(
+            repository, ITaskManagementMapper.INSTANCE, new ReferenceLockManager(64), history);
+
+    @Test
+    void escalatesEachOverdueDeadlineOnce() {
+        long now = System.currentTimeMillis();
+        // saved before the scheduler exists, so it is picked up from the deadline index
+        long overdue = save(1L, Priority.LOW, now - 1_000);
+
+        // one-minute ticks: the background ticker stays out of the way and the test drives the clock
+        try (DeadlineEscalationScheduler scheduler = new DeadlineEscalationScheduler(repository, service, 60_000, true)) {
+            // the seed tasks are due tomorrow
+            long seeded = scheduler.pendingDeadlines() - 1;
+            long completed = save(2L, Priority.LOW, now - 500);
+            repository.update(completed, task -> task.setStatus(TaskStatus.COMPLETED));
+            long moved = save(3L, Priority.MEDIUM, now + 3_600_000);
+            repository.update(moved, task -> task.setTaskDeadlineTime(now - 100));
+            long future = save(4L, Priority.LOW, now + 3_600_000);
+            assertThat(scheduler.pendingDeadlines()).isEqualTo(seeded + 3);
+
+            assertThat(scheduler.tick(now + 120_000)).isEqualTo(2);
+            assertThat(scheduler.tick(now + 240_000)).isZero();
+
+            assertThat(priority(overdue)).isEqualTo(Priority.MEDIUM);
+            assertThat(priority(moved)).isEqualTo(Priority.HIGH);
+            assertThat(priority(completed)).isEqualTo(Priority.LOW);
+            assertThat(priority(future)).isEqualTo(Priority.LOW);
+            assertThat(escalations(overdue)).extracting(TaskActivity::getArgument).containsExactly("MEDIUM");
+            assertThat(scheduler.pendingDeadlines()).isEqualTo(seeded + 1);
+
+            // a new deadline is a new chance to miss it
+            repository.update(overdue, task -> task.setTaskDeadlineTime(now - 10));
+            assertThat(scheduler.tick(now + 360_000)).isEqualTo(1);
+            assertThat(escalations(overdue)).extracting(TaskActivity::getArgument).containsExactly("MEDIUM", "HIGH");
+        }
+    }
+
+    @Test
+    void onlyRecordsTheEscalationWhenThePriorityStays() {
+        long now = System.currentTimeMillis();
+        long overdue = save(1L, Priority.LOW, now - 1_000);
+        long version = repository.findById(overdue).orElseThrow().getVersion();
+
+        try (DeadlineEscalationScheduler scheduler = new DeadlineEscalationScheduler(repository, service, 60_000, false)) {
+            assertThat(scheduler.tick(now + 120_000)).isEqualTo(1);
+        }
+        assertThat(repository.findById(overdue).orElseThrow().getVersion()).isEqualTo(version);
+        assertThat(priority(overdue)).isEqualTo(Priority.LOW);
+        assertThat(escalations(overdue)).extracting(TaskActivity::getArgument).containsExactly("LOW");
+    }
+
+    private long save(Long assigneeId, Priority priority, long deadline) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(900L + assigneeId);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(assigneeId);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(priority);
+        task.setTaskDeadlineTime(deadline);
+        return repository.save(task).getId();
+    }
+
+    private Priority priority(long taskId) {
+        return repository.findById(taskId).orElseThrow().getPriority();
+    }
+
+    private List<TaskActivity> escalations(long taskId) {
+        return history.recentActivities(taskId, 10).stream()
+                .filter(activity -> activity.getAction() == ActivityAction.ESCALATED)
+                .toList();
+    }
+}
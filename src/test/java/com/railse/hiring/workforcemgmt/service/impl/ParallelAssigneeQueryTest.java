@@ -0,0 +1,126 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskPage;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.CompactTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelAssigneeQueryTest {
+
+    private static final int ASSIGNEES = 2_000;
+
+    private final CompactTaskRepository repository = new CompactTaskRepository();
+    private final ParallelAssigneeQuery sequential = new ParallelAssigneeQuery(Integer.MAX_VALUE, 1);
+    private final ParallelAssigneeQuery parallel = new ParallelAssigneeQuery(64, 4);
+    private final List<Long> assigneeIds = LongStream.range(0, ASSIGNEES).map(i -> 10_000 + i).boxed().toList();
+
+    @AfterEach
+    void close() {
+        sequential.close();
+        parallel.close();
+    }
+
+    @Test
+    void mergesTheChunksBackIntoDeadlineOrder() {
+        seed(20);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        Function<List<Long>, Stream<TaskManagement>> query = assignees -> {
+            threads.add(Thread.currentThread().getName());
+            return repository.streamByAssigneeIdInAndDeadlineBetween(assignees, 1_000L, 50_000L, false, null, null);
+        };
+
+        List<Long> expected = ids(sequential.byDeadline(assigneeIds, query, Long.MAX_VALUE));
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+        threads.clear();
+
+        assertThat(ids(parallel.byDeadline(assigneeIds, query, Long.MAX_VALUE))).isEqualTo(expected);
+        assertThat(threads).isNotEmpty().allMatch(name -> name.startsWith("assignee-query-"));
+        assertThat(ids(parallel.byDeadline(assigneeIds, query, 101))).isEqualTo(expected.subList(0, 101));
+        // an unbounded read stays one lazy stream on the calling thread, whatever the number of assignees
+        threads.clear();
+        assertThat(ids(parallel.byDeadline(assigneeIds, query))).isEqualTo(expected);
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+        // under the threshold nothing leaves the calling thread
+        threads.clear();
+        parallel.byDeadline(assigneeIds.subList(0, 63), query, Long.MAX_VALUE).count();
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void pagesThroughAManyAssigneeFetch() {
+        seed(10);
+        TaskManagementServiceImpl parallelService = service(parallel);
+        TaskManagementServiceImpl sequentialService = service(sequential);
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPage<Object> page = parallelService.fetchTasksByDate(request(cursor, 500));
+            page.getTasks().forEach(task -> paged.add(((TaskManagementDto) task).getId()));
+            cursor = page.getPagination().getNextCursor();
+        } while (cursor != null);
+
+        List<Long> expected = sequentialService.streamTasksByDate(request(null, null))
+                .map(task -> ((TaskManagementDto) task).getId()).toList();
+        assertThat(paged).isEqualTo(expected).doesNotHaveDuplicates();
+    }
+
+    private TaskManagementServiceImpl service(ParallelAssigneeQuery query) {
+        return new TaskManagementServiceImpl(repository, ITaskManagementMapper.INSTANCE, new ReferenceLockManager(64),
+                new TaskHistoryStore(), query, new TaskQueryCache(repository, 0), new SimpleMeterRegistry(), 100, 1000, 20);
+    }
+
+    // tasksPerAssignee tasks for every assignee, on a few hundred distinct deadlines so ties are common
+    private void seed(int tasksPerAssignee) {
+        Random random = new Random(42);
+        for (Long assigneeId : assigneeIds) {
+            for (int i = 0; i < tasksPerAssignee; i++) {
+                TaskManagement task = new TaskManagement();
+                task.setReferenceId(assigneeId);
+                task.setReferenceType(ReferenceType.ORDER);
+                task.setTask(Task.CREATE_INVOICE);
+                task.setAssigneeId(assigneeId);
+                task.setPriority(Priority.MEDIUM);
+                task.setStatus(random.nextInt(10) == 0 ? TaskStatus.CANCELLED : TaskStatus.ASSIGNED);
+                task.setTaskDeadlineTime(1_000L + random.nextInt(300) * 100L);
+                repository.save(task);
+            }
+        }
+    }
+
+    private TaskFetchByDateRequest request(String cursor, Integer pageSize) {
+        TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+        request.setAssigneeIds(assigneeIds);
+        request.setStartDate(0L);
+        request.setEndDate(100_000L);
+        request.setCursor(cursor);
+        request.setPageSize(pageSize);
+        return request;
+    }
+
+    private static List<Long> ids(Stream<TaskManagement> tasks) {
+        return tasks.map(TaskManagement::getId).toList();
+    }
+}
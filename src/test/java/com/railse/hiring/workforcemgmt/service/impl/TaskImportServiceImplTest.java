@@ -0,0 +1,79 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.dto.TaskImportSummary;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskImportServiceImplTest {
+
+    private static final int CHUNK_SIZE = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository();
+    private final TaskImportServiceImpl importer = new TaskImportServiceImpl(
+            new TaskManagementServiceImpl(repository, ITaskManagementMapper.INSTANCE, new ReferenceLockManager(1024)),
+            objectMapper, CHUNK_SIZE);
+
+    @Test
+    void importsAcrossChunksAndReportsEveryItem() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 250; i++) {
+            if (i == 120) {
+                body.append("{\"reference_id\": 1, \"reference_type\": \"ORDER\", \"task\": \"NOT_A_TASK\"}\n");
+            } else {
+                body.append(line(20_000 + i));
+            }
+        }
+        int before = repository.findAll().size();
+
+        List<JsonNode> lines = run(body.toString(), false);
+
+        assertThat(lines).hasSize(251);
+        for (int i = 0; i < 250; i++) {
+            assertThat(lines.get(i).get("index").asInt()).isEqualTo(i);
+            assertThat(lines.get(i).get("status").get("code").asInt()).isEqualTo(i == 120 ? 400 : 200);
+        }
+        assertThat(lines.get(250).get("total").asLong()).isEqualTo(250);
+        assertThat(lines.get(250).get("succeeded").asLong()).isEqualTo(249);
+        assertThat(lines.get(250).get("failed").asLong()).isEqualTo(1);
+        assertThat(repository.findAll()).hasSize(before + 249);
+    }
+
+    @Test
+    void malformedJsonStopsTheImportAfterTheItemsBeforeIt() throws Exception {
+        String body = line(30_000) + line(30_001) + "{\"reference_id\": \n" + line(30_002);
+
+        List<JsonNode> lines = run(body, true);
+
+        assertThat(lines).hasSize(1);
+        TaskImportSummary summary = objectMapper.treeToValue(lines.get(0), TaskImportSummary.class);
+        assertThat(summary).isEqualTo(new TaskImportSummary(3, 2, 1));
+    }
+
+    private List<JsonNode> run(String body, boolean summaryOnly) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        importer.importTasks(7, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output, summaryOnly);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static String line(long referenceId) {
+        return "{\"reference_id\": " + referenceId + ", \"reference_type\": \"ORDER\", \"task\": \"ARRANGE_PICKUP\","
+                + " \"assignee_id\": 3, \"priority\": \"LOW\"}\n";
+    }
+}
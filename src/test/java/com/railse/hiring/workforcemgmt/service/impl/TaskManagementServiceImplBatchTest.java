@@ -0,0 +1,138 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.BatchItemResult;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.UpdateTaskRequest;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskChange;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskManagementServiceImplBatchTest {
+
+    @Test
+    void batchCreateMatchesSequentialCreate() {
+        List<TaskCreateRequest.RequestItem> items = new ArrayList<>();
+        for (long i = 0; i < 40; i++) {
+            // several items per reference, so later items cancel tasks created earlier in the same batch
+            items.add(item(800L + i % 5, i % 2 == 0 ? Task.CREATE_INVOICE : Task.ARRANGE_PICKUP, i));
+        }
+        InMemoryTaskRepository sequentialRepository = new InMemoryTaskRepository();
+        InMemoryTaskRepository batchRepository = new InMemoryTaskRepository();
+        TaskHistoryStore sequentialHistory = new TaskHistoryStore();
+        TaskHistoryStore batchHistory = new TaskHistoryStore();
+
+        new TaskManagementServiceImpl(sequentialRepository, ITaskManagementMapper.INSTANCE, new ReferenceLockManager(1024),
+                sequentialHistory).createTasks(create(items));
+        List<BatchItemResult<TaskManagementDto>> results = new TaskManagementServiceImpl(batchRepository,
+                ITaskManagementMapper.INSTANCE, new ReferenceLockManager(1024), batchHistory).createTasksBatch(create(items));
+
+        assertThat(results).allSatisfy(result -> assertThat(result.getStatus().getCode()).isEqualTo(200));
+        for (long reference = 800; reference < 805; reference++) {
+            assertThat(summary(batchRepository, batchHistory, reference))
+                    .isEqualTo(summary(sequentialRepository, sequentialHistory, reference));
+        }
+    }
+
+    @Test
+    void failedItemsDoNotAbortTheBatch() {
+        TaskManagementServiceImpl service = service(new InMemoryTaskRepository());
+        TaskCreateRequest.RequestItem invalid = item(810L, null, 1L);
+        List<BatchItemResult<TaskManagementDto>> created = service.createTasksBatch(
+                create(List.of(item(810L, Task.CREATE_INVOICE, 1L), invalid, item(811L, Task.CREATE_INVOICE, 2L))));
+
+        assertThat(created).extracting(result -> result.getStatus().getCode()).containsExactly(200, 400, 200);
+        TaskManagementDto first = created.get(0).getData();
+
+        UpdateTaskRequest update = new UpdateTaskRequest();
+        update.setPerformedBy(7);
+        update.setRequests(List.of(
+                update(first.getId(), TaskStatus.STARTED, first.getVersion()),
+                update(999_999L, TaskStatus.STARTED, null),
+                update(created.get(2).getData().getId(), TaskStatus.COMPLETED, 42L)));
+        List<BatchItemResult<TaskManagementDto>> updated = service.updateTasksBatch(update);
+
+        assertThat(updated).extracting(result -> result.getStatus().getCode()).containsExactly(200, 404, 409);
+        assertThat(updated.get(0).getData().getStatus()).isEqualTo(TaskStatus.STARTED);
+        assertThat(service.findTaskById(created.get(2).getData().getId()).getStatus()).isEqualTo(TaskStatus.ASSIGNED);
+    }
+
+    @Test
+    void batchWritesEveryTaskOnce() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        TaskManagement existing = repository.save(newTask(820L));
+        List<TaskChange> changes = new ArrayList<>();
+        repository.addChangeListener(changes::add);
+
+        List<BatchItemResult<TaskManagementDto>> created = service(repository).createTasksBatch(create(List.of(
+                item(820L, Task.CREATE_INVOICE, 1L), item(820L, Task.CREATE_INVOICE, 2L))));
+
+        // the first new task is cancelled by the second before either is written
+        assertThat(changes).extracting(TaskChange::taskId)
+                .containsExactly(existing.getId(), created.get(0).getData().getId(), created.get(1).getData().getId());
+        assertThat(created.get(0).getData().getVersion()).isEqualTo(1L);
+        assertThat(created.get(0).getData().getStatus()).isEqualTo(TaskStatus.CANCELLED);
+        assertThat(created.get(1).getData().getStatus()).isEqualTo(TaskStatus.ASSIGNED);
+    }
+
+    private static List<String> summary(TaskRepository repository, TaskHistoryStore history, long reference) {
+        return repository.findByReferenceIdAndReferenceType(reference, ReferenceType.ORDER).stream()
+                .sorted(Comparator.comparing(TaskManagement::getId))
+                .map(task -> task.getTask() + ":" + task.getStatus() + ":" + task.getAssigneeId()
+                        + ":" + history.activities(task.getId(), null, null, null, 1_000).entries().size())
+                .toList();
+    }
+
+    private static TaskManagement newTask(Long referenceId) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(referenceId);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setStatus(TaskStatus.ASSIGNED);
+        return task;
+    }
+
+    private static TaskManagementServiceImpl service(TaskRepository repository) {
+        return new TaskManagementServiceImpl(repository, ITaskManagementMapper.INSTANCE, new ReferenceLockManager(1024));
+    }
+
+    private static TaskCreateRequest create(List<TaskCreateRequest.RequestItem> items) {
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setPerformedBy(7);
+        request.setRequests(items);
+        return request;
+    }
+
+    private static TaskCreateRequest.RequestItem item(Long referenceId, Task task, Long assigneeId) {
+        TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+        item.setReferenceId(referenceId);
+        item.setReferenceType(ReferenceType.ORDER);
+        item.setTask(task);
+        item.setAssigneeId(assigneeId);
+        item.setPriority(Priority.MEDIUM);
+        return item;
+    }
+
+    private static UpdateTaskRequest.RequestItem update(Long taskId, TaskStatus status, Long expectedVersion) {
+        UpdateTaskRequest.RequestItem item = new UpdateTaskRequest.RequestItem();
+        item.setTaskId(taskId);
+        item.setTaskStatus(status);
+        item.setExpectedVersion(expectedVersion);
+        return item;
+    }
+}
@@ -0,0 +1,133 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.ReferenceKey;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskManagementServiceImplConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 200;
+
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository();
+    private final TaskHistoryStore history = new TaskHistoryStore();
+    private final ReferenceLockManager locks = new ReferenceLockManager(1024);
+    private final TaskManagementServiceImpl service = new TaskManagementServiceImpl(
+            repository, ITaskManagementMapper.INSTANCE, locks, history);
+
+    @Test
+    void concurrentReassignmentsLeaveOneOpenTaskPerType() throws Exception {
+        List<Long> references = List.of(700L, 701L, 702L, 703L);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long assignee = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int round = 0; round < ROUNDS; round++) {
+                    Long reference = references.get(round % references.size());
+                    if ((round + assignee) % 2 == 0) {
+                        service.assignByReference(assign(reference, assignee));
+                    } else {
+                        service.createTasks(create(reference, assignee));
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        for (Long reference : references) {
+            List<TaskManagement> tasks = repository.findByReferenceIdAndReferenceType(reference, ReferenceType.ORDER);
+            for (Task type : Task.getTasksByReferenceType(ReferenceType.ORDER)) {
+                assertThat(tasks)
+                        .filteredOn(task -> task.getTask() == type && task.getStatus() == TaskStatus.ASSIGNED)
+                        .as("open %s tasks for reference %d", type, reference)
+                        .hasSize(1);
+            }
+            // a cancelled task has exactly its creation and one cancellation on record
+            assertThat(tasks)
+                    .filteredOn(task -> task.getStatus() == TaskStatus.CANCELLED)
+                    .allSatisfy(task -> {
+                        List<ActivityAction> actions = history.activities(task.getId(), null, null, null, 1_000)
+                                .entries().stream().map(TaskActivity::getAction).toList();
+                        assertThat(actions).hasSize(2);
+                        assertThat(actions).filteredOn(action -> action == ActivityAction.CANCELLED_FOR_NEW_TASK
+                                || action == ActivityAction.CANCELLED_FOR_REASSIGNMENT).hasSize(1);
+                    });
+        }
+    }
+
+    @Test
+    void differentReferencesHoldTheirLocksAtTheSameTime() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch bothHeld = new CountDownLatch(2);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (long reference : List.of(700L, 701L)) {
+            futures.add(pool.submit(() -> locks.withLock(new ReferenceKey(reference, ReferenceType.ORDER), () -> {
+                bothHeld.countDown();
+                // only true once the other thread is inside its own reference's lock as well
+                try {
+                    return bothHeld.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            })));
+        }
+        for (Future<Boolean> future : futures) {
+            assertThat(future.get()).isTrue();
+        }
+        pool.shutdown();
+    }
+
+    private static AssignByReferenceRequest assign(Long reference, long assignee) {
+        AssignByReferenceRequest request = new AssignByReferenceRequest();
+        request.setPerformedBy(1);
+        request.setReferenceId(reference);
+        request.setReferenceType(ReferenceType.ORDER);
+        request.setAssigneeId(assignee);
+        return request;
+    }
+
+    private static TaskCreateRequest create(Long reference, long assignee) {
+        TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+        item.setReferenceId(reference);
+        item.setReferenceType(ReferenceType.ORDER);
+        item.setTask(Task.CREATE_INVOICE);
+        item.setAssigneeId(assignee);
+        item.setPriority(Priority.MEDIUM);
+        item.setTaskDeadlineTime(1_700_000_000_000L);
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setPerformedBy(1);
+        request.setRequests(List.of(item));
+        return request;
+    }
+}
@@ -0,0 +1,126 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskPage;
+import com.railse.hiring.workforcemgmt.dto.TaskProjection;
+import com.railse.hiring.workforcemgmt.dto.TaskSummaryDto;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskManagementServiceImplPaginationTest {
+
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository();
+    private final TaskManagementServiceImpl service = new TaskManagementServiceImpl(
+            repository, ITaskManagementMapper.INSTANCE, new ReferenceLockManager(1024), new TaskHistoryStore(),
+            new ParallelAssigneeQuery(256, 1), new TaskQueryCache(repository, 100), new SimpleMeterRegistry(),
+            10, 20, 20);
+
+    @Test
+    void pagesWalkTheDeadlineOrderWithoutGapsOrRepeats() {
+        for (long i = 0; i < 45; i++) {
+            // repeated deadlines across two assignees, so the id has to break ties
+            save(i % 2 == 0 ? 70L : 71L, 1_000L + (i % 15) * 10, i % 9 == 0 ? TaskStatus.CANCELLED : TaskStatus.ASSIGNED);
+        }
+        List<Long> expected = service.streamTasksByDate(request(null, 1_000)).map(task -> ((TaskManagementDto) task).getId()).toList();
+        assertThat(expected).hasSize(40);
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TaskPage<Object> page = service.fetchTasksByDate(request(cursor, null));
+            assertThat(page.getTasks().size()).isLessThanOrEqualTo(10);
+            page.getTasks().forEach(task -> paged.add(((TaskManagementDto) task).getId()));
+            cursor = page.getPagination().getNextCursor();
+            assertThat(page.getPagination().getHasMore()).isEqualTo(cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(paged).isEqualTo(expected);
+        assertThat(pages).isEqualTo(4);
+    }
+
+    @Test
+    void cursorIsStableWhenTasksAreAddedBeforeIt() {
+        for (long i = 0; i < 15; i++) {
+            save(72L, 2_000L + i, TaskStatus.ASSIGNED);
+        }
+        TaskFetchByDateRequest first = request(null, 5);
+        first.setAssigneeIds(List.of(72L));
+        TaskPage<Object> page = service.smartFetchTasksByDate(first);
+        assertThat(deadlines(page))
+                .containsExactly(2_000L, 2_001L, 2_002L, 2_003L, 2_004L);
+
+        save(72L, 1_500L, TaskStatus.ASSIGNED);
+        TaskFetchByDateRequest next = request(page.getPagination().getNextCursor(), 5);
+        next.setAssigneeIds(List.of(72L));
+        assertThat(deadlines(service.smartFetchTasksByDate(next)))
+                .containsExactly(2_005L, 2_006L, 2_007L, 2_008L, 2_009L);
+    }
+
+    @Test
+    void priorityPagesFollowIdsAndPageSizeIsCapped() {
+        for (long i = 0; i < 30; i++) {
+            save(73L, 3_000L, TaskStatus.ASSIGNED);
+        }
+        TaskPage<Object> first = service.fetchTasksByPriority(Priority.LOW, null, 500, TaskProjection.SUMMARY);
+        assertThat(first.getPagination().getPageSize()).isEqualTo(20);
+        TaskPage<Object> second = service.fetchTasksByPriority(Priority.LOW, first.getPagination().getNextCursor(), 500,
+                TaskProjection.SUMMARY);
+
+        assertThat(((TaskSummaryDto) first.getTasks().get(19)).getId())
+                .isLessThan(((TaskSummaryDto) second.getTasks().get(0)).getId());
+        assertThat(second.getPagination().getHasMore()).isFalse();
+        assertThat(first.getTasks().size() + second.getTasks().size())
+                .isEqualTo(service.streamTasksByPriority(Priority.LOW, null, TaskProjection.SUMMARY).count());
+    }
+
+    @Test
+    void rejectsBadCursorsAndPageSizes() {
+        assertThatThrownBy(() -> service.fetchTasksByDate(request("not-a-cursor", 5))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.fetchTasksByDate(request(null, 0))).isInstanceOf(BadRequestException.class);
+    }
+
+    private static List<Long> deadlines(TaskPage<Object> page) {
+        return page.getTasks().stream().map(task -> ((TaskManagementDto) task).getTaskDeadlineTime()).toList();
+    }
+
+    private void save(Long assigneeId, Long deadline, TaskStatus status) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(5_000L + assigneeId);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.ARRANGE_PICKUP);
+        task.setAssigneeId(assigneeId);
+        task.setPriority(Priority.LOW);
+        task.setStatus(status);
+        task.setTaskDeadlineTime(deadline);
+        repository.save(task);
+    }
+
+    private static TaskFetchByDateRequest request(String cursor, Integer pageSize) {
+        TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+        request.setAssigneeIds(List.of(70L, 71L));
+        request.setStartDate(0L);
+        request.setEndDate(10_000L);
+        request.setCursor(cursor);
+        request.setPageSize(pageSize);
+        return request;
+    }
+}
@@ -0,0 +1,65 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.dto.AddCommentRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskSummaryDto;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityAction;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskManagementServiceImplProjectionTest {
+
+    private final TaskManagementServiceImpl service = new TaskManagementServiceImpl(
+            new InMemoryTaskRepository(), ITaskManagementMapper.INSTANCE, new ReferenceLockManager(1024));
+
+    @Test
+    void projectionsShapeListResults() {
+        assertThat(service.fetchTasksByDate(request(null, null)).getTasks())
+                .isNotEmpty().allMatch(TaskManagementDto.class::isInstance);
+        assertThat(service.fetchTasksByDate(request("summary", null)).getTasks())
+                .isNotEmpty().allMatch(TaskSummaryDto.class::isInstance);
+
+        List<Object> selected = service.fetchTasksByDate(request("full", List.of("id", "status"))).getTasks();
+        assertThat(selected).isNotEmpty().allSatisfy(task ->
+                assertThat(((Map<?, ?>) task).keySet()).isEqualTo(Set.of("id", "status")));
+    }
+
+    @Test
+    void historyIsServedSeparately() {
+        AddCommentRequest comment = new AddCommentRequest();
+        comment.setComment("checked");
+        comment.setCreatedBy(3);
+        service.addComment(1L, comment);
+
+        assertThat(service.fetchComments(1L, null, null, null, null).getEntries()).extracting("comment").containsExactly("checked");
+        assertThat(service.fetchActivities(1L, null, null, Set.of(ActivityAction.COMMENT_ADDED), null, null).getEntries())
+                .extracting(TaskActivity::getDescription).containsExactly("Comment added by 3");
+        assertThat(service.findTaskById(1L).getComments()).extracting("comment").containsExactly("checked");
+    }
+
+    @Test
+    void rejectsUnknownProjectionsAndFields() {
+        assertThatThrownBy(() -> service.fetchTasksByDate(request("compact", null))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.fetchTasksByDate(request(null, List.of("owner")))).isInstanceOf(BadRequestException.class);
+    }
+
+    private static TaskFetchByDateRequest request(String projection, List<String> fields) {
+        TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+        request.setAssigneeIds(List.of(1L, 2L));
+        request.setProjection(projection);
+        request.setFields(fields);
+        return request;
+    }
+}
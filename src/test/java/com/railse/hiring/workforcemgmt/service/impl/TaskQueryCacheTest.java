@@ -0,0 +1,233 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.ReferenceLockManager;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.response.PageCursor;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.UpdateTaskRequest;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskHistoryStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskQueryCacheTest {
+
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository();
+    private final TaskQueryCache cache = new TaskQueryCache(repository, 100);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void sameQueryIsLoadedOnceWhateverTheAssigneeOrder() {
+        save(80L, 1_000L, Priority.LOW);
+
+        byDeadline(List.of(80L, 81L), 0L, 5_000L, null, 10);
+        byDeadline(List.of(81L, 80L, 81L), 0L, 5_000L, null, 10);
+        assertThat(loads).hasValue(1);
+
+        byDeadline(List.of(80L, 81L), 0L, 6_000L, null, 10);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void savesOnlyDropThePagesTheyCanChange() {
+        TaskManagement task = save(80L, 1_000L, Priority.LOW);
+        for (long deadline = 2_000L; deadline < 2_010L; deadline++) {
+            save(80L, deadline, Priority.LOW);
+        }
+        byDeadline(List.of(80L), 0L, 5_000L, null, 5);
+        byDeadline(List.of(80L), 3_000L, 5_000L, null, 5);
+
+        // another assignee, after the window, and past the last row of the full first page
+        save(82L, 1_500L, Priority.LOW);
+        save(80L, 9_000L, Priority.LOW);
+        save(80L, 2_500L, Priority.LOW);
+        byDeadline(List.of(80L), 0L, 5_000L, null, 5);
+        assertThat(loads).hasValue(2);
+
+        // moving a task out of the first page drops that page but not the empty one after it
+        task.setTaskDeadlineTime(2_700L);
+        repository.save(task);
+        byDeadline(List.of(80L), 0L, 5_000L, null, 5);
+        byDeadline(List.of(80L), 3_000L, 5_000L, null, 5);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void pagesAfterACursorIgnoreTasksBeforeIt() {
+        TaskManagement task = save(80L, 1_000L, Priority.LOW);
+        byDeadline(List.of(80L), 0L, 5_000L, new PageCursor(1_000L, task.getId()), 5);
+
+        task.setStatus(TaskStatus.STARTED);
+        repository.save(task);
+        save(80L, 900L, Priority.LOW);
+        byDeadline(List.of(80L), 0L, 5_000L, new PageCursor(1_000L, task.getId()), 5);
+        assertThat(loads).hasValue(1);
+
+        save(80L, 1_200L, Priority.LOW);
+        byDeadline(List.of(80L), 0L, 5_000L, new PageCursor(1_000L, task.getId()), 5);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void priorityChangesDropTheOldAndTheNewPriority() {
+        TaskManagement task = save(80L, 1_000L, Priority.LOW);
+        byPriority(Priority.LOW);
+        byPriority(Priority.HIGH);
+        byPriority(Priority.MEDIUM);
+
+        task.setPriority(Priority.HIGH);
+        repository.save(task);
+        byPriority(Priority.LOW);
+        byPriority(Priority.HIGH);
+        byPriority(Priority.MEDIUM);
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void priorityPagesAreDroppedOnlyForIdsInTheirRange() {
+        // ids well past the seeded tasks, spanning the 1024-id index buckets
+        for (long id = 2_040L; id < 2_060L; id++) {
+            save(id, 80L, 1_000L, Priority.MEDIUM);
+        }
+        byPriority(Priority.MEDIUM, 2_039L, 5);
+        byPriority(Priority.MEDIUM, 2_044L, 5);
+        byPriority(Priority.MEDIUM, 2_049L, 20);
+
+        save(2_042L, 80L, 1_000L, Priority.MEDIUM);
+        reloadPriorityPages();
+        assertThat(loads).hasValue(4);
+
+        save(2_048L, 80L, 1_000L, Priority.MEDIUM);
+        reloadPriorityPages();
+        assertThat(loads).hasValue(5);
+
+        // only the partial last page can take a new task past its cursor
+        save(3_000L, 80L, 1_000L, Priority.MEDIUM);
+        reloadPriorityPages();
+        assertThat(loads).hasValue(6);
+    }
+
+    @Test
+    void loadsDuringASaveSeeTheSavedTask() {
+        TaskManagement task = save(80L, 1_000L, Priority.LOW);
+        byDeadline(List.of(80L), 0L, 5_000L, null, 5);
+
+        // a listener registered after the cache reads while the save is being published
+        List<List<TaskManagement>> readsDuringSave = new ArrayList<>();
+        repository.addChangeListener(change -> readsDuringSave.add(byDeadline(List.of(80L), 0L, 5_000L, null, 5)));
+        task.setStatus(TaskStatus.STARTED);
+        repository.save(task);
+
+        assertThat(readsDuringSave).singleElement()
+                .satisfies(rows -> assertThat(rows).extracting(TaskManagement::getStatus).containsExactly(TaskStatus.STARTED));
+        assertThat(byDeadline(List.of(80L), 0L, 5_000L, null, 5))
+                .extracting(TaskManagement::getStatus).containsExactly(TaskStatus.STARTED);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void dropsTheIndexOfAssigneesWithNoCachedPages() {
+        byDeadline(List.of(90L, 91L), 0L, 5_000L, null, 5);
+        assertThat(cache.indexedAssignees()).isEqualTo(2);
+
+        save(90L, 1_000L, Priority.LOW);
+        assertThat(cache.indexedAssignees()).isZero();
+    }
+
+    @Test
+    void reportsHitsMissesAndInvalidations() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        TaskManagement task = save(80L, 1_000L, Priority.LOW);
+
+        byDeadline(List.of(80L), 0L, 5_000L, null, 5);
+        byDeadline(List.of(80L), 0L, 5_000L, null, 5);
+        repository.save(task);
+
+        assertThat(registry.get("cache.gets").tags("cache", "task-queries", "result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", "task-queries", "result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("workforcemgmt.query.cache.invalidations").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void serviceReadsItsOwnWrites() {
+        TaskManagementServiceImpl service = new TaskManagementServiceImpl(repository, ITaskManagementMapper.INSTANCE,
+                new ReferenceLockManager(64), new TaskHistoryStore(), new ParallelAssigneeQuery(256, 1), cache,
+                new SimpleMeterRegistry(), 10, 20, 20);
+        TaskManagement task = save(80L, 1_000L, Priority.LOW);
+        TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+        request.setAssigneeIds(List.of(80L));
+        request.setStartDate(0L);
+        request.setEndDate(5_000L);
+        assertThat(((TaskManagementDto) service.fetchTasksByDate(request).getTasks().get(0)).getStatus())
+                .isEqualTo(TaskStatus.ASSIGNED);
+
+        UpdateTaskRequest.RequestItem item = new UpdateTaskRequest.RequestItem();
+        item.setTaskId(task.getId());
+        item.setTaskStatus(TaskStatus.STARTED);
+        UpdateTaskRequest update = new UpdateTaskRequest();
+        update.setRequests(List.of(item));
+        service.updateTasks(update);
+
+        assertThat(((TaskManagementDto) service.fetchTasksByDate(request).getTasks().get(0)).getStatus())
+                .isEqualTo(TaskStatus.STARTED);
+    }
+
+    private List<TaskManagement> byDeadline(List<Long> assigneeIds, Long start, Long end, PageCursor after, int limit) {
+        return cache.byDeadline(assigneeIds, start, end, false, after, limit, () -> {
+            loads.incrementAndGet();
+            return repository.streamByAssigneeIdInAndDeadlineBetween(assigneeIds, start, end, false,
+                    after == null ? null : after.deadline(), after == null ? null : after.id()).limit(limit).toList();
+        });
+    }
+
+    private void reloadPriorityPages() {
+        byPriority(Priority.MEDIUM, 2_039L, 5);
+        byPriority(Priority.MEDIUM, 2_044L, 5);
+        byPriority(Priority.MEDIUM, 2_049L, 20);
+    }
+
+    private void byPriority(Priority priority, long afterId, int limit) {
+        cache.byPriority(priority, PageCursor.afterId(afterId), limit, () -> {
+            loads.incrementAndGet();
+            return repository.streamByPriority(priority, afterId).limit(limit).toList();
+        });
+    }
+
+    private void byPriority(Priority priority) {
+        cache.byPriority(priority, null, 1_000, () -> {
+            loads.incrementAndGet();
+            return repository.streamByPriority(priority, null).limit(1_000).toList();
+        });
+    }
+
+    private TaskManagement save(Long assigneeId, Long deadline, Priority priority) {
+        return save(null, assigneeId, deadline, priority);
+    }
+
+    private TaskManagement save(Long id, Long assigneeId, Long deadline, Priority priority) {
+        TaskManagement task = id == null ? new TaskManagement() : repository.findById(id).orElseGet(TaskManagement::new);
+        task.setId(id);
+        task.setReferenceId(6_000L + deadline);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.ARRANGE_PICKUP);
+        task.setAssigneeId(assigneeId);
+        task.setPriority(priority);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setTaskDeadlineTime(deadline);
+        return repository.save(task);
+    }
+}